@@ -58,10 +58,21 @@ public class TestCaseController {
     
     @RequestMapping(method = { RequestMethod.GET })
     @ResponseBody
-    public List<TestCaseData> list() {
+    public List<TestCaseData> list(@RequestParam(value = "page", required = false) Integer page,
+                                   @RequestParam(value = "size", required = false) Integer size) {
+        if (page != null && size != null) {
+            return testCaseService.getTests(projectService.getActiveProject(), page, size);
+        }
+
         return testCaseService.getTests(projectService.getActiveProject());
     }
 
+    @RequestMapping(value = "/search", method = { RequestMethod.GET })
+    @ResponseBody
+    public List<TestCaseData> search(@RequestParam("q") String query) {
+        return testCaseService.findTests(projectService.getActiveProject(), query);
+    }
+
     @RequestMapping(method = { RequestMethod.POST })
     @ResponseBody
     public ModelAndView list(@RequestParam("dir") String dir) {
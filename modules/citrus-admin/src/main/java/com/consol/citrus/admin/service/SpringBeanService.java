@@ -28,9 +28,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.xml.transform.StringResult;
 import org.springframework.xml.transform.StringSource;
-import org.w3c.dom.Element;
+import org.w3c.dom.*;
+import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSParser;
 import org.w3c.dom.ls.LSSerializer;
 
@@ -41,7 +44,9 @@ import javax.xml.bind.annotation.XmlSchema;
 import javax.xml.transform.*;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service is able to add, remove update Spring XML bean definitions to some ordinary
@@ -62,6 +67,12 @@ public class SpringBeanService {
     /** XSLT transformer factory */
     private TransformerFactory transformerFactory = TransformerFactory.newInstance();
 
+    /** Parsed Spring XML configuration files by file path */
+    private final Map<String, ConfigFileModel> configModels = new ConcurrentHashMap<String, ConfigFileModel>();
+
+    /** Compiled XSLT stylesheets by stylesheet name */
+    private final Map<String, Templates> templates = new ConcurrentHashMap<String, Templates>();
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(SpringBeanService.class);
     
@@ -96,13 +107,7 @@ public class SpringBeanService {
      * @return
      */
     public List<File> getConfigImports(File configFile) {
-        LSParser parser = XMLUtils.createLSParser();
-
-        GetSpringImportsFilter filter = new GetSpringImportsFilter(configFile);
-        parser.setFilter(filter);
-        parser.parseURI(configFile.toURI().toString());
-
-        return filter.getImportedFiles();
+        return getConfigModel(configFile).getImports();
     }
     
     /**
@@ -114,20 +119,20 @@ public class SpringBeanService {
      * @return
      */
     public <T> T getBeanDefinition(File configFile, String id, Class<T> type) {
-        LSParser parser = XMLUtils.createLSParser();
-
-        GetSpringBeanFilter filter = new GetSpringBeanFilter(id, type);
-        parser.setFilter(filter);
-
         List<File> configFiles = new ArrayList<File>();
         configFiles.add(configFile);
         configFiles.addAll(getConfigImports(configFile));
 
         for (File file : configFiles) {
-            parser.parseURI(file.toURI().toString());
+            ConfigFileModel model = getConfigModel(file);
+
+            synchronized (model) {
+                GetSpringBeanFilter filter = new GetSpringBeanFilter(id, type);
+                applyFilter(model, filter);
 
-            if (filter.getBeanDefinition() != null) {
-                return createJaxbObjectFromElement(filter.getBeanDefinition(), type);
+                if (filter.getBeanDefinition() != null) {
+                    return createJaxbObjectFromElement(filter.getBeanDefinition(), type);
+                }
             }
         }
 
@@ -161,14 +166,14 @@ public class SpringBeanService {
             beanDefinitions.addAll(getBeanDefinitions(importLocation, type, attributes));
         }
 
-        LSParser parser = XMLUtils.createLSParser();
-
-        GetSpringBeansFilter filter = new GetSpringBeansFilter(type, attributes);
-        parser.setFilter(filter);
-        parser.parseURI(configFile.toURI().toString());
+        ConfigFileModel model = getConfigModel(configFile);
+        synchronized (model) {
+            GetSpringBeansFilter filter = new GetSpringBeansFilter(type, attributes);
+            applyFilter(model, filter);
 
-        for (Element element : filter.getBeanDefinitions()) {
-            beanDefinitions.add(createJaxbObjectFromElement(element, type));
+            for (Element element : filter.getBeanDefinitions()) {
+                beanDefinitions.add(createJaxbObjectFromElement(element, type));
+            }
         }
 
         return beanDefinitions;
@@ -196,28 +201,11 @@ public class SpringBeanService {
      * @param configFile
      * @param jaxbElement
      */
-    public void addBeanDefinition(File configFile, Object jaxbElement) {
-        Source xsltSource;
-        Source xmlSource;
-        try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/add-bean.xsl").getInputStream());
-            xsltSource.setSystemId("add-bean");
-            xmlSource = new StringSource(FileUtils.readToString(new FileInputStream(configFile)));
+    public synchronized void addBeanDefinition(File configFile, Object jaxbElement) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("bean_content", getXmlContent(jaxbElement));
 
-            //create transformer
-            Transformer transformer = transformerFactory.newTransformer(xsltSource);
-            transformer.setParameter("bean_content", getXmlContent(jaxbElement));
-
-            //transform
-            StringResult result = new StringResult();
-            transformer.transform(xmlSource, result);
-            FileUtils.writeToFile(result.toString(), configFile);
-            return;
-        } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
-        } catch (TransformerException e) {
-            throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
-        }
+        transform(configFile, configFile, "add-bean.xsl", parameters);
     }
     
     /**
@@ -226,172 +214,192 @@ public class SpringBeanService {
      * @param configFile
      * @param id
      */
-    public void removeBeanDefinition(File configFile, String id) {
-        Source xsltSource;
-        Source xmlSource;
-        try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/delete-bean.xsl").getInputStream());
-            xsltSource.setSystemId("delete-bean");
+    public synchronized void removeBeanDefinition(File configFile, String id) {
+        transform(configFile, configFile, "delete-bean.xsl", Collections.<String, Object>singletonMap("bean_id", id));
+    }
+
+    /**
+     * Method removes all Spring bean definitions of given type from the XML application context file.
+     * @param configFile
+     * @param type
+     */
+    public synchronized void removeBeanDefinitions(File configFile, Class<?> type) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("bean_element", type.getAnnotation(XmlRootElement.class).name());
+        parameters.put("bean_namespace", type.getPackage().getAnnotation(XmlSchema.class).namespace());
+
+        transform(configFile, configFile, "delete-bean-type.xsl", parameters);
+    }
+    
+    /**
+     * Method updates an existing Spring bean definition in a XML application context file. Bean definition is 
+     * identified by its id or bean name.
+     * @param configFile
+     * @param id
+     * @param jaxbElement
+     */
+    public synchronized void updateBeanDefinition(File configFile, String id, Object jaxbElement) {
+        List<File> configFiles = new ArrayList<File>();
+        configFiles.add(configFile);
+        configFiles.addAll(getConfigImports(configFile));
 
-            List<File> configFiles = new ArrayList<File>();
-            configFiles.add(configFile);
-            configFiles.addAll(getConfigImports(configFile));
+        for (File file : configFiles) {
+            ConfigFileModel model = getConfigModel(file);
 
-            for (File file : configFiles) {
-                xmlSource = new StringSource(FileUtils.readToString(new FileInputStream(configFile)));
+            boolean found;
+            synchronized (model) {
+                GetSpringBeanFilter getBeanFilter = new GetSpringBeanFilter(id, jaxbElement.getClass());
+                applyFilter(model, getBeanFilter);
+                found = getBeanFilter.getBeanDefinition() != null;
+            }
 
-                //create transformer
-                Transformer transformer = transformerFactory.newTransformer(xsltSource);
-                transformer.setParameter("bean_id", id);
+            if (found) {
+                Map<String, Object> parameters = new HashMap<String, Object>();
+                parameters.put("bean_id", id);
+                parameters.put("bean_content", getXmlContent(jaxbElement));
 
-                //transform
-                StringResult result = new StringResult();
-                transformer.transform(xmlSource, result);
-                FileUtils.writeToFile(result.toString(), file);
+                transform(file, file, "update-bean.xsl", parameters);
                 return;
             }
-        } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
-        } catch (TransformerException e) {
-            throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
         }
     }
 
     /**
-     * Method removes all Spring bean definitions of given type from the XML application context file.
+     * Method updates existing Spring bean definitions in a XML application context file. Bean definition is
+     * identified by its type defining class.
+     *
      * @param configFile
      * @param type
+     * @param jaxbElement
      */
-    public void removeBeanDefinitions(File configFile, Class<?> type) {
-        Source xsltSource;
-        Source xmlSource;
-        try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/delete-bean-type.xsl").getInputStream());
-            xsltSource.setSystemId("delete-bean");
-
-            List<File> configFiles = new ArrayList<File>();
-            configFiles.add(configFile);
-            configFiles.addAll(getConfigImports(configFile));
+    public synchronized void updateBeanDefinitions(File configFile, Class<?> type, Object jaxbElement) {
+        List<File> configFiles = new ArrayList<File>();
+        configFiles.add(configFile);
+        configFiles.addAll(getConfigImports(configFile));
 
-            for (File file : configFiles) {
-                xmlSource = new StringSource(FileUtils.readToString(new FileInputStream(configFile)));
+        for (File file : configFiles) {
+            ConfigFileModel model = getConfigModel(file);
 
-                String beanElement = type.getAnnotation(XmlRootElement.class).name();
-                String beanNamespace = type.getPackage().getAnnotation(XmlSchema.class).namespace();
+            boolean found;
+            synchronized (model) {
+                GetSpringBeansFilter getBeanFilter = new GetSpringBeansFilter(type, null);
+                applyFilter(model, getBeanFilter);
+                found = !CollectionUtils.isEmpty(getBeanFilter.getBeanDefinitions());
+            }
 
-                //create transformer
-                Transformer transformer = transformerFactory.newTransformer(xsltSource);
-                transformer.setParameter("bean_element", beanElement);
-                transformer.setParameter("bean_namespace", beanNamespace);
+            if (found) {
+                Map<String, Object> parameters = new HashMap<String, Object>();
+                parameters.put("bean_element", type.getAnnotation(XmlRootElement.class).name());
+                parameters.put("bean_namespace", type.getPackage().getAnnotation(XmlSchema.class).namespace());
+                parameters.put("bean_content", getXmlContent(jaxbElement));
 
-                //transform
-                StringResult result = new StringResult();
-                transformer.transform(xmlSource, result);
-                FileUtils.writeToFile(result.toString(), file);
+                transform(file, file, "update-bean-type.xsl", parameters);
                 return;
             }
-        } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
-        } catch (TransformerException e) {
-            throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
         }
     }
-    
+
     /**
-     * Method updates an existing Spring bean definition in a XML application context file. Bean definition is 
-     * identified by its id or bean name.
-     * @param configFile
-     * @param id
-     * @param jaxbElement
+     * Applies XSL transformation to the cached content of source file and writes the result to target file. Cached model
+     * of target file is replaced with the transformation result so following operations do not need to read the file again.
+     * @param sourceFile
+     * @param targetFile
+     * @param stylesheet
+     * @param parameters
      */
-    public void updateBeanDefinition(File configFile, String id, Object jaxbElement) {
-        Source xsltSource;
-        Source xmlSource;
+    private void transform(File sourceFile, File targetFile, String stylesheet, Map<String, Object> parameters) {
         try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/update-bean.xsl").getInputStream());
-            xsltSource.setSystemId("update-bean");
-
-            List<File> configFiles = new ArrayList<File>();
-            configFiles.add(configFile);
-            configFiles.addAll(getConfigImports(configFile));
-
-            LSParser parser = XMLUtils.createLSParser();
-            GetSpringBeanFilter getBeanFilter = new GetSpringBeanFilter(id, jaxbElement.getClass());
-            parser.setFilter(getBeanFilter);
-
-            for (File file : configFiles) {
-                parser.parseURI(file.toURI().toString());
-                if (getBeanFilter.getBeanDefinition() != null) {
-                    xmlSource = new StringSource(FileUtils.readToString(new FileInputStream(file)));
-
-                    //create transformer
-                    Transformer transformer = transformerFactory.newTransformer(xsltSource);
-                    transformer.setParameter("bean_id", id);
-                    transformer.setParameter("bean_content", getXmlContent(jaxbElement));
-
-                    //transform
-                    StringResult result = new StringResult();
-                    transformer.transform(xmlSource, result);
-                    FileUtils.writeToFile(result.toString(), file);
-                    return;
-                }
+            Transformer transformer = getTemplates(stylesheet).newTransformer();
+            for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                transformer.setParameter(parameter.getKey(), parameter.getValue());
             }
-        } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
+
+            StringResult result = new StringResult();
+            ConfigFileModel source = getConfigModel(sourceFile);
+            transformer.transform(new StreamSource(new ByteArrayInputStream(source.getData()), sourceFile.toURI().toString()), result);
+
+            Charset charset = FileUtils.getDefaultCharset();
+            FileUtils.writeToFile(result.toString(), targetFile, charset);
+            configModels.put(targetFile.getAbsolutePath(), new ConfigFileModel(targetFile, result.toString().getBytes(charset)));
         } catch (TransformerException e) {
             throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
         }
     }
 
     /**
-     * Method updates existing Spring bean definitions in a XML application context file. Bean definition is
-     * identified by its type defining class.
-     *
+     * Gets compiled XSL stylesheet. Stylesheets are compiled once and cached for further usage.
+     * @param stylesheet
+     * @return
+     */
+    private Templates getTemplates(String stylesheet) {
+        Templates compiled = templates.get(stylesheet);
+
+        if (compiled == null) {
+            try {
+                Source xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/" + stylesheet).getInputStream());
+                xsltSource.setSystemId(stylesheet);
+                compiled = transformerFactory.newTemplates(xsltSource);
+            } catch (IOException e) {
+                throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
+            } catch (TransformerConfigurationException e) {
+                throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
+            }
+
+            templates.put(stylesheet, compiled);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Gets parsed model of Spring XML configuration file. Model is cached and reloaded only when
+     * file has been changed since it was read last time.
      * @param configFile
-     * @param type
-     * @param jaxbElement
+     * @return
      */
-    public void updateBeanDefinitions(File configFile, Class<?> type, Object jaxbElement) {
-        Source xsltSource;
-        Source xmlSource;
+    private ConfigFileModel getConfigModel(File configFile) {
+        String key = configFile.getAbsolutePath();
+        ConfigFileModel model = configModels.get(key);
+
         try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/update-bean-type.xsl").getInputStream());
-            xsltSource.setSystemId("update-bean");
-
-            List<File> configFiles = new ArrayList<File>();
-            configFiles.add(configFile);
-            configFiles.addAll(getConfigImports(configFile));
-
-            LSParser parser = XMLUtils.createLSParser();
-            GetSpringBeansFilter getBeanFilter = new GetSpringBeansFilter(type, null);
-            parser.setFilter(getBeanFilter);
-
-            for (File file : configFiles) {
-                parser.parseURI(file.toURI().toString());
-                if (!CollectionUtils.isEmpty(getBeanFilter.getBeanDefinitions())) {
-                    xmlSource = new StringSource(FileUtils.readToString(new FileInputStream(file)));
-
-                    String beanElement = type.getAnnotation(XmlRootElement.class).name();
-                    String beanNamespace = type.getPackage().getAnnotation(XmlSchema.class).namespace();
-
-                    //create transformer
-                    Transformer transformer = transformerFactory.newTransformer(xsltSource);
-                    transformer.setParameter("bean_element", beanElement);
-                    transformer.setParameter("bean_namespace", beanNamespace);
-                    transformer.setParameter("bean_content", getXmlContent(jaxbElement));
-
-                    //transform
-                    StringResult result = new StringResult();
-                    transformer.transform(xmlSource, result);
-                    FileUtils.writeToFile(result.toString(), file);
-                    return;
-                }
+            if (model == null || !model.isUpToDate(configFile)) {
+                long readTime = System.currentTimeMillis();
+                long lastModified = configFile.lastModified();
+                long length = configFile.length();
+
+                model = new ConfigFileModel(configFile, FileCopyUtils.copyToByteArray(configFile), lastModified, length, readTime);
+                configModels.put(key, model);
             }
         } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
-        } catch (TransformerException e) {
-            throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
+            throw new CitrusAdminRuntimeException("Failed to read Spring bean configuration file: " + configFile, e);
         }
+
+        return model;
+    }
+
+    /**
+     * Applies bean filter to all elements in cached configuration file model. Elements are visited in the same order
+     * as the XML parser would pass them to the filter while parsing the file. Caller must hold the model lock.
+     * @param model
+     * @param filter
+     */
+    private void applyFilter(ConfigFileModel model, AbstractSpringBeanFilter filter) {
+        applyFilter(model.getDocument().getDocumentElement(), filter);
+    }
+
+    /**
+     * Applies bean filter to element after all child elements have been filtered.
+     * @param element
+     * @param filter
+     */
+    private void applyFilter(Element element, AbstractSpringBeanFilter filter) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                applyFilter((Element) child, filter);
+            }
+        }
+
+        filter.accept(element);
     }
 
     /**
@@ -404,18 +412,14 @@ public class SpringBeanService {
         String jaxbContent = jaxbHelper.marshal(jaxbContext, jaxbElement);
         log.debug("Formatting bean definition: " + jaxbContent);
 
-        Source xsltSource;
         try {
-            xsltSource = new StreamSource(new ClassPathResource("com/consol/citrus/admin/transform/format-bean.xsl").getInputStream());
-            Transformer transformer = transformerFactory.newTransformer(xsltSource);
+            Transformer transformer = getTemplates("format-bean.xsl").newTransformer();
 
             //transform
             StringResult result = new StringResult();
             transformer.transform(new StringSource(jaxbContent), result);
 
             return result.toString();
-        } catch (IOException e) {
-            throw new CitrusAdminRuntimeException("Unable to read update bean definition transformation source", e);
         } catch (TransformerException e) {
             throw new CitrusAdminRuntimeException("Failed to update bean definition", e);
         }
@@ -432,4 +436,121 @@ public class SpringBeanService {
         return jaxbHelper.unmarshal(jaxbContext, type, serializer.writeToString(element));
     }
 
+    /**
+     * Parsed in memory model of a Spring XML configuration file. Holds the raw file content as well as the lazily parsed
+     * DOM document and import locations. Model is considered up to date as long as file modification time and size
+     * have not changed. File systems store modification times with limited resolution so a file changed shortly after
+     * it was read may keep its modification time and size. Within this time window the content digest is compared, too.
+     */
+    private static final class ConfigFileModel {
+        /** Worst case file system modification time resolution in milliseconds */
+        private static final long MODIFICATION_TIME_RESOLUTION = 2000L;
+
+        private final File file;
+        private final byte[] data;
+        private final byte[] digest;
+        private final long lastModified;
+        private final long length;
+
+        /** Time of last content verification, digest check is skipped once modification time resolution has passed */
+        private volatile long verifiedTime;
+
+        private Document document;
+        private List<File> imports;
+
+        /**
+         * Constructor using file content that has just been written to the file.
+         * @param file
+         * @param data
+         */
+        ConfigFileModel(File file, byte[] data) {
+            this(file, data, file.lastModified(), file.length(), System.currentTimeMillis());
+        }
+
+        /**
+         * Constructor using file content and file state at the time content was read.
+         * @param file
+         * @param data
+         * @param lastModified
+         * @param length
+         * @param readTime
+         */
+        ConfigFileModel(File file, byte[] data, long lastModified, long length, long readTime) {
+            this.file = file;
+            this.data = data;
+            this.digest = DigestUtils.md5Digest(data);
+            this.lastModified = lastModified;
+            this.length = length;
+            this.verifiedTime = readTime;
+        }
+
+        /**
+         * Checks if model still represents current file content. Compares file modification time and size first. When file
+         * was modified within modification time resolution before last verification the content digest is compared, too.
+         * @param configFile
+         * @return
+         */
+        boolean isUpToDate(File configFile) throws IOException {
+            if (configFile.lastModified() != lastModified || configFile.length() != length) {
+                return false;
+            }
+
+            if (verifiedTime - lastModified > MODIFICATION_TIME_RESOLUTION) {
+                return true;
+            }
+
+            long now = System.currentTimeMillis();
+            if (!Arrays.equals(DigestUtils.md5Digest(FileCopyUtils.copyToByteArray(configFile)), digest)) {
+                return false;
+            }
+
+            verifiedTime = now;
+            return true;
+        }
+
+        /**
+         * Gets the raw file content.
+         * @return
+         */
+        byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Gets the parsed DOM document. Document is parsed on first access from raw file content
+         * so parser respects the encoding declared in the XML declaration.
+         * @return
+         */
+        synchronized Document getDocument() {
+            if (document == null) {
+                LSParser parser = XMLUtils.createLSParser();
+                LSInput input = XMLUtils.createLSInput();
+                input.setByteStream(new ByteArrayInputStream(data));
+                input.setSystemId(file.toURI().toString());
+
+                document = parser.parse(input);
+            }
+
+            return document;
+        }
+
+        /**
+         * Gets the imported configuration files. Imports are resolved on first access.
+         * @return
+         */
+        synchronized List<File> getImports() {
+            if (imports == null) {
+                GetSpringImportsFilter filter = new GetSpringImportsFilter(file);
+
+                NodeList importElements = getDocument().getElementsByTagNameNS("*", "import");
+                for (int i = 0; i < importElements.getLength(); i++) {
+                    filter.startElement((Element) importElements.item(i));
+                }
+
+                imports = Collections.unmodifiableList(new ArrayList<File>(filter.getImportedFiles()));
+            }
+
+            return imports;
+        }
+    }
 }
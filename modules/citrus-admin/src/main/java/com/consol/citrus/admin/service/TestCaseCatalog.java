@@ -0,0 +1,452 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.admin.service;
+
+import com.consol.citrus.admin.model.TestCaseData;
+import com.consol.citrus.admin.model.TestCaseType;
+import com.consol.citrus.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory catalog of all test cases in a project. Catalog is populated once with a complete scan of XML test
+ * directory and Java source directory. After that the catalog is kept up to date incrementally: single files
+ * get refreshed or removed either explicitly or by a file system watch service that reacts on changes in the
+ * test directories.
+ *
+ * Readers always work on an immutable snapshot of test cases so listing, paging and counting tests does not
+ * touch the file system at all.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class TestCaseCatalog {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(TestCaseCatalog.class);
+
+    /** Base directories for XML and Java tests */
+    private final String testDirectory;
+    private final String javaDirectory;
+
+    /** Loads test case information from single test file */
+    private final TestCaseLoader loader;
+
+    /** Test cases per file sorted by file path, guarded by this catalog instance */
+    private final NavigableMap<String, List<TestCaseData>> xmlTests = new TreeMap<String, List<TestCaseData>>();
+    private final NavigableMap<String, List<TestCaseData>> javaTests = new TreeMap<String, List<TestCaseData>>();
+
+    /** Immutable snapshot of all test cases, replaced on each change */
+    private volatile List<TestCaseData> tests = Collections.emptyList();
+
+    /** Index of test cases by fully qualified test name */
+    private volatile Map<String, TestCaseData> testIndex = Collections.emptyMap();
+
+    /** File system watch service and the directories registered with it */
+    private WatchService watchService;
+    private Thread watchThread;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<WatchKey, Path>();
+
+    /**
+     * Callback loading test case information from a single XML or Java test file.
+     */
+    public interface TestCaseLoader {
+        /**
+         * Loads all test cases defined in given file. Base directory is the XML test or Java source directory
+         * the file is located in and is used to determine the test package.
+         * @param baseDirectory
+         * @param file
+         * @param type
+         * @return
+         */
+        List<TestCaseData> load(String baseDirectory, File file, TestCaseType type);
+    }
+
+    /**
+     * Default constructor using test directories and test case loader.
+     * @param testDirectory
+     * @param javaDirectory
+     * @param loader
+     */
+    public TestCaseCatalog(String testDirectory, String javaDirectory, TestCaseLoader loader) {
+        this.testDirectory = testDirectory;
+        this.javaDirectory = javaDirectory;
+        this.loader = loader;
+    }
+
+    /**
+     * Performs complete scan of test directories and replaces all catalog entries.
+     */
+    public synchronized void load() {
+        xmlTests.clear();
+        javaTests.clear();
+
+        for (File file : FileUtils.getTestFiles(testDirectory)) {
+            xmlTests.put(file.getAbsolutePath(), loader.load(testDirectory, file, TestCaseType.XML));
+        }
+
+        for (File file : getJavaFiles(new File(javaDirectory))) {
+            javaTests.put(file.getAbsolutePath(), loader.load(javaDirectory, file, TestCaseType.JAVA));
+        }
+
+        updateSnapshot();
+    }
+
+    /**
+     * Reloads test cases of single file. In case file does not exist anymore its test cases are removed from catalog.
+     * Files outside of test directories and files that are not XML or Java tests are ignored.
+     * @param file
+     */
+    public synchronized void refresh(File file) {
+        String path = file.getAbsolutePath();
+
+        if (!file.isFile()) {
+            remove(file);
+        } else if (path.startsWith(testDirectory) && path.endsWith(".xml")) {
+            xmlTests.put(path, loader.load(testDirectory, file, TestCaseType.XML));
+            updateSnapshot();
+        } else if (path.startsWith(javaDirectory) && path.endsWith(".java")) {
+            javaTests.put(path, loader.load(javaDirectory, file, TestCaseType.JAVA));
+            updateSnapshot();
+        }
+    }
+
+    /**
+     * Removes test cases of given file from catalog. When file is a directory all test cases
+     * located in this directory and its subdirectories are removed.
+     * @param file
+     */
+    public synchronized void remove(File file) {
+        String path = file.getAbsolutePath();
+
+        boolean changed = removeAll(xmlTests, path);
+        changed |= removeAll(javaTests, path);
+
+        if (changed) {
+            updateSnapshot();
+        }
+    }
+
+    /**
+     * Removes entry for given path as well as all entries in subdirectories of this path.
+     * @param tests
+     * @param path
+     * @return
+     */
+    private boolean removeAll(NavigableMap<String, List<TestCaseData>> tests, String path) {
+        boolean changed = tests.remove(path) != null;
+
+        SortedMap<String, List<TestCaseData>> children = tests.subMap(path + File.separator, path + (char) (File.separatorChar + 1));
+        if (!children.isEmpty()) {
+            children.clear();
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Builds new immutable snapshot of test cases and test index. XML tests come first followed by Java tests,
+     * each sorted by file path.
+     */
+    private void updateSnapshot() {
+        List<TestCaseData> snapshot = new ArrayList<TestCaseData>();
+        Map<String, TestCaseData> index = new HashMap<String, TestCaseData>();
+
+        for (List<TestCaseData> fileTests : xmlTests.values()) {
+            snapshot.addAll(fileTests);
+        }
+
+        for (List<TestCaseData> fileTests : javaTests.values()) {
+            snapshot.addAll(fileTests);
+        }
+
+        for (TestCaseData testCase : snapshot) {
+            String key = getQualifiedName(testCase.getPackageName(), testCase.getName());
+            if (!index.containsKey(key)) {
+                index.put(key, testCase);
+            }
+        }
+
+        testIndex = Collections.unmodifiableMap(index);
+        tests = Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Gets all test cases in catalog.
+     * @return
+     */
+    public List<TestCaseData> getTests() {
+        return tests;
+    }
+
+    /**
+     * Gets page of test cases in catalog. Page index is zero based.
+     * @param page
+     * @param pageSize
+     * @return
+     */
+    public List<TestCaseData> getTests(int page, int pageSize) {
+        List<TestCaseData> snapshot = tests;
+
+        if (page < 0 || pageSize <= 0) {
+            return Collections.emptyList();
+        }
+
+        long from = (long) page * pageSize;
+        if (from >= snapshot.size()) {
+            return Collections.emptyList();
+        }
+
+        return snapshot.subList((int) from, (int) Math.min(from + pageSize, snapshot.size()));
+    }
+
+    /**
+     * Gets number of test cases in catalog.
+     * @return
+     */
+    public int getTestCount() {
+        return tests.size();
+    }
+
+    /**
+     * Finds test case by its package and name. Returns null if no such test is known to the catalog.
+     * @param packageName
+     * @param name
+     * @return
+     */
+    public TestCaseData getTest(String packageName, String name) {
+        return testIndex.get(getQualifiedName(packageName, name));
+    }
+
+    /**
+     * Searches test cases whose name or package contains given query ignoring case.
+     * @param query
+     * @return
+     */
+    public List<TestCaseData> search(String query) {
+        if (!StringUtils.hasText(query)) {
+            return getTests();
+        }
+
+        String pattern = query.toLowerCase();
+        List<TestCaseData> result = new ArrayList<TestCaseData>();
+        for (TestCaseData testCase : tests) {
+            if (getQualifiedName(testCase.getPackageName(), testCase.getName()).toLowerCase().contains(pattern)) {
+                result.add(testCase);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Starts watching test directories for changes. Directories that do not exist yet are not watched.
+     */
+    public synchronized void watch() {
+        if (watchService != null) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(new File(testDirectory));
+            register(new File(javaDirectory));
+        } catch (IOException e) {
+            log.warn("Failed to watch test directories - test catalog is not updated automatically", e);
+            close();
+            return;
+        }
+
+        watchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                processEvents();
+            }
+        }, "citrus-test-catalog-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Registers directory and all its subdirectories with watch service.
+     * @param directory
+     * @throws IOException
+     */
+    private void register(File directory) throws IOException {
+        if (!directory.isDirectory()) {
+            return;
+        }
+
+        Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Processes file system events until watch service is closed.
+     */
+    private void processEvents() {
+        WatchService service = watchService;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                try {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                        load();
+                        continue;
+                    }
+
+                    File file = directory.resolve((Path) event.context()).toFile();
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        remove(file);
+                    } else if (file.isDirectory()) {
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                            register(file);
+                            for (File child : getTestFiles(file)) {
+                                refresh(child);
+                            }
+                        }
+                    } else {
+                        refresh(file);
+                    }
+                } catch (ClosedWatchServiceException e) {
+                    return;
+                } catch (Exception e) {
+                    log.warn("Failed to update test catalog on file system event", e);
+                }
+            }
+
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Stops watching test directories.
+     */
+    public synchronized void close() {
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Failed to close test directory watch service", e);
+            }
+
+            watchService = null;
+        }
+
+        watchedDirectories.clear();
+    }
+
+    /**
+     * Gets all XML and Java files in directory and its subdirectories.
+     * @param directory
+     * @return
+     */
+    private List<File> getTestFiles(File directory) {
+        List<File> files = new ArrayList<File>();
+
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    files.addAll(getTestFiles(child));
+                } else if (child.getName().endsWith(".xml") || child.getName().endsWith(".java")) {
+                    files.add(child);
+                }
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Gets all Java source files in directory and its subdirectories.
+     * @param directory
+     * @return
+     */
+    private List<File> getJavaFiles(File directory) {
+        List<File> files = new ArrayList<File>();
+
+        for (File file : getTestFiles(directory)) {
+            if (file.getName().endsWith(".java")) {
+                files.add(file);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Constructs fully qualified test name.
+     * @param packageName
+     * @param name
+     * @return
+     */
+    private String getQualifiedName(String packageName, String name) {
+        return StringUtils.hasText(packageName) ? packageName + "." + name : name;
+    }
+
+    /**
+     * Gets the XML test directory.
+     * @return
+     */
+    public String getTestDirectory() {
+        return testDirectory;
+    }
+
+    /**
+     * Gets the Java source directory.
+     * @return
+     */
+    public String getJavaDirectory() {
+        return javaDirectory;
+    }
+}
@@ -36,6 +36,23 @@ public interface TestCaseService {
      */
     List<TestCaseData> getTests(Project project);
 
+    /**
+     * Lists page of available Citrus test cases. Page index is zero based.
+     * @param project
+     * @param page
+     * @param pageSize
+     * @return
+     */
+    List<TestCaseData> getTests(Project project, int page, int pageSize);
+
+    /**
+     * Finds all Citrus test cases whose name or package contains the given query.
+     * @param project
+     * @param query
+     * @return
+     */
+    List<TestCaseData> findTests(Project project, String query);
+
     /**
      * Gets number of test cases for the active project. This includes XML test cases as well as
      * Java Citrus test methods.
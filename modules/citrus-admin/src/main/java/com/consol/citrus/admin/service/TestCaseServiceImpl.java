@@ -29,6 +29,7 @@ import com.consol.citrus.util.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -47,7 +48,7 @@ import java.util.*;
  * @since 1.4
  */
 @Component
-public class TestCaseServiceImpl extends AbstractTestCaseService {
+public class TestCaseServiceImpl extends AbstractTestCaseService implements DisposableBean {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(TestCaseServiceImpl.class);
@@ -63,73 +64,108 @@ public class TestCaseServiceImpl extends AbstractTestCaseService {
     @Autowired
     private FileHelper fileHelper;
 
+    /** In memory test catalog of active project */
+    private TestCaseCatalog catalog;
+
     @Override
     public List<TestCaseData> getTests(Project project) {
-        List<TestCaseData> tests = new ArrayList<TestCaseData>();
-
-        List<File> testFiles = FileUtils.getTestFiles(getTestDirectory(project));
-        for (File file : testFiles) {
-            String testName = FilenameUtils.getBaseName(file.getName());
-            String testPackageName = file.getPath().substring(getTestDirectory(project).length(), file.getPath().length() - file.getName().length())
-                    .replace(File.separatorChar, '.');
+        return getCatalog(project).getTests();
+    }
 
-            if (testPackageName.endsWith(".")) {
-                testPackageName = testPackageName.substring(0, testPackageName.length() - 1);
-            }
+    @Override
+    public List<TestCaseData> getTests(Project project, int page, int pageSize) {
+        return getCatalog(project).getTests(page, pageSize);
+    }
 
-            TestCaseData testCase = new TestCaseData();
-            testCase.setType(TestCaseType.XML);
-            testCase.setName(testName);
-            testCase.setPackageName(testPackageName);
-            testCase.setFile(file.getParentFile().getAbsolutePath() + File.separator + FilenameUtils.getBaseName(file.getName()));
-            testCase.setLastModified(file.lastModified());
+    @Override
+    public List<TestCaseData> findTests(Project project, String query) {
+        return getCatalog(project).search(query);
+    }
 
-            tests.add(testCase);
-        }
+    @Override
+    public Long getTestCount(Project project) {
+        return Long.valueOf(getCatalog(project).getTestCount());
+    }
 
-        try {
-            Resource[] javaSources = new PathMatchingResourcePatternResolver().getResources("file:" + FilenameUtils.separatorsToUnix(getJavaDirectory(project)) + "**/*.java");
+    /**
+     * Gets test catalog for project. Catalog is created with a complete test scan on first access and kept up to date
+     * with a file system watch afterwards. Catalog gets replaced when project home has changed.
+     * @param project
+     * @return
+     */
+    private synchronized TestCaseCatalog getCatalog(Project project) {
+        String testDirectory = getTestDirectory(project);
+        String javaDirectory = getJavaDirectory(project);
 
-            for (Resource resource : javaSources) {
-                File file = resource.getFile();
-                String testName = FilenameUtils.getBaseName(file.getName());
-                String testPackage = file.getParentFile().getAbsolutePath().substring(getJavaDirectory(project).length()).replace(File.separatorChar, '.');
+        if (catalog == null || !catalog.getTestDirectory().equals(testDirectory) || !catalog.getJavaDirectory().equals(javaDirectory)) {
+            if (catalog != null) {
+                catalog.close();
+            }
 
-                if (knownToClasspath(testPackage, testName)) {
-                    tests.addAll(getTestCaseInfoFromClass(testPackage, testName, file));
-                } else {
-                    tests.addAll(getTestCaseInfoFromFile(testPackage, testName, file));
+            TestCaseCatalog newCatalog = new TestCaseCatalog(testDirectory, javaDirectory, new TestCaseCatalog.TestCaseLoader() {
+                @Override
+                public List<TestCaseData> load(String baseDirectory, File file, TestCaseType type) {
+                    return type.equals(TestCaseType.JAVA) ? getJavaTestCaseInfo(baseDirectory, file) : getXmlTestCaseInfo(baseDirectory, file);
                 }
-            }
-        } catch (IOException e) {
-            log.warn("Failed to read Java source files - list of test cases for this project is incomplete", e);
+            });
+            newCatalog.load();
+            newCatalog.watch();
+
+            catalog = newCatalog;
         }
 
-        return tests;
+        return catalog;
     }
 
     @Override
-    public Long getTestCount(Project project) {
-        Long testCount = Long.valueOf(FileUtils.getTestFiles(getTestDirectory(project)).size());
+    public synchronized void destroy() throws Exception {
+        if (catalog != null) {
+            catalog.close();
+            catalog = null;
+        }
+    }
 
-        try {
-            Resource[] javaSources = new PathMatchingResourcePatternResolver().getResources("file:" + FilenameUtils.separatorsToUnix(getJavaDirectory(project)) + "**/*.java");
-            for (Resource resource : javaSources) {
-                File file = resource.getFile();
-                String testName = FilenameUtils.getBaseName(file.getName());
-                String testPackage = file.getParentFile().getAbsolutePath().substring(getJavaDirectory(project).length()).replace(File.separatorChar, '.');
-
-                if (knownToClasspath(testPackage, testName)) {
-                    testCount += getTestCaseInfoFromClass(testPackage, testName, file).size();
-                } else {
-                    testCount += getTestCaseInfoFromFile(testPackage, testName, file).size();
-                }
-            }
-        } catch (IOException e) {
-            log.warn("Failed to read Java source files - list of test cases for this project is incomplete", e);
+    /**
+     * Reads test case info from XML test file.
+     * @param testDirectory
+     * @param file
+     * @return
+     */
+    private List<TestCaseData> getXmlTestCaseInfo(String testDirectory, File file) {
+        String testName = FilenameUtils.getBaseName(file.getName());
+        String testPackageName = file.getPath().substring(testDirectory.length(), file.getPath().length() - file.getName().length())
+                .replace(File.separatorChar, '.');
+
+        if (testPackageName.endsWith(".")) {
+            testPackageName = testPackageName.substring(0, testPackageName.length() - 1);
         }
 
-        return testCount;
+        TestCaseData testCase = new TestCaseData();
+        testCase.setType(TestCaseType.XML);
+        testCase.setName(testName);
+        testCase.setPackageName(testPackageName);
+        testCase.setFile(file.getParentFile().getAbsolutePath() + File.separator + FilenameUtils.getBaseName(file.getName()));
+        testCase.setLastModified(file.lastModified());
+
+        return Collections.singletonList(testCase);
+    }
+
+    /**
+     * Reads test case info from Java source file. Uses class information when class is available on classpath
+     * otherwise falls back to text based search in source file.
+     * @param javaDirectory
+     * @param file
+     * @return
+     */
+    private List<TestCaseData> getJavaTestCaseInfo(String javaDirectory, File file) {
+        String testName = FilenameUtils.getBaseName(file.getName());
+        String testPackage = file.getParentFile().getAbsolutePath().substring(javaDirectory.length()).replace(File.separatorChar, '.');
+
+        if (knownToClasspath(testPackage, testName)) {
+            return getTestCaseInfoFromClass(testPackage, testName, file);
+        } else {
+            return getTestCaseInfoFromFile(testPackage, testName, file);
+        }
     }
 
     @Override
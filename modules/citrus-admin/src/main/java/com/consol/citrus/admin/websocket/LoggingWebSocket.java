@@ -20,63 +20,82 @@ import org.eclipse.jetty.websocket.WebSocket;
 import org.json.simple.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
 
-import java.io.IOException;
-import java.util.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Used for publishing log messages to connected clients via the web socket api.
+ * Used for publishing log messages to connected clients via the web socket api. Events are queued per client and
+ * sent in batches by background sender threads so publishing threads such as the logging thread of a running test
+ * never wait for slow clients. Each client queue is bounded, log output is dropped or sampled according to the
+ * overflow policy when a client falls behind. Clients exceeding the hard queue limit with events that cannot be
+ * dropped are disconnected.
  *
  * @author Martin.Maher@consol.de
  * @since 1.3
  */
-public class LoggingWebSocket implements WebSocket.OnTextMessage {
+public class LoggingWebSocket implements WebSocket.OnTextMessage, DisposableBean {
 
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(LoggingWebSocket.class);
 
     /**
-     * Web Socket connections
-     * TODO MM thread safe
+     * Policy applied to droppable events when a client queue is full.
      */
-    private List<Connection> connections = new ArrayList<Connection>();
-
-    /**
-     * Default constructor.
-     */
-    public LoggingWebSocket() {
-        Timer timer = new Timer(true);
-        TimerTask task = new TimerTask() {
-            @Override
-            public void run() {
-                ping();
-            }
-        };
-        timer.schedule(task, 60000, 60000);
+    public enum OverflowPolicy {
+        /** Drop oldest pending event to make room for new event */
+        DROP_OLDEST,
+        /** Drop new event */
+        DROP_NEWEST,
+        /** Keep only every n-th new event, replacing the oldest pending event */
+        SAMPLE
     }
 
+    /** Web Socket client sessions by connection */
+    private final Map<Connection, WebSocketClientSession> sessions = new ConcurrentHashMap<Connection, WebSocketClientSession>();
+
+    /** Maximum number of pending events per client */
+    private int queueCapacity = 1000;
+
+    /** Hard limit of pending events per client including events that are never dropped */
+    private int queueLimit = 10000;
+
+    /** Maximum number of events sent in one message */
+    private int batchSize = 100;
+
+    /** Interval in milliseconds pending events get sent to clients */
+    private long flushInterval = 100L;
+
+    /** Overflow policy for full client queues */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /** Sample rate used with sample overflow policy */
+    private int sampleRate = 10;
+
+    /** Schedules batch dispatch and ping events */
+    private ScheduledExecutorService scheduler;
+
+    /** Sends batches to clients */
+    private ExecutorService senderExecutor;
+
     /**
      * {@inheritDoc}
      */
     public void onOpen(Connection connection) {
         LOG.info("Accepted a new connection");
-        this.connections.add(connection);
+        start();
+        sessions.put(connection, new WebSocketClientSession(connection, queueCapacity, queueLimit, batchSize, overflowPolicy, sampleRate));
     }
 
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings({"PMD.CloseResource"})
     public void onClose(int closeCode, String message) {
         LOG.debug("Web socket connection closed");
-        Iterator<Connection> itor = connections.iterator();
-        while (itor.hasNext()) {
-            Connection connection = itor.next();
-            if (connection == null || !connection.isOpen()) {
-                itor.remove();
-            }
-        }
-
+        removeClosedSessions();
     }
 
     /**
@@ -97,23 +116,163 @@ public class LoggingWebSocket implements WebSocket.OnTextMessage {
     }
 
     /**
-     * Push event to connected clients.
+     * Push event to connected clients. Event is added to the pending queue of each client and
+     * sent asynchronously with the next batch.
      * @param event
      */
-    @SuppressWarnings({"PMD.CloseResource"})
     protected void push(JSONObject event) {
-        Iterator<Connection> itor = connections.iterator();
-        while (itor.hasNext()) {
-            Connection connection = itor.next();
-            if (connection != null && connection.isOpen()) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        String json = event.toString();
+        boolean droppable = SocketEvent.isDroppable(event);
+
+        for (Map.Entry<Connection, WebSocketClientSession> entry : sessions.entrySet()) {
+            if (!entry.getValue().isOpen()) {
+                sessions.remove(entry.getKey());
+            } else if (!entry.getValue().offer(json, droppable)) {
+                sessions.remove(entry.getKey());
+                entry.getValue().disconnect(senderExecutor);
+            }
+        }
+    }
+
+    /**
+     * Hands over pending events of all clients to sender threads.
+     */
+    private void dispatch() {
+        for (WebSocketClientSession session : sessions.values()) {
+            session.dispatch(senderExecutor);
+        }
+    }
+
+    /**
+     * Sends pending events of all clients in calling thread.
+     */
+    void flush() {
+        for (WebSocketClientSession session : sessions.values()) {
+            session.send();
+        }
+    }
+
+    /**
+     * Removes sessions of closed client connections.
+     */
+    private void removeClosedSessions() {
+        for (Map.Entry<Connection, WebSocketClientSession> entry : sessions.entrySet()) {
+            if (!entry.getValue().isOpen()) {
+                sessions.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Starts background dispatch and ping scheduling on first client connection.
+     */
+    private synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        Assert.isTrue(queueLimit >= queueCapacity, String.format("Queue limit %s must not be less than queue capacity %s", queueLimit, queueCapacity));
+
+        ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "citrus-websocket-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        senderExecutor = Executors.newCachedThreadPool(threadFactory);
+
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
                 try {
-                    connection.sendMessage(event.toString());
-                } catch (IOException e) {
-                    LOG.error("Error sending message", e);
+                    dispatch();
+                } catch (Exception e) {
+                    LOG.error("Error dispatching web socket events", e);
                 }
-            } else {
-                itor.remove();
             }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                ping();
+            }
+        }, 60000L, 60000L, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            senderExecutor.shutdownNow();
+            scheduler = null;
+            senderExecutor = null;
         }
+
+        sessions.clear();
+    }
+
+    /**
+     * Sets the maximum number of pending events per client.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than zero");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the hard limit of pending events per client. Clients exceeding this limit are disconnected.
+     * @param queueLimit
+     */
+    public void setQueueLimit(int queueLimit) {
+        Assert.isTrue(queueLimit > 0, "Queue limit must be greater than zero");
+        this.queueLimit = queueLimit;
+    }
+
+    /**
+     * Sets the maximum number of events sent in one message.
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the interval in milliseconds pending events get sent to clients.
+     * @param flushInterval
+     */
+    public void setFlushInterval(long flushInterval) {
+        Assert.isTrue(flushInterval > 0, "Flush interval must be greater than zero");
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Sets the overflow policy for full client queues.
+     * @param overflowPolicy
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        Assert.notNull(overflowPolicy, "Overflow policy must not be null");
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Sets the sample rate used with sample overflow policy.
+     * @param sampleRate
+     */
+    public void setSampleRate(int sampleRate) {
+        Assert.isTrue(sampleRate > 0, "Sample rate must be greater than zero");
+        this.sampleRate = sampleRate;
     }
 }
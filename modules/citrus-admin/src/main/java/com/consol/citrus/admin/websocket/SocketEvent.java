@@ -40,6 +40,20 @@ enum SocketEvent {
     PROCESS_SUCCESS,
     PROCESS_FAILED;
 
+    /**
+     * Checks if socket event may be dropped or sampled when clients fall behind. Log output and message
+     * events may be dropped, lifecycle events of tests and processes always get delivered.
+     * @param event
+     * @return
+     */
+    public static boolean isDroppable(JSONObject event) {
+        Object eventType = event.get("event");
+        return LOG_MESSAGE.name().equals(eventType) ||
+                INBOUND_MESSAGE.name().equals(eventType) ||
+                OUTBOUND_MESSAGE.name().equals(eventType) ||
+                PING.name().equals(eventType);
+    }
+
     /**
      * Creates proper JSON message for socket event.
      * @param processId
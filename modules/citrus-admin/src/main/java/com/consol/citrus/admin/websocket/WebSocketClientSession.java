@@ -0,0 +1,257 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.admin.websocket;
+
+import org.eclipse.jetty.websocket.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single web socket client with bounded queue of pending events. Events are added by publishing threads without
+ * blocking and sent to the client in batches by a sender thread. When the client falls behind and the queue is full
+ * droppable events are dropped or sampled according to the overflow policy. Events that are not droppable are queued
+ * beyond the capacity up to a hard queue limit. Exceeding this limit disconnects the client.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+class WebSocketClientSession {
+
+    /** Logger */
+    private static final Logger LOG = LoggerFactory.getLogger(WebSocketClientSession.class);
+
+    /** Web socket close code used when client is disconnected because of queue limit */
+    private static final int CLOSE_POLICY_VIOLATION = 1008;
+
+    /** Web socket connection of this client */
+    private final WebSocket.Connection connection;
+
+    /** Pending events guarded by this session */
+    private final Deque<QueuedEvent> queue = new ArrayDeque<QueuedEvent>();
+
+    /** Queue settings */
+    private final int capacity;
+    private final int limit;
+    private final int batchSize;
+    private final LoggingWebSocket.OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    /** Counts events seen while queue was full, used for sampling */
+    private long overflowCount = 0L;
+
+    /** Number of events dropped since last batch was sent */
+    private long droppedCount = 0L;
+
+    /** Marks session as disconnected because queue limit was exceeded */
+    private boolean disconnected = false;
+
+    /** Marks session as being sent to by a sender thread */
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    /**
+     * Default constructor using connection and queue settings.
+     * @param connection
+     * @param capacity
+     * @param limit
+     * @param batchSize
+     * @param overflowPolicy
+     * @param sampleRate
+     */
+    WebSocketClientSession(WebSocket.Connection connection, int capacity, int limit, int batchSize,
+                           LoggingWebSocket.OverflowPolicy overflowPolicy, int sampleRate) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.limit = limit;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Adds event to pending queue. Never blocks the calling thread. Events that are not droppable are
+     * added even if queue capacity is exceeded as long as the queue limit is not reached.
+     * @param event
+     * @param droppable
+     * @return false if queue limit is exceeded and client should be disconnected
+     */
+    synchronized boolean offer(String event, boolean droppable) {
+        if (disconnected) {
+            return false;
+        }
+
+        if (droppable && queue.size() >= capacity) {
+            overflowCount++;
+
+            if (overflowPolicy == LoggingWebSocket.OverflowPolicy.DROP_NEWEST ||
+                    (overflowPolicy == LoggingWebSocket.OverflowPolicy.SAMPLE && overflowCount % sampleRate != 0) ||
+                    !removeOldestDroppable()) {
+                droppedCount++;
+                return true;
+            }
+
+            droppedCount++;
+        }
+
+        if (queue.size() >= limit) {
+            LOG.warn(String.format("Web socket client exceeded limit of %s pending events - disconnecting client", limit));
+            disconnected = true;
+            queue.clear();
+            return false;
+        }
+
+        queue.addLast(new QueuedEvent(event, droppable));
+        return true;
+    }
+
+    /**
+     * Removes oldest droppable event from queue.
+     * @return true if an event was removed
+     */
+    private boolean removeOldestDroppable() {
+        Iterator<QueuedEvent> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().droppable) {
+                it.remove();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes next batch of pending events from queue.
+     * @return
+     */
+    private synchronized List<String> nextBatch() {
+        List<String> batch = new ArrayList<String>(Math.min(batchSize, queue.size()));
+        while (!queue.isEmpty() && batch.size() < batchSize) {
+            batch.add(queue.pollFirst().json);
+        }
+
+        if (droppedCount > 0) {
+            LOG.debug(String.format("Web socket client fell behind - dropped %s events", droppedCount));
+            droppedCount = 0L;
+        }
+
+        if (queue.isEmpty()) {
+            overflowCount = 0L;
+        }
+
+        return batch;
+    }
+
+    /**
+     * Checks for pending events.
+     * @return
+     */
+    synchronized boolean hasPendingEvents() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Schedules sending of pending events with given executor. Does nothing when events are being sent
+     * to this client already so slow clients occupy at most one sender thread.
+     * @param executor
+     */
+    void dispatch(Executor executor) {
+        if (hasPendingEvents() && sending.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        send();
+                    } finally {
+                        sending.set(false);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends all pending events to the client in batches. Single events are sent as plain JSON object, batches
+     * are sent as JSON array of events.
+     */
+    void send() {
+        List<String> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            String message;
+            if (batch.size() == 1) {
+                message = batch.get(0);
+            } else {
+                StringBuilder builder = new StringBuilder("[");
+                for (String event : batch) {
+                    if (builder.length() > 1) {
+                        builder.append(',');
+                    }
+                    builder.append(event);
+                }
+                message = builder.append(']').toString();
+            }
+
+            try {
+                connection.sendMessage(message);
+            } catch (IOException e) {
+                LOG.error("Error sending message", e);
+                return;
+            }
+
+            batch = nextBatch();
+        }
+    }
+
+    /**
+     * Closes client connection with given executor so publishing threads never wait for the client.
+     * @param executor
+     */
+    void disconnect(Executor executor) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                connection.close(CLOSE_POLICY_VIOLATION, "Client fell behind");
+            }
+        });
+    }
+
+    /**
+     * Checks if client connection is still open.
+     * @return
+     */
+    boolean isOpen() {
+        return connection.isOpen();
+    }
+
+    /**
+     * Queued event holding JSON content and drop flag.
+     */
+    private static final class QueuedEvent {
+        private final String json;
+        private final boolean droppable;
+
+        QueuedEvent(String json, boolean droppable) {
+            this.json = json;
+            this.droppable = droppable;
+        }
+    }
+}
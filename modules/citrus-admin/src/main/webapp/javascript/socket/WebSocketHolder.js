@@ -21,9 +21,18 @@
                   this.trigger('change:status');
               }, this);
               
-              this.socket.onmessage = _.bind(function(evt) { 
-                  this.statusMessages.push(evt.data);
-                  this.trigger('change:onmessage', evt.data);
+              this.socket.onmessage = _.bind(function(evt) {
+                  // server coalesces events into batches sent as JSON array
+                  if (evt.data && evt.data.charAt(0) == '[') {
+                      _.each($.parseJSON(evt.data), function(event) {
+                          var message = JSON.stringify(event);
+                          this.statusMessages.push(message);
+                          this.trigger('change:onmessage', message);
+                      }, this);
+                  } else {
+                      this.statusMessages.push(evt.data);
+                      this.trigger('change:onmessage', evt.data);
+                  }
               }, this);
               
               this.socket.onerror = _.bind(function(evt) { 
@@ -25,6 +25,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.List;
 
 /**
@@ -118,6 +119,57 @@ public class SpringBeanServiceTest {
         Assert.assertEquals(schemas.get(1).getLocation(), "classpath:com/consol/citrus/demo/sayHelloExtended.xsd");
     }
     
+    @Test
+    public void testBeanDefinitionsAfterModification() throws Exception {
+        File tempFile = createTempContextFile("citrus-context-find");
+
+        Assert.assertEquals(springBeanConfigService.getBeanDefinitions(tempFile, Schema.class).size(), 2);
+
+        springBeanConfigService.removeBeanDefinition(tempFile, "helloSchema");
+        springBeanConfigService.addBeanDefinition(tempFile, new SchemaBuilder().withId("newSchema").withLocation("l1").build());
+
+        List<Schema> schemas = springBeanConfigService.getBeanDefinitions(tempFile, Schema.class);
+        Assert.assertEquals(schemas.size(), 2);
+        Assert.assertEquals(schemas.get(0).getId(), "helloSchemaExtended");
+        Assert.assertEquals(schemas.get(1).getId(), "newSchema");
+        Assert.assertNull(springBeanConfigService.getBeanDefinition(tempFile, "helloSchema", Schema.class));
+
+        String result = FileUtils.readToString(new FileInputStream(tempFile));
+        Assert.assertTrue(result.contains("<citrus:schema id=\"newSchema\" location=\"l1\"/>"), "Failed to validate " + result);
+    }
+
+    @Test
+    public void testBeanDefinitionsAfterFileChange() throws Exception {
+        File tempFile = createTempContextFile("citrus-context-find");
+
+        Assert.assertEquals(springBeanConfigService.getBeanDefinitions(tempFile, Schema.class).size(), 2);
+
+        // external change keeping file size and modification time must invalidate cached model
+        long lastModified = tempFile.lastModified();
+        long length = tempFile.length();
+        String content = FileUtils.readToString(new FileInputStream(tempFile));
+        FileUtils.writeToFile(content.replace("helloSchemaExtended", "helloSchemaModified"), tempFile);
+        Assert.assertTrue(tempFile.setLastModified(lastModified));
+        Assert.assertEquals(tempFile.length(), length);
+
+        List<Schema> schemas = springBeanConfigService.getBeanDefinitions(tempFile, Schema.class);
+        Assert.assertEquals(schemas.size(), 2);
+        Assert.assertEquals(schemas.get(1).getId(), "helloSchemaModified");
+    }
+
+    @Test
+    public void testBeanDefinitionDeclaredEncoding() throws Exception {
+        File tempFile = File.createTempFile("citrus-context-encoding", ".xml");
+
+        String content = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+                FileUtils.readToString(new ClassPathResource("citrus-context-find.xml", SpringBeanService.class))
+                .replace("classpath:com/consol/citrus/demo/sayHello.xsd", "classpath:com/consol/citrus/demo/s\u00e4yHello.xsd");
+        FileUtils.writeToFile(content, tempFile, Charset.forName("ISO-8859-1"));
+
+        Schema schema = springBeanConfigService.getBeanDefinition(tempFile, "helloSchema", Schema.class);
+        Assert.assertEquals(schema.getLocation(), "classpath:com/consol/citrus/demo/s\u00e4yHello.xsd");
+    }
+
     /**
      * Creates a temporary file in operating system and writes template content to file.
      * @param templateName
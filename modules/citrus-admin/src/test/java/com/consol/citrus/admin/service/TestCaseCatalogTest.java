@@ -0,0 +1,166 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.admin.service;
+
+import com.consol.citrus.admin.model.TestCaseData;
+import com.consol.citrus.admin.model.TestCaseType;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class TestCaseCatalogTest {
+
+    private File projectHome;
+    private String testDirectory;
+    private String javaDirectory;
+
+    private AtomicInteger loadCount = new AtomicInteger();
+
+    private TestCaseCatalog catalog;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        projectHome = Files.createTempDirectory("citrus-catalog").toFile();
+        testDirectory = projectHome.getAbsolutePath() + File.separator + "tests" + File.separator;
+        javaDirectory = projectHome.getAbsolutePath() + File.separator + "java" + File.separator;
+
+        createFile(testDirectory + "FooTest.xml");
+        createFile(testDirectory + "com" + File.separator + "BarTest.xml");
+        createFile(javaDirectory + "com" + File.separator + "JavaTest.java");
+
+        loadCount.set(0);
+        catalog = new TestCaseCatalog(testDirectory, javaDirectory, new TestCaseCatalog.TestCaseLoader() {
+            @Override
+            public List<TestCaseData> load(String baseDirectory, File file, TestCaseType type) {
+                loadCount.incrementAndGet();
+
+                TestCaseData testCase = new TestCaseData();
+                testCase.setType(type);
+                testCase.setName(FilenameUtils.getBaseName(file.getName()));
+                testCase.setPackageName(file.getParentFile().getAbsolutePath().substring(baseDirectory.length() - 1).replace(File.separatorChar, '.').replaceFirst("^\\.", ""));
+                return Collections.singletonList(testCase);
+            }
+        });
+        catalog.load();
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        catalog.close();
+        FileUtils.deleteQuietly(projectHome);
+    }
+
+    @Test
+    public void testLoad() {
+        Assert.assertEquals(catalog.getTestCount(), 3);
+        Assert.assertEquals(loadCount.get(), 3);
+
+        List<TestCaseData> tests = catalog.getTests();
+        Assert.assertEquals(tests.get(0).getName(), "FooTest");
+        Assert.assertEquals(tests.get(0).getType(), TestCaseType.XML);
+        Assert.assertEquals(tests.get(1).getName(), "BarTest");
+        Assert.assertEquals(tests.get(1).getPackageName(), "com");
+        Assert.assertEquals(tests.get(2).getName(), "JavaTest");
+        Assert.assertEquals(tests.get(2).getType(), TestCaseType.JAVA);
+
+        Assert.assertEquals(catalog.getTest("com", "BarTest").getName(), "BarTest");
+        Assert.assertNull(catalog.getTest("com", "UnknownTest"));
+    }
+
+    @Test
+    public void testPagingAndSearch() {
+        Assert.assertEquals(catalog.getTests(0, 2).size(), 2);
+        Assert.assertEquals(catalog.getTests(1, 2).size(), 1);
+        Assert.assertEquals(catalog.getTests(1, 2).get(0).getName(), "JavaTest");
+        Assert.assertTrue(catalog.getTests(2, 2).isEmpty());
+        Assert.assertTrue(catalog.getTests(-1, 2).isEmpty());
+
+        Assert.assertEquals(catalog.search("bar").size(), 1);
+        Assert.assertEquals(catalog.search("com.").size(), 2);
+        Assert.assertEquals(catalog.search("").size(), 3);
+    }
+
+    @Test
+    public void testRefreshAndRemove() throws IOException {
+        createFile(testDirectory + "com" + File.separator + "NewTest.xml");
+        catalog.refresh(new File(testDirectory + "com" + File.separator + "NewTest.xml"));
+
+        Assert.assertEquals(catalog.getTestCount(), 4);
+        Assert.assertEquals(loadCount.get(), 4);
+        Assert.assertNotNull(catalog.getTest("com", "NewTest"));
+
+        // files outside of test directories are ignored
+        createFile(projectHome.getAbsolutePath() + File.separator + "OtherTest.xml");
+        catalog.refresh(new File(projectHome.getAbsolutePath() + File.separator + "OtherTest.xml"));
+        Assert.assertEquals(catalog.getTestCount(), 4);
+
+        catalog.remove(new File(testDirectory + "FooTest.xml"));
+        Assert.assertEquals(catalog.getTestCount(), 3);
+        Assert.assertNull(catalog.getTest("", "FooTest"));
+
+        // removing directory removes all tests in that directory
+        catalog.remove(new File(testDirectory + "com"));
+        Assert.assertEquals(catalog.getTestCount(), 1);
+        Assert.assertEquals(catalog.getTests().get(0).getName(), "JavaTest");
+        Assert.assertEquals(loadCount.get(), 4);
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        catalog.watch();
+
+        createFile(testDirectory + "com" + File.separator + "WatchedTest.xml");
+        waitForTestCount(4);
+        Assert.assertNotNull(catalog.getTest("com", "WatchedTest"));
+
+        createFile(javaDirectory + "com" + File.separator + "sub" + File.separator + "SubTest.java");
+        waitForTestCount(5);
+        Assert.assertNotNull(catalog.getTest("com.sub", "SubTest"));
+
+        Assert.assertTrue(new File(testDirectory + "FooTest.xml").delete());
+        waitForTestCount(4);
+        Assert.assertNull(catalog.getTest("", "FooTest"));
+    }
+
+    private void waitForTestCount(int count) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10000L;
+        while (catalog.getTestCount() != count && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50L);
+        }
+
+        Assert.assertEquals(catalog.getTestCount(), count);
+    }
+
+    private void createFile(String path) throws IOException {
+        File file = new File(path);
+        file.getParentFile().mkdirs();
+        FileCopyUtils.copy("<test/>".getBytes(), file);
+    }
+}
@@ -71,6 +71,45 @@ public class TestCaseServiceTest extends AbstractTestNGSpringContextTests {
         verify(project);
     }
 
+    @Test
+    public void testGetTestsPaged() throws IOException {
+        reset(project);
+        expect(project.getProjectHome()).andReturn(new ClassPathResource("test-project").getFile().getAbsolutePath()).atLeastOnce();
+        replay(project);
+
+        Assert.assertEquals(testCaseService.getTestCount(project), Long.valueOf(4L));
+
+        List<TestCaseData> tests = testCaseService.getTests(project, 0, 3);
+        Assert.assertEquals(tests.size(), 3L);
+        Assert.assertEquals(tests.get(0).getName(), "FooTest");
+        Assert.assertEquals(tests.get(2).getName(), "FooJavaTest");
+
+        tests = testCaseService.getTests(project, 1, 3);
+        Assert.assertEquals(tests.size(), 1L);
+        Assert.assertEquals(tests.get(0).getName(), "FooTest");
+        Assert.assertEquals(tests.get(0).getPackageName(), "com.consol.citrus");
+
+        Assert.assertTrue(testCaseService.getTests(project, 2, 3).isEmpty());
+
+        verify(project);
+    }
+
+    @Test
+    public void testFindTests() throws IOException {
+        reset(project);
+        expect(project.getProjectHome()).andReturn(new ClassPathResource("test-project").getFile().getAbsolutePath()).atLeastOnce();
+        replay(project);
+
+        List<TestCaseData> tests = testCaseService.findTests(project, "java");
+        Assert.assertEquals(tests.size(), 1L);
+        Assert.assertEquals(tests.get(0).getName(), "FooJavaTest");
+
+        tests = testCaseService.findTests(project, "com.consol.citrus.foo");
+        Assert.assertEquals(tests.size(), 2L);
+
+        verify(project);
+    }
+
     @Test
     public void testGetTestFileTree() throws IOException {
         reset(project);
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.admin.websocket;
+
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.eclipse.jetty.websocket.WebSocket;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.easymock.EasyMock.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoggingWebSocketTest {
+
+    private WebSocket.Connection connection = EasyMock.createMock(WebSocket.Connection.class);
+    private WebSocket.Connection slowConnection = EasyMock.createMock(WebSocket.Connection.class);
+
+    private LoggingWebSocket loggingWebSocket = new LoggingWebSocket();
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        loggingWebSocket.destroy();
+        loggingWebSocket = new LoggingWebSocket();
+    }
+
+    @Test
+    public void testBatchedPush() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(batch("log1", "log2", "log3"));
+        expectLastCall().once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        pushLog("log2");
+        pushLog("log3");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    public void testBatchSize() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(batch("log1", "log2"));
+        expectLastCall().once();
+        connection.sendMessage(SocketEvent.createEvent("1", SocketEvent.LOG_MESSAGE, "log3").toString());
+        expectLastCall().once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setBatchSize(2);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        pushLog("log2");
+        pushLog("log3");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(batch("log3", "log4"));
+        expectLastCall().once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setQueueCapacity(2);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        pushLog("log2");
+        pushLog("log3");
+        pushLog("log4");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(batch("log1", "log2"));
+        expectLastCall().once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setQueueCapacity(2);
+        loggingWebSocket.setOverflowPolicy(LoggingWebSocket.OverflowPolicy.DROP_NEWEST);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        pushLog("log2");
+        pushLog("log3");
+        pushLog("log4");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    public void testSample() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(batch("log2", "log4"));
+        expectLastCall().once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setQueueCapacity(2);
+        loggingWebSocket.setOverflowPolicy(LoggingWebSocket.OverflowPolicy.SAMPLE);
+        loggingWebSocket.setSampleRate(2);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        pushLog("log2");
+        pushLog("log3");
+        pushLog("log4");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLifecycleEventsNeverDropped() throws Exception {
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<String>();
+
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(anyObject(String.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                messages.add(getCurrentArguments()[0].toString());
+                return null;
+            }
+        }).once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setQueueCapacity(1);
+        loggingWebSocket.setOverflowPolicy(LoggingWebSocket.OverflowPolicy.DROP_NEWEST);
+        loggingWebSocket.onOpen(connection);
+
+        pushLog("log1");
+        loggingWebSocket.push(SocketEvent.createEvent("1", SocketEvent.TEST_START, "FooTest"));
+        pushLog("log2");
+        loggingWebSocket.push(SocketEvent.createEvent("1", SocketEvent.TEST_FINISHED, "FooTest"));
+        loggingWebSocket.flush();
+
+        List<JSONObject> events = (List<JSONObject>) JSONValue.parse(messages.take());
+        Assert.assertEquals(events.size(), 3);
+        Assert.assertEquals(events.get(0).get("msg"), "log1");
+        Assert.assertEquals(events.get(1).get("event"), SocketEvent.TEST_START.name());
+        Assert.assertEquals(events.get(2).get("event"), SocketEvent.TEST_FINISHED.name());
+
+        verify(connection);
+    }
+
+    @Test
+    public void testQueueLimitDisconnectsClient() throws Exception {
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        reset(connection);
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.close(eq(1008), anyObject(String.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                closed.countDown();
+                return null;
+            }
+        }).once();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.setQueueCapacity(1);
+        loggingWebSocket.setQueueLimit(2);
+        loggingWebSocket.onOpen(connection);
+
+        loggingWebSocket.push(SocketEvent.createEvent("1", SocketEvent.TEST_START, "FooTest"));
+        loggingWebSocket.push(SocketEvent.createEvent("1", SocketEvent.TEST_FINISHED, "FooTest"));
+        loggingWebSocket.push(SocketEvent.createEvent("2", SocketEvent.TEST_START, "BarTest"));
+
+        Assert.assertTrue(closed.await(5, TimeUnit.SECONDS));
+
+        // disconnected client does not receive any further events
+        loggingWebSocket.push(SocketEvent.createEvent("2", SocketEvent.TEST_FINISHED, "BarTest"));
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidSampleRate() {
+        loggingWebSocket.setSampleRate(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+        loggingWebSocket.setBatchSize(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testQueueLimitLessThanCapacity() {
+        loggingWebSocket.setQueueCapacity(10);
+        loggingWebSocket.setQueueLimit(5);
+        loggingWebSocket.onOpen(connection);
+    }
+
+    @Test
+    public void testClosedConnectionRemoved() throws Exception {
+        reset(connection);
+        expect(connection.isOpen()).andReturn(false).anyTimes();
+        replay(connection);
+
+        loggingWebSocket.setFlushInterval(60000L);
+        loggingWebSocket.onOpen(connection);
+        loggingWebSocket.onClose(0, "closed");
+
+        pushLog("log1");
+        loggingWebSocket.flush();
+
+        verify(connection);
+    }
+
+    @Test
+    public void testSlowClientDoesNotBlockPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<String>();
+
+        reset(connection, slowConnection);
+        // mocks must not synchronize calls as slow client blocks in send while publisher checks connection state
+        makeThreadSafe(connection, false);
+        makeThreadSafe(slowConnection, false);
+
+        expect(connection.isOpen()).andReturn(true).anyTimes();
+        connection.sendMessage(anyObject(String.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                messages.add(getCurrentArguments()[0].toString());
+                return null;
+            }
+        }).anyTimes();
+
+        expect(slowConnection.isOpen()).andReturn(true).anyTimes();
+        slowConnection.sendMessage(anyObject(String.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }
+        }).anyTimes();
+        replay(connection, slowConnection);
+
+        loggingWebSocket.setFlushInterval(10L);
+        loggingWebSocket.setQueueCapacity(100);
+        loggingWebSocket.onOpen(slowConnection);
+        loggingWebSocket.onOpen(connection);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            pushLog("log" + i);
+        }
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        Assert.assertNotNull(messages.poll(5, TimeUnit.SECONDS), "Fast client did not receive any events");
+
+        release.countDown();
+        verify(connection, slowConnection);
+    }
+
+    private void pushLog(String message) {
+        loggingWebSocket.push(SocketEvent.createEvent("1", SocketEvent.LOG_MESSAGE, message));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String batch(String ... messages) {
+        JSONArray events = new JSONArray();
+        for (String message : messages) {
+            events.add(SocketEvent.createEvent("1", SocketEvent.LOG_MESSAGE, message));
+        }
+        return events.toString();
+    }
+}
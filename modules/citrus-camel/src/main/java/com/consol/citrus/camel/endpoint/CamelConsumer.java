@@ -18,12 +18,16 @@ package com.consol.citrus.camel.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Consumer;
-import org.apache.camel.Exchange;
+import org.apache.camel.*;
+import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.*;
+
 /**
  * @author Christoph Deppisch
  * @since 1.4.1
@@ -35,6 +39,12 @@ public class CamelConsumer implements Consumer {
     /** The consumer name */
     private final String name;
 
+    /** Buffer holding prefetched exchanges in prefetching mode */
+    private BlockingQueue<Exchange> prefetchQueue;
+
+    /** Camel consumer filling the prefetch buffer */
+    private org.apache.camel.Consumer prefetchConsumer;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(CamelConsumer.class);
 
@@ -57,7 +67,17 @@ public class CamelConsumer implements Consumer {
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message from camel endpoint: '" + endpointConfiguration.getEndpointUri() + "'");
 
-        Exchange exchange = endpointConfiguration.getCamelContext().createConsumerTemplate().receive(endpointConfiguration.getEndpointUri(), timeout);
+        Exchange exchange;
+        if (endpointConfiguration.getPrefetchSize() > 0) {
+            try {
+                exchange = getPrefetchQueue().poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for message on camel endpoint '" + endpointConfiguration.getEndpointUri() + "'", e);
+            }
+        } else {
+            exchange = endpointConfiguration.getConsumerTemplate().receive(endpointConfiguration.getEndpointUri(), timeout);
+        }
 
         if (exchange == null) {
             throw new ActionTimeoutException("Action timed out while receiving message from camel endpoint '" + endpointConfiguration.getEndpointUri() + "'");
@@ -71,6 +91,53 @@ public class CamelConsumer implements Consumer {
         return message;
     }
 
+    /**
+     * Gets the prefetch buffer. On first access creates and starts a Camel consumer on the endpoint
+     * that continuously adds incoming exchanges to the bounded buffer. Route is blocked when the buffer is full.
+     * @return
+     */
+    private synchronized BlockingQueue<Exchange> getPrefetchQueue() {
+        if (prefetchQueue == null) {
+            final BlockingQueue<Exchange> queue = new ArrayBlockingQueue<Exchange>(endpointConfiguration.getPrefetchSize());
+
+            try {
+                Endpoint endpoint = endpointConfiguration.getCamelContext().getEndpoint(endpointConfiguration.getEndpointUri());
+                prefetchConsumer = endpoint.createConsumer(new Processor() {
+                    @Override
+                    public void process(Exchange exchange) throws Exception {
+                        queue.put(exchange);
+                    }
+                });
+                ServiceHelper.startService(prefetchConsumer);
+            } catch (Exception e) {
+                throw new CitrusRuntimeException("Failed to start prefetching consumer on camel endpoint '" + endpointConfiguration.getEndpointUri() + "'", e);
+            }
+
+            prefetchQueue = queue;
+        }
+
+        return prefetchQueue;
+    }
+
+    /**
+     * Stops prefetching consumer if any. Exchanges still buffered are discarded.
+     * @throws Exception
+     */
+    public synchronized void destroy() throws Exception {
+        if (prefetchConsumer != null) {
+            ServiceHelper.stopService(prefetchConsumer);
+            prefetchConsumer = null;
+        }
+
+        if (prefetchQueue != null) {
+            if (!prefetchQueue.isEmpty()) {
+                log.warn("Discarding " + prefetchQueue.size() + " prefetched message(s) on camel endpoint '" + endpointConfiguration.getEndpointUri() + "'");
+            }
+
+            prefetchQueue = null;
+        }
+    }
+
     @Override
     public String getName() {
         return name;
@@ -19,12 +19,16 @@ package com.consol.citrus.camel.endpoint;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.Producer;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class CamelEndpoint extends AbstractEndpoint {
+public class CamelEndpoint extends AbstractEndpoint implements DisposableBean {
+
+    /** Cached consumer holding prefetch buffer */
+    private CamelConsumer camelConsumer;
 
     /**
      * Default constructor initializes endpoint configuration;
@@ -48,12 +52,25 @@ public class CamelEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Consumer createConsumer() {
-        return new CamelConsumer(getConsumerName(), getEndpointConfiguration());
+    public synchronized Consumer createConsumer() {
+        if (camelConsumer == null) {
+            camelConsumer = new CamelConsumer(getConsumerName(), getEndpointConfiguration());
+        }
+
+        return camelConsumer;
     }
 
     @Override
     public CamelEndpointConfiguration getEndpointConfiguration() {
         return (CamelEndpointConfiguration) super.getEndpointConfiguration();
     }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (camelConsumer != null) {
+            camelConsumer.destroy();
+        }
+
+        getEndpointConfiguration().destroyConsumerTemplate();
+    }
 }
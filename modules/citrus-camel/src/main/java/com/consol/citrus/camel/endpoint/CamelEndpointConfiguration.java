@@ -35,6 +35,61 @@ public class CamelEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Camel endpoint uri */
     private String endpointUri;
 
+    /** Consumer template shared by all consumers of this endpoint */
+    private ConsumerTemplate consumerTemplate;
+
+    /** Maximum number of exchanges buffered in prefetching mode, zero disables prefetching */
+    private int prefetchSize = 0;
+
+    /**
+     * Gets the consumer template for this endpoint. Lazily creates a new started consumer template
+     * from Camel context on first access. Template is reused for all subsequent receive operations.
+     * @return
+     */
+    public synchronized ConsumerTemplate getConsumerTemplate() {
+        if (consumerTemplate == null) {
+            consumerTemplate = camelContext.createConsumerTemplate();
+        }
+
+        return consumerTemplate;
+    }
+
+    /**
+     * Sets the consumer template.
+     * @param consumerTemplate
+     */
+    public synchronized void setConsumerTemplate(ConsumerTemplate consumerTemplate) {
+        this.consumerTemplate = consumerTemplate;
+    }
+
+    /**
+     * Stops the consumer template if any was created and releases its resources.
+     * @throws Exception
+     */
+    public synchronized void destroyConsumerTemplate() throws Exception {
+        if (consumerTemplate != null) {
+            consumerTemplate.stop();
+            consumerTemplate = null;
+        }
+    }
+
+    /**
+     * Gets the prefetch size.
+     * @return
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * Sets the prefetch size. When set to a positive value consumer continuously buffers
+     * exchanges from the Camel endpoint in a bounded queue of this size.
+     * @param prefetchSize
+     */
+    public void setPrefetchSize(int prefetchSize) {
+        this.prefetchSize = prefetchSize;
+    }
+
     /**
      * Gets the Camel context.
      * @return
@@ -57,7 +57,7 @@ public class CamelSyncConsumer extends CamelConsumer implements ReplyProducer {
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message from camel endpoint: '" + endpointConfiguration.getEndpointUri() + "'");
 
-        Exchange exchange = endpointConfiguration.getCamelContext().createConsumerTemplate().receive(endpointConfiguration.getEndpointUri(), timeout);
+        Exchange exchange = endpointConfiguration.getConsumerTemplate().receive(endpointConfiguration.getEndpointUri(), timeout);
 
         if (exchange == null) {
             throw new ActionTimeoutException("Action timed out while receiving message from camel endpoint '" + endpointConfiguration.getEndpointUri() + "'");
@@ -87,7 +87,7 @@ public class CamelSyncConsumer extends CamelConsumer implements ReplyProducer {
 
         log.info("Sending reply message to camel endpoint: '" + exchange.getFromEndpoint() + "'");
 
-        endpointConfiguration.getCamelContext().createConsumerTemplate().doneUoW(exchange);
+        endpointConfiguration.getConsumerTemplate().doneUoW(exchange);
 
         context.onOutboundMessage(message);
 
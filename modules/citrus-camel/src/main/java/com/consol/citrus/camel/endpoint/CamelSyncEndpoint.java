@@ -50,7 +50,7 @@ public class CamelSyncEndpoint extends CamelEndpoint {
     }
 
     @Override
-    public Consumer createConsumer() {
+    public synchronized Consumer createConsumer() {
         if (camelSyncMessageProducer != null) {
             return camelSyncMessageProducer;
         }
@@ -63,7 +63,7 @@ public class CamelSyncEndpoint extends CamelEndpoint {
     }
 
     @Override
-    public Producer createProducer() {
+    public synchronized Producer createProducer() {
         if (camelSyncMessageConsumer != null) {
             return camelSyncMessageConsumer;
         }
@@ -74,4 +74,13 @@ public class CamelSyncEndpoint extends CamelEndpoint {
 
         return camelSyncMessageProducer;
     }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (camelSyncMessageConsumer != null) {
+            camelSyncMessageConsumer.destroy();
+        }
+
+        super.destroy();
+    }
 }
@@ -17,8 +17,10 @@
 package com.consol.citrus.camel.endpoint;
 
 import com.consol.citrus.camel.message.CitrusCamelMessageHeaders;
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.apache.camel.*;
@@ -28,6 +30,10 @@ import org.easymock.IAnswer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -170,4 +176,103 @@ public class CamelEndpointTest extends AbstractTestNGUnitTest {
 
         verify(camelContext, producerTemplate, consumerTemplate, messageListeners);
     }
+
+    @Test
+    public void testCamelEndpointConsumerTemplateReuse() throws Exception {
+        String endpointUri = "direct:news-feed";
+        CamelEndpointConfiguration endpointConfiguration = new CamelEndpointConfiguration();
+        endpointConfiguration.setCamelContext(camelContext);
+        endpointConfiguration.setEndpointUri(endpointUri);
+
+        CamelEndpoint camelEndpoint = new CamelEndpoint(endpointConfiguration);
+        DefaultMessage message = new DefaultMessage();
+        message.setBody("Hello from Camel!");
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.setIn(message);
+
+        reset(camelContext, consumerTemplate);
+
+        expect(camelContext.createConsumerTemplate()).andReturn(consumerTemplate).once();
+        expect(camelContext.getUuidGenerator()).andReturn(new JavaUuidGenerator()).once();
+        expect(consumerTemplate.receive(endpointUri, endpointConfiguration.getTimeout())).andReturn(exchange).times(2);
+        consumerTemplate.stop();
+        expectLastCall().once();
+
+        replay(camelContext, consumerTemplate);
+
+        camelEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        camelEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        camelEndpoint.destroy();
+
+        verify(camelContext, consumerTemplate);
+    }
+
+    @Test
+    public void testCamelEndpointConcurrentConsumerCreation() throws Exception {
+        CamelEndpointConfiguration endpointConfiguration = new CamelEndpointConfiguration();
+        endpointConfiguration.setCamelContext(camelContext);
+        endpointConfiguration.setEndpointUri("direct:news-feed");
+
+        final CamelEndpoint camelEndpoint = new CamelEndpoint(endpointConfiguration);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Consumer>> consumers = new ArrayList<Future<Consumer>>();
+            for (int i = 0; i < 10; i++) {
+                consumers.add(executor.submit(new Callable<Consumer>() {
+                    @Override
+                    public Consumer call() throws Exception {
+                        start.await();
+                        return camelEndpoint.createConsumer();
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Consumer> consumer : consumers) {
+                Assert.assertSame(consumer.get(5, TimeUnit.SECONDS), camelEndpoint.createConsumer());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCamelEndpointPrefetchingConsumer() throws Exception {
+        CamelContext seda = new DefaultCamelContext();
+        seda.start();
+
+        try {
+            String endpointUri = "seda:news-feed";
+            CamelEndpointConfiguration endpointConfiguration = new CamelEndpointConfiguration();
+            endpointConfiguration.setCamelContext(seda);
+            endpointConfiguration.setEndpointUri(endpointUri);
+            endpointConfiguration.setPrefetchSize(10);
+
+            CamelEndpoint camelEndpoint = new CamelEndpoint(endpointConfiguration);
+            ProducerTemplate template = seda.createProducerTemplate();
+
+            template.sendBody(endpointUri, "Hello from Camel!");
+            Message receivedMessage = camelEndpoint.createConsumer().receive(context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(), "Hello from Camel!");
+
+            template.sendBody(endpointUri, "Hello again!");
+            template.sendBody(endpointUri, "Goodbye!");
+            Assert.assertEquals(camelEndpoint.createConsumer().receive(context, 5000L).getPayload(), "Hello again!");
+            Assert.assertEquals(camelEndpoint.createConsumer().receive(context, 5000L).getPayload(), "Goodbye!");
+
+            try {
+                camelEndpoint.createConsumer().receive(context, 100L);
+                Assert.fail("Missing action timeout exception");
+            } catch (ActionTimeoutException e) {
+                Assert.assertTrue(e.getMessage().contains(endpointUri));
+            }
+
+            camelEndpoint.destroy();
+        } finally {
+            seda.stop();
+        }
+    }
 }
@@ -35,6 +35,9 @@ public final class CitrusConstants {
     /** File encoding system property */
     public static final String CITRUS_FILE_ENCODING = "citrus.file.encoding";
 
+    /** Maximum number of message content characters written to log output system property */
+    public static final String CITRUS_MESSAGE_PREVIEW_SIZE = "citrus.message.preview.size";
+
     /** Prefix/sufix used to identify variable expressions */
     public static final String VARIABLE_PREFIX = "${";
     public static final char VARIABLE_SUFFIX = '}';
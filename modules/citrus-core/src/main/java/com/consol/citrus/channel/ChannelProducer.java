@@ -20,6 +20,7 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessagePreview;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
@@ -57,7 +58,7 @@ public class ChannelProducer implements Producer {
         log.info("Sending message to channel: '" + destinationChannelName + "'");
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to send is:" + System.getProperty("line.separator") + message.toString());
+            log.debug("Message to send is:{}{}", System.getProperty("line.separator"), MessagePreview.of(message));
         }
 
         try {
@@ -70,7 +70,7 @@ public class ChannelSyncConsumer extends ChannelConsumer implements ReplyProduce
         log.info("Sending message to reply channel: '" + replyChannel + "'");
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to send is:\n" + message.toString());
+            log.debug("Message to send is:\n{}", MessagePreview.of(message));
         }
 
         try {
@@ -61,7 +61,7 @@ public class ChannelSyncProducer extends ChannelProducer implements ReplyConsume
         log.info("Sending message to channel: '" + destinationChannelName + "'");
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to sent is:\n" + message.toString());
+            log.debug("Message to sent is:\n{}", MessagePreview.of(message));
         }
 
         endpointConfiguration.getMessagingTemplate().setReceiveTimeout(endpointConfiguration.getTimeout());
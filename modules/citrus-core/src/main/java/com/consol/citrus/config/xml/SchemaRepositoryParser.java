@@ -41,6 +41,8 @@ public class SchemaRepositoryParser implements BeanDefinitionParser {
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(XsdSchemaRepository.class);
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("schema-mapping-strategy"), "schemaMappingStrategy");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("lazy-init"), "lazyInit");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("load-threads"), "loadThreads");
 
         ManagedList<RuntimeBeanReference> schemas = new ManagedList<RuntimeBeanReference>();
 
@@ -24,6 +24,7 @@ import com.consol.citrus.functions.FunctionRegistry;
 import com.consol.citrus.functions.FunctionUtils;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageHeaders;
+import com.consol.citrus.message.MessagePreview;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.report.TestListeners;
@@ -503,8 +504,8 @@ public class TestContext {
     public void onInboundMessage(Message receivedMessage) {
         if (messageListeners != null && !messageListeners.isEmpty()) {
             messageListeners.onInboundMessage(receivedMessage, this);
-        } else {
-            log.debug("Received message is:" + System.getProperty("line.separator") + (receivedMessage != null ? receivedMessage.toString() : ""));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Received message is:{}{}", System.getProperty("line.separator"), MessagePreview.of(receivedMessage));
         }
     }
 
@@ -515,8 +516,8 @@ public class TestContext {
     public void onOutboundMessage(Message message) {
         if (messageListeners != null && !messageListeners.isEmpty()) {
             messageListeners.onOutboundMessage(message, this);
-        } else {
-            log.info("Sent message is:" + System.getProperty("line.separator") + message.toString());
+        } else if (log.isInfoEnabled()) {
+            log.info("Sent message is:{}{}", System.getProperty("line.separator"), MessagePreview.of(message));
         }
     }
 }
@@ -26,6 +26,8 @@ import org.springframework.core.io.support.PropertiesLoaderUtils;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default endpoint factory implementation uses registered endpoint components in Spring application context to create endpoint
@@ -47,7 +49,13 @@ public class DefaultEndpointFactory implements EndpointFactory {
     private Properties endpointComponentProperties;
 
     /** Endpoint cache for endpoint reuse */
-    private Map<String, Endpoint> endpointCache = new HashMap<String, Endpoint>();
+    private final ConcurrentMap<String, Endpoint> endpointCache = new ConcurrentHashMap<String, Endpoint>();
+
+    /** Endpoint components found in last used application context */
+    private volatile EndpointComponents endpointComponents;
+
+    /** Default endpoint components already instantiated */
+    private final ConcurrentMap<String, EndpointComponent> defaultComponents = new ConcurrentHashMap<String, EndpointComponent>();
 
     /**
      * Default constructor.
@@ -63,6 +71,14 @@ public class DefaultEndpointFactory implements EndpointFactory {
             return context.getApplicationContext().getBean(endpointUri, Endpoint.class);
         }
 
+        Endpoint cached = endpointCache.get(endpointUri);
+        if (cached != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Found cached endpoint for uri '%s'", endpointUri));
+            }
+            return cached;
+        }
+
         StringTokenizer tok = new StringTokenizer(endpointUri, ":");
         if (tok.countTokens() < 2) {
             throw new CitrusRuntimeException(String.format("Invalid endpoint uri '%s'", endpointUri));
@@ -80,21 +96,44 @@ public class DefaultEndpointFactory implements EndpointFactory {
             throw new CitrusRuntimeException(String.format("Unable to create endpoint component with name '%s'", componentName));
         }
 
-        if (endpointCache.containsKey(endpointUri)) {
-            log.info(String.format("Found cached endpoint for uri '%s'", endpointUri));
-            return endpointCache.get(endpointUri);
-        } else {
-            Endpoint endpoint = component.createEndpoint(endpointUri, context);
-            endpointCache.put(endpointUri, endpoint);
-            return endpoint;
-        }
+        Endpoint endpoint = component.createEndpoint(endpointUri, context);
+        cached = endpointCache.putIfAbsent(endpointUri, endpoint);
+
+        // concurrent creation of same endpoint uri - first endpoint in cache wins
+        return cached != null ? cached : endpoint;
     }
 
+    /**
+     * Gets endpoint components from application context. Components are looked up once per application context.
+     * @param applicationContext
+     * @return
+     */
     private Map<String, EndpointComponent> getEndpointComponents(ApplicationContext applicationContext) {
-        return applicationContext.getBeansOfType(EndpointComponent.class);
+        EndpointComponents components = endpointComponents;
+        if (components == null || components.applicationContext != applicationContext) {
+            components = new EndpointComponents(applicationContext, applicationContext.getBeansOfType(EndpointComponent.class));
+            endpointComponents = components;
+        }
+
+        return components.components;
     }
 
     private EndpointComponent resolveDefaultComponent(String componentName) {
+        EndpointComponent defaultComponent = defaultComponents.get(componentName);
+        if (defaultComponent != null) {
+            return defaultComponent;
+        }
+
+        defaultComponent = createDefaultComponent(componentName);
+        if (defaultComponent != null) {
+            EndpointComponent existing = defaultComponents.putIfAbsent(componentName, defaultComponent);
+            return existing != null ? existing : defaultComponent;
+        }
+
+        return null;
+    }
+
+    private EndpointComponent createDefaultComponent(String componentName) {
         String endpointComponentClassName = endpointComponentProperties.getProperty(componentName);
 
         try {
@@ -125,4 +164,17 @@ public class DefaultEndpointFactory implements EndpointFactory {
             log.warn("Unable to laod default endpoint components from resource '%s'", e);
         }
     }
+
+    /**
+     * Endpoint components found in application context.
+     */
+    private static final class EndpointComponents {
+        private final ApplicationContext applicationContext;
+        private final Map<String, EndpointComponent> components;
+
+        private EndpointComponents(ApplicationContext applicationContext, Map<String, EndpointComponent> components) {
+            this.applicationContext = applicationContext;
+            this.components = components;
+        }
+    }
 }
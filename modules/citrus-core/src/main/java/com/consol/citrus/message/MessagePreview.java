@@ -0,0 +1,127 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.message;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.util.XMLUtils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Lazy message representation for log output. Message content is rendered only when {@link #toString()} is called,
+ * which is the case when the logger actually writes the log statement. So callers should pass preview instances as
+ * log statement arguments instead of concatenating message strings.
+ *
+ * Rendered content is truncated to a maximum preview size which is set with system property
+ * {@link CitrusConstants#CITRUS_MESSAGE_PREVIEW_SIZE} (default 10000 characters, zero or negative value disables truncation).
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class MessagePreview {
+
+    /** Default maximum number of characters rendered */
+    private static final int DEFAULT_PREVIEW_SIZE = 10000;
+
+    /** Message or message content to render */
+    private final Object content;
+
+    /** Should pretty print XML content */
+    private final boolean prettyPrint;
+
+    /**
+     * Constructor using content to render.
+     * @param content
+     * @param prettyPrint
+     */
+    private MessagePreview(Object content, boolean prettyPrint) {
+        this.content = content;
+        this.prettyPrint = prettyPrint;
+    }
+
+    /**
+     * Creates preview for message.
+     * @param message
+     * @return
+     */
+    public static MessagePreview of(Message message) {
+        return new MessagePreview(message, false);
+    }
+
+    /**
+     * Creates preview for plain message content.
+     * @param content
+     * @return
+     */
+    public static MessagePreview of(String content) {
+        return new MessagePreview(content, false);
+    }
+
+    /**
+     * Creates preview for XML message content that gets pretty printed before truncation.
+     * @param xml
+     * @return
+     */
+    public static MessagePreview prettyPrinted(String xml) {
+        return new MessagePreview(xml, true);
+    }
+
+    /**
+     * Gets the maximum preview size from system property.
+     * @return
+     */
+    public static int getPreviewSize() {
+        return Integer.getInteger(CitrusConstants.CITRUS_MESSAGE_PREVIEW_SIZE, DEFAULT_PREVIEW_SIZE);
+    }
+
+    /**
+     * Truncates text to maximum preview size.
+     * @param text
+     * @return
+     */
+    private static String truncate(String text) {
+        int previewSize = getPreviewSize();
+
+        if (previewSize <= 0 || text.length() <= previewSize) {
+            return text;
+        }
+
+        return text.substring(0, previewSize) + "... [" + (text.length() - previewSize) + " more characters]";
+    }
+
+    @Override
+    public String toString() {
+        if (content == null) {
+            return "";
+        }
+
+        if (content instanceof RawMessage) {
+            return truncate(((RawMessage) content).getPayload(String.class));
+        } else if (content instanceof Message) {
+            Message message = (Message) content;
+            String payload = truncate(message.getPayload(String.class).trim());
+
+            if (CollectionUtils.isEmpty(message.getHeaderData())) {
+                return String.format("%s [payload: %s][headers: %s]", message.getClass().getSimpleName().toUpperCase(), payload, message.copyHeaders());
+            } else {
+                return String.format("%s [payload: %s][headers: %s][header-data: %s]", message.getClass().getSimpleName().toUpperCase(), payload, message.copyHeaders(), message.getHeaderData());
+            }
+        }
+
+        return truncate(prettyPrint ? XMLUtils.prettyPrint(content.toString()) : content.toString());
+    }
+}
@@ -16,44 +16,75 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.RawMessage;
+import com.consol.citrus.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
- * 
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ *
+ * Messages are written asynchronously by a single trace writer thread. Test threads only put messages to a bounded
+ * queue and block only in case the trace writer is not able to keep up. Trace files are written incrementally so messages
+ * are not held in memory until the end of the test. On test finish the test thread waits for the trace writer to complete
+ * the trace file of that test, so traces are not lost when the application context is not closed properly. Messages are correlated to the test case with the test name variable
+ * in the current test context, so parallel test execution writes separate trace files per test.
+ *
+ * Optionally trace files are gzip compressed and rotated when exceeding a maximum file size.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, MessageListener {
+public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, DisposableBean, MessageListener {
     
     /** File ending for all message trace files */
     private static final String TRACE_FILE_ENDING = ".msgs";
 
+    /** File ending for compressed message trace files */
+    private static final String GZIP_FILE_ENDING = ".gz";
+
     /** Output directory */
     private Resource outputDirectory = new FileSystemResource("logs/trace/messages/");
-    
-    /** List of messages to trace */
-    private List<String> messages = new ArrayList<String>();
-    
-    /** Locking object for synchronization */
-    private Object lockObject = new Object();
+
+    /** Maximum number of pending trace entries before test threads are blocked */
+    private int queueCapacity = 1000;
+
+    /** Should compress trace files with gzip */
+    private boolean gzip = false;
+
+    /** Maximum trace file size in bytes before rotating to next file, zero or negative value disables rotation */
+    private long maxFileSize = 0;
+
+    /** Maximum time in milliseconds to wait on test finish for trace file to be written */
+    private long flushTimeout = 10000L;
+
+    /** Pending trace entries */
+    private BlockingQueue<TraceEntry> traceQueue;
+
+    /** Trace writer executor */
+    private ExecutorService traceWriter;
+
+    /** Name of test currently running, used for messages without test name in test context */
+    private volatile String currentTest = CitrusConstants.DEFAULT_TEST_NAME;
+
+    /** Marks end of trace queue */
+    private static final TraceEntry STOP = new TraceEntry(null, null, null);
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(MessageTracingTestListener.class);
@@ -63,9 +94,7 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
-        }
+        currentTest = test.getName();
     }
     
     /**
@@ -73,36 +102,16 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
-            return; // do not write empty message trace file
-        }
+        TraceEntry finish = new TraceEntry(test.getName(), null, null);
 
-        BufferedWriter writer = null;
-        
-        try {
-            Resource outputFile = outputDirectory.createRelative(test.getName() + TRACE_FILE_ENDING);
-            
-            writer = new BufferedWriter(new FileWriter(outputFile.getFile()));
-            
-            writer.write(separator() + newLine() + newLine());
-            
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
-                }
-            }
-            
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    log.error("Error while closing message trace file writer", e);
+        if (trace(finish)) {
+            try {
+                if (!finish.written.await(flushTimeout, TimeUnit.MILLISECONDS)) {
+                    log.warn("Timeout while waiting for message trace of test '" + test.getName() + "' to be written");
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for message trace to be written");
             }
         }
     }
@@ -110,19 +119,87 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace(new TraceEntry(getTestName(context), "INBOUND_MESSAGE:", message.toString()));
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
+            trace(new TraceEntry(getTestName(context), "OUTBOUND_MESSAGE:", message.toString()));
+        }
+    }
+
+    /**
+     * Adds trace entry to the trace queue. Blocks in case queue capacity is exceeded.
+     * @param entry
+     * @return true if entry was added to the queue.
+     */
+    private boolean trace(TraceEntry entry) {
+        start();
+
+        try {
+            traceQueue.put(entry);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while adding message trace entry");
+            return false;
+        }
+    }
+
+    /**
+     * Reads test name from test context variables. Falls back to currently running test.
+     * @param context
+     * @return
+     */
+    private String getTestName(TestContext context) {
+        if (context == null) {
+            return currentTest;
+        }
+
+        Object testName = context.getVariables().get(CitrusConstants.TEST_NAME_VARIABLE);
+        return testName != null ? testName.toString() : currentTest;
+    }
+
+    /**
+     * Starts trace writer if not already done.
+     */
+    private synchronized void start() {
+        if (traceWriter != null) {
+            return;
+        }
+
+        traceQueue = new ArrayBlockingQueue<TraceEntry>(queueCapacity);
+        traceWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "CitrusMessageTraceWriter");
+                thread.setDaemon(true);
+                return thread;
             }
+        });
+
+        traceWriter.execute(new TraceWriterTask(traceQueue));
+    }
+
+    /**
+     * Stops trace writer after all pending trace entries have been written.
+     * @throws InterruptedException
+     */
+    private synchronized void stop() throws InterruptedException {
+        if (traceWriter == null) {
+            return;
+        }
+
+        traceQueue.put(STOP);
+        traceWriter.shutdown();
+        if (!traceWriter.awaitTermination(60, TimeUnit.SECONDS)) {
+            log.warn("Timeout while waiting for message trace writer to finish");
+            traceWriter.shutdownNow();
         }
+
+        traceWriter = null;
     }
 
     /**
@@ -152,6 +229,15 @@ public class MessageTracingTestListener extends AbstractTestListener implements
                 throw new CitrusRuntimeException("Unable to create output directory structure for message tracing");
             }
         }
+
+        start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void destroy() throws Exception {
+        stop();
     }
 
     /**
@@ -161,5 +247,241 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     public void setOutputDirectory(Resource outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
-    
+
+    /**
+     * Sets the queue capacity.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Enables gzip compression of trace files.
+     * @param gzip
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Is gzip compression enabled.
+     * @return
+     */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Sets the maximum trace file size in bytes.
+     * @param maxFileSize
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Gets the maximum trace file size in bytes.
+     * @return
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds to wait on test finish for the trace file to be written.
+     * @param flushTimeout
+     */
+    public void setFlushTimeout(long flushTimeout) {
+        this.flushTimeout = flushTimeout;
+    }
+
+    /**
+     * Gets the flush timeout.
+     * @return
+     */
+    public long getFlushTimeout() {
+        return flushTimeout;
+    }
+
+    /**
+     * Single trace entry holding message content for a test. Entry without content marks the end of the test.
+     */
+    private static class TraceEntry {
+        private final String testName;
+        private final String direction;
+        private final String content;
+
+        /** Released when entry has been processed by trace writer */
+        private final CountDownLatch written = new CountDownLatch(1);
+
+        TraceEntry(String testName, String direction, String content) {
+            this.testName = testName;
+            this.direction = direction;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Task takes trace entries from queue and writes them to the trace file of the respective test.
+     */
+    private class TraceWriterTask implements Runnable {
+        private final BlockingQueue<TraceEntry> queue;
+        private final Map<String, TraceFile> traceFiles = new HashMap<String, TraceFile>();
+
+        TraceWriterTask(BlockingQueue<TraceEntry> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    TraceEntry entry = queue.take();
+
+                    if (entry == STOP) {
+                        break;
+                    }
+
+                    try {
+                        if (entry.content == null) {
+                            TraceFile traceFile = traceFiles.remove(entry.testName);
+                            if (traceFile != null) {
+                                traceFile.close();
+                            }
+                        } else {
+                            TraceFile traceFile = traceFiles.get(entry.testName);
+                            if (traceFile == null) {
+                                traceFile = new TraceFile(entry.testName);
+                                traceFiles.put(entry.testName, traceFile);
+                            }
+
+                            traceFile.write(entry.direction + newLine() + newLine() + format(entry.content));
+                        }
+                    } catch (IOException e) {
+                        log.error("Failed to write message trace to filesystem", e);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to write message trace", e);
+                    } finally {
+                        entry.written.countDown();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (TraceFile traceFile : traceFiles.values()) {
+                    traceFile.close();
+                }
+                traceFiles.clear();
+            }
+        }
+    }
+
+    /**
+     * Pretty prints XML message content. This is done by the trace writer so test threads do not have to
+     * parse message content for tracing.
+     * @param content
+     * @return
+     */
+    private String format(String content) {
+        if (content.trim().startsWith("<")) {
+            return XMLUtils.prettyPrint(content);
+        }
+
+        return content;
+    }
+
+    /**
+     * Trace file of a test. Rotates to next file when maximum file size is reached.
+     */
+    private class TraceFile {
+        private final String testName;
+        private int index = 0;
+        private int entries;
+        private CountingOutputStream counter;
+        private Writer writer;
+
+        TraceFile(String testName) throws IOException {
+            this.testName = testName;
+            open();
+        }
+
+        /**
+         * Writes message content followed by separator.
+         * @param content
+         * @throws IOException
+         */
+        void write(String content) throws IOException {
+            if (maxFileSize > 0 && entries > 0 && counter.getCount() >= maxFileSize) {
+                close();
+                index++;
+                open();
+            }
+
+            writer.write(content);
+            writer.write(newLine() + separator() + newLine() + newLine());
+            writer.flush();
+            entries++;
+        }
+
+        /**
+         * Opens new trace file for current index.
+         * @throws IOException
+         */
+        private void open() throws IOException {
+            String fileName = testName + (index > 0 ? "." + index : "") + TRACE_FILE_ENDING + (gzip ? GZIP_FILE_ENDING : "");
+            counter = new CountingOutputStream(new FileOutputStream(outputDirectory.createRelative(fileName).getFile()));
+
+            OutputStream outputStream = gzip ? new GZIPOutputStream(counter, true) : counter;
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream));
+            entries = 0;
+            writer.write(separator() + newLine() + newLine());
+        }
+
+        /**
+         * Close trace file quietly.
+         */
+        void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Error while closing message trace file writer", e);
+            }
+        }
+    }
+
+    /**
+     * Output stream counting the bytes written to the trace file.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
 }
@@ -197,7 +197,7 @@ public abstract class FileUtils {
      * this one otherwise use system default.
      * @return
      */
-    private static Charset getDefaultCharset() {
+    public static Charset getDefaultCharset() {
         return Charset.forName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING,
                     Charset.defaultCharset().displayName()));
     }
@@ -29,6 +29,7 @@ import org.w3c.dom.ls.*;
 import javax.xml.XMLConstants;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
 import java.util.*;
 
 /**
@@ -54,6 +55,33 @@ public final class XMLUtils {
     private static DOMImplementationRegistry registry = null;
     private static DOMImplementationLS domImpl = null;
 
+    /** User data key marking documents parsed from character data */
+    private static final String CHARACTER_INPUT = "citrus.character-input";
+
+    /** Thread confined parser for message payloads, reused as parsers reset their state on each parse */
+    private static final ThreadLocal<LSParser> payloadParser = new ThreadLocal<LSParser>() {
+        @Override
+        protected LSParser initialValue() {
+            return createPayloadParser();
+        }
+    };
+
+    /** Thread confined parser used for pretty printing */
+    private static final ThreadLocal<LSParser> prettyPrintParser = new ThreadLocal<LSParser>() {
+        @Override
+        protected LSParser initialValue() {
+            return createLSParser();
+        }
+    };
+
+    /** Thread confined serializer */
+    private static final ThreadLocal<LSSerializer> serializer = new ThreadLocal<LSSerializer>() {
+        @Override
+        protected LSSerializer initialValue() {
+            return createLSSerializer();
+        }
+    };
+
     static {
         try {
             registry = DOMImplementationRegistry.newInstance();
@@ -110,6 +138,52 @@ public final class XMLUtils {
         return serializer;
     }
 
+    /**
+     * Creates LSParser instance for message payload parsing with schema validation
+     * and resource resolver settings.
+     * @return
+     */
+    private static LSParser createPayloadParser() {
+        LSParser parser = createLSParser();
+        setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, true);
+        setParserConfigParameter(parser, RESOURCE_RESOLVER, new LSResolverImpl(domImpl));
+        setParserConfigParameter(parser, ELEMENT_CONTENT_WHITESPACE, false);
+
+        return parser;
+    }
+
+    /**
+     * Gets thread confined parser instance. In case the parser is busy because of
+     * nested parse operations a new parser instance is created.
+     * @param parserHolder
+     * @return
+     */
+    private static LSParser getParser(ThreadLocal<LSParser> parserHolder) {
+        LSParser parser = parserHolder.get();
+
+        if (parser.getBusy()) {
+            return parserHolder == payloadParser ? createPayloadParser() : createLSParser();
+        }
+
+        return parser;
+    }
+
+    /**
+     * Parses character data with given parser. Input is read directly from the string
+     * without intermediate byte encoding.
+     * @param parser
+     * @param xml
+     * @return
+     */
+    private static Document parse(LSParser parser, String xml) {
+        LSInput input = createLSInput();
+        input.setStringData(xml.trim());
+
+        Document doc = parser.parse(input);
+        doc.setUserData(CHARACTER_INPUT, Boolean.TRUE, null);
+        return doc;
+    }
+
     /**
      * Creates LSInput from dom implementation.
      * @return
@@ -248,7 +322,7 @@ public final class XMLUtils {
      * @return serialized XML string
      */
     public static String serialize(Document doc) {
-        LSSerializer serializer = createLSSerializer();
+        LSSerializer serializer = XMLUtils.serializer.get();
 
         LSOutput output = createLSOutput();
         String charset = getTargetCharset(doc).displayName();
@@ -269,21 +343,9 @@ public final class XMLUtils {
      * @return pretty printed XML string
      */
     public static String prettyPrint(String xml) {
-        LSParser parser = createLSParser();
-        LSInput input = createLSInput();
-
-        try {
-            Charset charset = getTargetCharset(xml);
-
-            input.setByteStream(new ByteArrayInputStream(xml.trim().getBytes(charset)));
-            input.setEncoding(charset.displayName());
-        } catch(UnsupportedEncodingException e) {
-            throw new CitrusRuntimeException(e);
-        }
-
         Document doc;
         try {
-            doc = parser.parse(input);
+            doc = parse(getParser(prettyPrintParser), xml);
         } catch (Exception e) {
             return xml;
         }
@@ -378,21 +440,14 @@ public final class XMLUtils {
      * @return DOM document.
      */
     public static Document parseMessagePayload(String messagePayload) {
-        LSParser parser = createLSParser();
-        setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, true);
-        setParserConfigParameter(parser, RESOURCE_RESOLVER, new LSResolverImpl(domImpl));
-        setParserConfigParameter(parser, ELEMENT_CONTENT_WHITESPACE, false);
-
-        LSInput receivedInput = createLSInput();
         try {
-            Charset charset = getTargetCharset(messagePayload);
-            receivedInput.setByteStream(new ByteArrayInputStream(messagePayload.trim().getBytes(charset)));
-            receivedInput.setEncoding(charset.displayName());
+            // fail early on unsupported encoding declarations as character input ignores declared encoding
+            getTargetCharset(messagePayload);
         } catch(UnsupportedEncodingException e) {
             throw new CitrusRuntimeException(e);
         }
 
-        return parser.parse(receivedInput);
+        return parse(getParser(payloadParser), messagePayload);
     }
 
     /**
@@ -406,7 +461,12 @@ public final class XMLUtils {
             return Charset.forName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING));
         }
 
-        if (doc.getInputEncoding() != null) {
+        if (doc.getXmlEncoding() != null) {
+            return Charset.forName(doc.getXmlEncoding());
+        }
+
+        // input encoding of documents parsed from character data is not meaningful
+        if (doc.getInputEncoding() != null && doc.getUserData(CHARACTER_INPUT) == null) {
             return Charset.forName(doc.getInputEncoding());
         }
 
@@ -425,16 +485,21 @@ public final class XMLUtils {
             return Charset.forName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING));
         }
 
-        // trim incoming payload
-        String payload = messagePayload.trim();
+        // skip leading whitespaces without copying the payload
+        int start = 0;
+        while (start < messagePayload.length() && Character.isWhitespace(messagePayload.charAt(start))) {
+            start++;
+        }
 
         char doubleQuote = '\"';
         char singleQuote = '\'';
-        // make sure pay load has an XML encoding string
-        if (payload.startsWith("<?xml") && payload.contains("encoding") && payload.contains("?>")) {
+        // make sure pay load has an XML declaration holding an encoding string
+        int declarationEnd = messagePayload.startsWith("<?xml", start) ? messagePayload.indexOf("?>", start) : -1;
+        int encodingStart = declarationEnd > 0 ? messagePayload.indexOf("encoding", start) : -1;
+        if (encodingStart > 0 && encodingStart < declarationEnd) {
 
             // extract only encoding part, as otherwise the rest of the complete pay load will be load
-            String encoding = payload.substring(payload.indexOf("encoding") + 8, payload.indexOf("?>"));
+            String encoding = messagePayload.substring(encodingStart + 8, declarationEnd);
 
             char quoteChar = doubleQuote;
             int idxDoubleQuote = encoding.indexOf(doubleQuote);
@@ -450,7 +515,7 @@ public final class XMLUtils {
             encoding = encoding.substring(0, encoding.indexOf(quoteChar));
 
             // check if it has a valid char set
-            if (!Charset.availableCharsets().containsKey(encoding)) {
+            if (!isSupportedCharset(encoding)) {
                 throw new UnsupportedEncodingException("Found unsupported encoding: '" + encoding + "'");
             }
             
@@ -462,6 +527,19 @@ public final class XMLUtils {
         return Charset.forName("UTF-8");
     }
 
+    /**
+     * Checks charset support without building the map of all available charsets.
+     * @param encoding
+     * @return
+     */
+    private static boolean isSupportedCharset(String encoding) {
+        try {
+            return Charset.isSupported(encoding);
+        } catch (IllegalCharsetNameException e) {
+            return false;
+        }
+    }
+
     /**
      * Sets a config parameter on LSParser instance if settable. Otherwise logging unset parameter.
      * @param serializer
@@ -23,7 +23,6 @@ import com.consol.citrus.validation.context.ValidationContext;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
@@ -117,23 +116,14 @@ public class ControlMessageValidator extends AbstractMessageValidator<ControlMes
                         continue;
                     }
                     
-                    Assert.isTrue(expectedValue != null,
-                            "Values not equal for header element '"
-                                + headerName + "', expected '"
-                                + null + "' but was '"
-                                + actualValue + "'");
+                    ValidationUtils.assertValueMatch(expectedValue != null,
+                            "Values not equal for header element", headerName, null, actualValue);
 
-                    Assert.isTrue(actualValue.equals(expectedValue),
-                            "Values not equal for header element '"
-                                + headerName + "', expected '"
-                                + expectedValue + "' but was '"
-                                + actualValue + "'");
+                    ValidationUtils.assertValueMatch(actualValue.equals(expectedValue),
+                            "Values not equal for header element", headerName, expectedValue, actualValue);
                 } else {
-                    Assert.isTrue(expectedValue == null || expectedValue.length() == 0,
-                            "Values not equal for header element '"
-                                + headerName + "', expected '"
-                                + expectedValue + "' but was '"
-                                + null + "'");
+                    ValidationUtils.assertValueMatch(expectedValue == null || expectedValue.length() == 0,
+                            "Values not equal for header element", headerName, expectedValue, null);
                 }
             } catch (IllegalArgumentException e) {
                 throw new ValidationException("Validation failed:", e);
@@ -40,4 +40,35 @@ public abstract class ValidationUtils {
     public static String buildValueMismatchErrorMessage(String baseMessage, Object controlValue, Object actualValue) {
         return baseMessage + ", expected '" + controlValue + "' but was '" + actualValue + "'";
     }
+
+    /**
+     * Asserts that control value and actual value match. Error message is only built in case of mismatch,
+     * so the successful validation path does not have to construct any message strings.
+     * @param matches the match result.
+     * @param baseMessage the base error message.
+     * @param controlValue the expected value.
+     * @param actualValue the actual value.
+     * @throws IllegalArgumentException in case values do not match
+     */
+    public static void assertValueMatch(boolean matches, String baseMessage, Object controlValue, Object actualValue) {
+        if (!matches) {
+            throw new IllegalArgumentException(buildValueMismatchErrorMessage(baseMessage, controlValue, actualValue));
+        }
+    }
+
+    /**
+     * Asserts that control value and actual value of named item (e.g. element, attribute, header) match.
+     * Item name is quoted and appended to base message only in case of mismatch.
+     * @param matches the match result.
+     * @param baseMessage the base error message.
+     * @param itemName the name of the validated item.
+     * @param controlValue the expected value.
+     * @param actualValue the actual value.
+     * @throws IllegalArgumentException in case values do not match
+     */
+    public static void assertValueMatch(boolean matches, String baseMessage, Object itemName, Object controlValue, Object actualValue) {
+        if (!matches) {
+            throw new IllegalArgumentException(buildValueMismatchErrorMessage(baseMessage + " '" + itemName + "'", controlValue, actualValue));
+        }
+    }
 }
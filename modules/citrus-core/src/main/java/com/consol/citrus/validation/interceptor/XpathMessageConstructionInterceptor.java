@@ -83,6 +83,7 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
             throw new CitrusRuntimeException("Not able to set message elements, because no XML ressource defined");
         }
 
+        SimpleNamespaceContext nsContext = null;
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = entry.getKey();
             String valueExpression = entry.getValue();
@@ -97,8 +98,11 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
 
             Node node;
             if (XPathUtils.isXPathExpression(pathExpression)) {
-                SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
-                nsContext.setBindings(XMLUtils.lookupNamespaces(message.getPayload().toString()));
+                if (nsContext == null) {
+                    nsContext = new SimpleNamespaceContext();
+                    nsContext.setBindings(XMLUtils.lookupNamespaces(message.getPayload().toString()));
+                }
+
                 node = XPathUtils.evaluateAsNode(doc, pathExpression, nsContext);
             } else {
                 node = XMLUtils.findNodeByName(doc, pathExpression);
@@ -114,20 +114,21 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
     @SuppressWarnings("rawtypes")
     public void validateJson(JSONObject receivedJson, JSONObject controlJson, TestContext context) {
         if (strict) {
-            Assert.isTrue(controlJson.size() == receivedJson.size(),
-                          ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal", controlJson.size(), receivedJson.size()));
+            ValidationUtils.assertValueMatch(controlJson.size() == receivedJson.size(),
+                    "Number of JSON entries not equal", controlJson.size(), receivedJson.size());
         }
         
         for (Iterator it = controlJson.entrySet().iterator(); it.hasNext();) {
             Map.Entry controlJsonEntry = (Map.Entry) it.next();
             
-            Assert.isTrue(receivedJson.containsKey(controlJsonEntry.getKey()), 
-                    "Missing JSON entry: + '" + controlJsonEntry.getKey() + "'");
+            if (!receivedJson.containsKey(controlJsonEntry.getKey())) {
+                throw new IllegalArgumentException("Missing JSON entry: + '" + controlJsonEntry.getKey() + "'");
+            }
             
             if (controlJsonEntry.getValue() == null) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) == null, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlJsonEntry.getKey() + "'", 
-                                controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey())));
+                ValidationUtils.assertValueMatch(receivedJson.get(controlJsonEntry.getKey()) == null,
+                        "Values not equal for entry:", controlJsonEntry.getKey(),
+                        controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey()));
                 
                 if (log.isDebugEnabled()) {
                     log.debug("Validation successful for JSON entry '" + controlJsonEntry.getKey() + "' (" + controlJsonEntry.getValue() + ")");
@@ -144,20 +145,20 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
             }
             
             if (ValidationMatcherUtils.isValidationMatcherExpression(controlJsonEntry.getValue().toString())) {
-                ValidationMatcherUtils.resolveValidationMatcher(controlJsonEntry.getKey().toString(), 
-                        receivedJson.get(controlJsonEntry.getKey()).toString(), 
-                        controlJsonEntry.getValue().toString(), context);
+                ValidationMatcherUtils.getValidationMatcherExpression(controlJsonEntry.getValue().toString())
+                        .validate(controlJsonEntry.getKey().toString(),
+                                receivedJson.get(controlJsonEntry.getKey()).toString(), context);
             } else if (controlJsonEntry.getValue() instanceof JSONObject) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONObject, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlJsonEntry.getKey() + "'", 
-                                JSONObject.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName()));
+                ValidationUtils.assertValueMatch(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONObject,
+                        "Type mismatch for JSON entry", controlJsonEntry.getKey(),
+                        JSONObject.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName());
                 
                 validateJson((JSONObject) receivedJson.get(controlJsonEntry.getKey()), 
                              (JSONObject) controlJsonEntry.getValue(), context);
             } else if (controlJsonEntry.getValue() instanceof JSONArray) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONArray, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlJsonEntry.getKey() + "'", 
-                                JSONArray.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName()));
+                ValidationUtils.assertValueMatch(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONArray,
+                        "Type mismatch for JSON entry", controlJsonEntry.getKey(),
+                        JSONArray.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName());
                 
                 JSONArray jsonArrayControl = (JSONArray) controlJsonEntry.getValue();
                 JSONArray jsonArrayReceived = (JSONArray) receivedJson.get(controlJsonEntry.getKey());
@@ -167,28 +168,28 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
                 }
 
                 if (strict) {
-                    Assert.isTrue(jsonArrayControl.size() == jsonArrayReceived.size(),
-                                  ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlJsonEntry.getKey() + "'",
-                                                                                 jsonArrayControl.size(), jsonArrayReceived.size()));
+                    ValidationUtils.assertValueMatch(jsonArrayControl.size() == jsonArrayReceived.size(),
+                            "JSONArray size mismatch for JSON entry", controlJsonEntry.getKey(),
+                            jsonArrayControl.size(), jsonArrayReceived.size());
                 }
                 for (int i = 0; i < jsonArrayControl.size(); i++) {
                     if (jsonArrayControl.get(i).getClass().isAssignableFrom(JSONObject.class)) {
-                        Assert.isTrue(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class), 
-                                ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(i) + "'",
-                                        JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName()));
+                        ValidationUtils.assertValueMatch(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class),
+                                "Value types not equal for entry:", jsonArrayControl.get(i),
+                                JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName());
                         
                         validateJson((JSONObject) jsonArrayReceived.get(i),
                                 (JSONObject) jsonArrayControl.get(i), context);
                     } else {
-                        Assert.isTrue(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
-                                ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(i) + "'", 
-                                        jsonArrayControl.get(i), jsonArrayReceived.get(i)));
+                        ValidationUtils.assertValueMatch(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
+                                "Values not equal for entry:", jsonArrayControl.get(i),
+                                jsonArrayControl.get(i), jsonArrayReceived.get(i));
                     }
                 }
             } else {
-                Assert.isTrue(controlJsonEntry.getValue().equals(receivedJson.get(controlJsonEntry.getKey())), 
-                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlJsonEntry.getKey() + "'", 
-                                controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey())));
+                ValidationUtils.assertValueMatch(controlJsonEntry.getValue().equals(receivedJson.get(controlJsonEntry.getKey())),
+                        "Values not equal for entry:", controlJsonEntry.getKey(),
+                        controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey()));
             }
             
             if (log.isDebugEnabled()) {
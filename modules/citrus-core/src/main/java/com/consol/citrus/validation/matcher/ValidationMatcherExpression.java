@@ -0,0 +1,201 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.validation.matcher;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.variable.VariableUtils;
+
+/**
+ * Parsed validation matcher expression such as <code>@foo:matcherName('value')@</code>. Expression is parsed
+ * once into library prefix, matcher name and matcher value so the very same invocation object can be reused
+ * for all fields carrying this expression. Matcher values without any variable or function usage are resolved
+ * at parse time, the validation matcher instance is cached per validation matcher registry.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class ValidationMatcherExpression {
+
+    /** Validation matcher library prefix */
+    private final String prefix;
+
+    /** Validation matcher name */
+    private final String matcherName;
+
+    /** Raw matcher value as given in expression */
+    private final String matcherValue;
+
+    /** Resolved matcher value when no variables or functions are used, otherwise null */
+    private final String staticMatcherValue;
+
+    /** Last resolved validation matcher together with its registry */
+    private volatile ResolvedMatcher resolvedMatcher;
+
+    /**
+     * Constructor parsing validation matcher expression.
+     * @param validationMatcherExpression
+     */
+    private ValidationMatcherExpression(String validationMatcherExpression) {
+        String expression = VariableUtils.cutOffVariablesPrefix(cutOffValidationMatchersPrefix(validationMatcherExpression));
+
+        int bodyStart = expression.indexOf('(');
+
+        String libraryPrefix = "";
+        if (expression.indexOf(':') > 0 && expression.indexOf(':') < bodyStart) {
+            libraryPrefix = expression.substring(0, expression.indexOf(':') + 1);
+        }
+
+        this.prefix = libraryPrefix;
+        this.matcherValue = expression.substring(bodyStart + 1, expression.length() - 1);
+        this.matcherName = expression.substring(prefix.length(), bodyStart);
+
+        if (isDynamicValue(matcherValue)) {
+            this.staticMatcherValue = null;
+        } else {
+            this.staticMatcherValue = cutOffQuotes(matcherValue);
+        }
+    }
+
+    /**
+     * Parses validation matcher expression.
+     * @param validationMatcherExpression
+     * @return
+     */
+    public static ValidationMatcherExpression parse(String validationMatcherExpression) {
+        return new ValidationMatcherExpression(validationMatcherExpression);
+    }
+
+    /**
+     * Validates field value with this validation matcher expression.
+     * @param fieldName the name of the field
+     * @param fieldValue the received field value
+     * @param context the current test context
+     */
+    public void validate(String fieldName, String fieldValue, TestContext context) {
+        getValidationMatcher(context.getValidationMatcherRegistry())
+                .validate(fieldName, fieldValue, resolveMatcherValue(context), context);
+    }
+
+    /**
+     * Gets validation matcher from registry. Reuses last resolved matcher as long as the
+     * registry instance stays the same.
+     * @param registry
+     * @return
+     */
+    private ValidationMatcher getValidationMatcher(ValidationMatcherRegistry registry) {
+        ResolvedMatcher resolved = resolvedMatcher;
+        if (resolved == null || resolved.registry != registry) {
+            resolved = new ResolvedMatcher(registry,
+                    registry.getLibraryForPrefix(prefix).getValidationMatcher(matcherName));
+            resolvedMatcher = resolved;
+        }
+
+        return resolved.matcher;
+    }
+
+    /**
+     * Resolves matcher value replacing variables and functions if necessary.
+     * @param context
+     * @return
+     */
+    private String resolveMatcherValue(TestContext context) {
+        if (staticMatcherValue != null) {
+            return staticMatcherValue;
+        }
+
+        String value = VariableUtils.replaceVariablesInString(matcherValue, context, false);
+        value = FunctionUtils.replaceFunctionsInString(value, context);
+        return cutOffQuotes(value);
+    }
+
+    /**
+     * Checks if matcher value may hold variables or functions that need to be resolved at validation time.
+     * Same checks as done by variable and function replacement utilities.
+     * @param value
+     * @return
+     */
+    private static boolean isDynamicValue(String value) {
+        return value.contains(CitrusConstants.VARIABLE_PREFIX) ||
+                (value.indexOf(':') >= 0 && value.indexOf('(') >= 0 && value.indexOf(')') >= 0);
+    }
+
+    /**
+     * Cut off single quotes surrounding matcher value.
+     * @param value
+     * @return
+     */
+    private static String cutOffQuotes(String value) {
+        if (value.startsWith("\'") && value.endsWith("\'")) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    /**
+     * Cut off validation matchers prefix and suffix.
+     * @param expression
+     * @return
+     */
+    private static String cutOffValidationMatchersPrefix(String expression) {
+        if (expression.startsWith(CitrusConstants.VALIDATION_MATCHER_PREFIX) && expression.endsWith(CitrusConstants.VALIDATION_MATCHER_SUFFIX)) {
+            return expression.substring(CitrusConstants.VALIDATION_MATCHER_PREFIX.length(), expression.length() - CitrusConstants.VALIDATION_MATCHER_SUFFIX.length());
+        }
+
+        return expression;
+    }
+
+    /**
+     * Gets the library prefix.
+     * @return
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Gets the validation matcher name.
+     * @return
+     */
+    public String getMatcherName() {
+        return matcherName;
+    }
+
+    /**
+     * Gets the raw matcher value.
+     * @return
+     */
+    public String getMatcherValue() {
+        return matcherValue;
+    }
+
+    /**
+     * Validation matcher resolved from registry.
+     */
+    private static final class ResolvedMatcher {
+        private final ValidationMatcherRegistry registry;
+        private final ValidationMatcher matcher;
+
+        private ResolvedMatcher(ValidationMatcherRegistry registry, ValidationMatcher matcher) {
+            this.registry = registry;
+            this.matcher = matcher;
+        }
+    }
+}
@@ -18,8 +18,9 @@ package com.consol.citrus.validation.matcher;
 
 import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.functions.FunctionUtils;
-import com.consol.citrus.variable.VariableUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for validation matchers.
@@ -28,6 +29,12 @@ import com.consol.citrus.variable.VariableUtils;
  */
 public final class ValidationMatcherUtils {
 
+    /** Maximum number of cached parsed expressions */
+    private static final int EXPRESSION_CACHE_SIZE = 1000;
+
+    /** Parsed validation matcher expressions */
+    private static final Map<String, ValidationMatcherExpression> expressionCache = new ConcurrentHashMap<String, ValidationMatcherExpression>();
+
     /**
      * Prevent class instantiation.
      */
@@ -41,27 +48,29 @@ public final class ValidationMatcherUtils {
      */
     public static void resolveValidationMatcher(String fieldName, String fieldValue, 
             String validationMatcherExpression, TestContext context) {
-        String expression = VariableUtils.cutOffVariablesPrefix(cutOffValidationMatchersPrefix(validationMatcherExpression));
-        
-        int bodyStart = expression.indexOf('(');
-        
-        String prefix = "";
-        if (expression.indexOf(':') > 0 && expression.indexOf(':') < bodyStart) {
-            prefix = expression.substring(0, expression.indexOf(':') + 1);
-        }
+        getValidationMatcherExpression(validationMatcherExpression).validate(fieldName, fieldValue, context);
+    }
 
-        String matcherValue = expression.substring(bodyStart + 1, expression.length() - 1);
-        String matcherName = expression.substring(prefix.length(), bodyStart);
+    /**
+     * Gets parsed validation matcher expression. Parsed expressions are cached so repeating
+     * control values are parsed only once.
+     * @param validationMatcherExpression to parse.
+     * @return parsed expression ready for validation
+     */
+    public static ValidationMatcherExpression getValidationMatcherExpression(String validationMatcherExpression) {
+        ValidationMatcherExpression expression = expressionCache.get(validationMatcherExpression);
 
-        ValidationMatcherLibrary library = context.getValidationMatcherRegistry().getLibraryForPrefix(prefix);
+        if (expression == null) {
+            expression = ValidationMatcherExpression.parse(validationMatcherExpression);
 
-        matcherValue = VariableUtils.replaceVariablesInString(matcherValue, context, false);
-        matcherValue = FunctionUtils.replaceFunctionsInString(matcherValue, context);
-        if (matcherValue.startsWith("\'") && matcherValue.endsWith("\'")) {
-            matcherValue = matcherValue.substring(1, matcherValue.length() - 1);
+            if (expressionCache.size() >= EXPRESSION_CACHE_SIZE) {
+                expressionCache.clear();
+            }
+
+            expressionCache.put(validationMatcherExpression, expression);
         }
 
-        library.getValidationMatcher(matcherName).validate(fieldName, fieldValue, matcherValue, context);
+        return expression;
     }
     
     /**
@@ -73,17 +82,4 @@ public final class ValidationMatcherUtils {
         return expression.startsWith(CitrusConstants.VALIDATION_MATCHER_PREFIX) &&
                 expression.endsWith(CitrusConstants.VALIDATION_MATCHER_SUFFIX);
     }
-    
-    /**
-     * Cut off validation matchers prefix and suffix.
-     * @param expression
-     * @return
-     */
-    private static String cutOffValidationMatchersPrefix(String expression) {
-        if (expression.startsWith(CitrusConstants.VALIDATION_MATCHER_PREFIX) && expression.endsWith(CitrusConstants.VALIDATION_MATCHER_SUFFIX)) {
-            return expression.substring(CitrusConstants.VALIDATION_MATCHER_PREFIX.length(), expression.length() - CitrusConstants.VALIDATION_MATCHER_SUFFIX.length());
-        }
-
-        return expression;
-    }
 }
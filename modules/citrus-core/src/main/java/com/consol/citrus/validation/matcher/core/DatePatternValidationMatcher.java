@@ -22,7 +22,8 @@ import com.consol.citrus.validation.matcher.ValidationMatcher;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.regex.PatternSyntaxException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * ValidationMatcher checking for valid date format.
@@ -31,11 +32,22 @@ import java.util.regex.PatternSyntaxException;
  */
 public class DatePatternValidationMatcher implements ValidationMatcher {
 
+    /** Maximum number of cached date formats per thread */
+    private static final int FORMAT_CACHE_SIZE = 100;
+
+    /** Date formats by pattern, date formats are not thread safe so cache is held per thread */
+    private final ThreadLocal<Map<String, SimpleDateFormat>> formatCache = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+        @Override
+        protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<String, SimpleDateFormat>();
+        }
+    };
+
     public void validate(String fieldName, String value, String control, TestContext context) throws ValidationException {
     	SimpleDateFormat dateFormat;
     	try {
-    		dateFormat = new SimpleDateFormat(control);
-    	} catch (PatternSyntaxException e) {
+    		dateFormat = getDateFormat(control);
+    	} catch (IllegalArgumentException e) {
     		throw new ValidationException(this.getClass().getSimpleName()
                     + " failed for field '" + fieldName + "' " + 
                     ". Found invalid date format", e);
@@ -49,4 +61,26 @@ public class DatePatternValidationMatcher implements ValidationMatcher {
                     + "', expected date format is '" + control + "'", e);
 		}
     }
+
+    /**
+     * Gets date format for pattern from current thread's cache.
+     * @param pattern
+     * @return
+     */
+    private SimpleDateFormat getDateFormat(String pattern) {
+        Map<String, SimpleDateFormat> dateFormats = formatCache.get();
+        SimpleDateFormat dateFormat = dateFormats.get(pattern);
+
+        if (dateFormat == null) {
+            dateFormat = new SimpleDateFormat(pattern);
+
+            if (dateFormats.size() >= FORMAT_CACHE_SIZE) {
+                dateFormats.clear();
+            }
+
+            dateFormats.put(pattern, dateFormat);
+        }
+
+        return dateFormat;
+    }
 }
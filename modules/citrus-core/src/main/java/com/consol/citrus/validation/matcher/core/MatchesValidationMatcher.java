@@ -20,6 +20,9 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.validation.matcher.ValidationMatcher;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 /**
@@ -29,11 +32,17 @@ import java.util.regex.PatternSyntaxException;
  */
 public class MatchesValidationMatcher implements ValidationMatcher {
 
+    /** Maximum number of cached compiled patterns */
+    private static final int PATTERN_CACHE_SIZE = 500;
+
+    /** Compiled patterns by regular expression */
+    private final Map<String, Pattern> patternCache = new ConcurrentHashMap<String, Pattern>();
+
     public void validate(String fieldName, String value, String control, TestContext context) throws ValidationException {
     	boolean success;
 
     	try {
-    		success = value.matches(control);
+    		success = getPattern(control).matcher(value).matches();
     	} catch (PatternSyntaxException e) {
     		throw new ValidationException(this.getClass().getSimpleName()
                     + " failed for field '" + fieldName
@@ -47,4 +56,26 @@ public class MatchesValidationMatcher implements ValidationMatcher {
                     + "', control value is '" + control + "'");
         }
     }
+
+    /**
+     * Gets compiled pattern for regular expression. Compiled patterns are immutable
+     * and thread safe so they are cached and shared.
+     * @param regex
+     * @return
+     */
+    private Pattern getPattern(String regex) {
+        Pattern pattern = patternCache.get(regex);
+
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+
+            if (patternCache.size() >= PATTERN_CACHE_SIZE) {
+                patternCache.clear();
+            }
+
+            patternCache.put(regex, pattern);
+        }
+
+        return pattern;
+    }
 }
@@ -17,7 +17,6 @@
 package com.consol.citrus.validation.text;
 
 import com.consol.citrus.message.Message;
-import org.springframework.util.Assert;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
@@ -59,9 +58,10 @@ public class PlainTextMessageValidator extends ControlMessageValidator {
      * @param controlMessagePayload
      */
     private void validateText(String receivedMessagePayload, String controlMessagePayload) {
-        Assert.isTrue(receivedMessagePayload.equals(controlMessagePayload),
-                "Plain text values not equal, expected '" + controlMessagePayload + "' " +
-                		"but was '" + receivedMessagePayload + "'");
+        if (!receivedMessagePayload.equals(controlMessagePayload)) {
+            throw new IllegalArgumentException("Plain text values not equal, expected '" + controlMessagePayload + "' " +
+                    "but was '" + receivedMessagePayload + "'");
+        }
     }
 
     @Override
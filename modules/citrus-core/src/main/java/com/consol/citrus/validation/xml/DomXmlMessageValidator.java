@@ -126,14 +126,22 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         } catch (LSException e) {
             throw new CitrusRuntimeException(e);
         } catch (IllegalArgumentException e) {
-            log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload().toString()));
+            logFailedMessage(receivedMessage);
             throw new ValidationException("Validation failed:", e);
         } catch (ValidationException ex) {
-            log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload().toString()));
+            logFailedMessage(receivedMessage);
             throw ex;
         }
     }
 
+    /**
+     * Logs received message payload after failed validation.
+     * @param receivedMessage
+     */
+    protected void logFailedMessage(Message receivedMessage) {
+        log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload().toString()));
+    }
+
     /**
      * Validates the message header comparing a control set of header
      * elements with the actual message header.
@@ -167,6 +175,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload().toString());
         NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(
                 receivedMessage, validationContext.getNamespaces());
+        Set<Node> ignoredNodes = resolveIgnoredNodes(received, validationContext, namespaceContext);
 
         for (Entry<String, String> entry : validationContext.getPathValidationExpressions().entrySet()) {
             String elementPathExpression = entry.getKey();
@@ -182,11 +191,9 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
                 //Give ignore elements the chance to prevent the validation in case result type is node
                 if (resultType.equals(XPathExpressionResult.NODE) &&
-                        isNodeIgnored(XPathUtils.evaluateAsNode(received,
+                        ignoredNodes.contains(XPathUtils.evaluateAsNode(received,
                                 elementPathExpression,
-                                namespaceContext),
-                                validationContext,
-                                namespaceContext)) {
+                                namespaceContext))) {
                     continue;
                 }
 
@@ -202,7 +209,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                             "Element ' " + elementPathExpression + "' could not be found in DOM tree");
                 }
 
-                if (isNodeIgnored(node, validationContext, namespaceContext)) {
+                if (ignoredNodes.contains(node)) {
                     continue;
                 }
 
@@ -252,65 +259,11 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
             log.info("Starting XML schema validation ...");
 
-            XmlValidator validator = null;
-            XsdSchemaRepository schemaRepository = null;
-            if (validationContext.getSchema() != null) {
-                validator = applicationContext.getBean(validationContext.getSchema(), XsdSchema.class).createValidator();
-            } else if (validationContext.getSchemaRepository() != null) {
-                schemaRepository = applicationContext.getBean(validationContext.getSchemaRepository(), XsdSchemaRepository.class);
-            } else if (schemaRepositories.size() == 1) {
-                schemaRepository = schemaRepositories.get(0);
-            } else if (schemaRepositories.size() > 0) {
-                for (XsdSchemaRepository repository : schemaRepositories) {
-                    if (repository.canValidate(doc)) {
-                        schemaRepository = repository;
-                    }
-                }
-                
-                if (schemaRepository == null) {
-                    throw new CitrusRuntimeException(String.format("Failed to find proper schema repository in Spring bean context for validating element '%s(%s)'",
-                            doc.getFirstChild().getLocalName(), doc.getFirstChild().getNamespaceURI()));
-                }
-            } else {
-                log.warn("Neither schema instance nor schema repository defined - skipping XML schema validation");
+            XmlValidator validator = findSchemaValidator(doc, validationContext);
+            if (validator == null) {
                 return;
             }
-            
-            if (schemaRepository != null) {
-                if (!schemaRepository.canValidate(doc)) {
-                    throw new CitrusRuntimeException(String.format("Unable to find proper XML schema definition for element '%s(%s)' in schema repository '%s'",
-                            doc.getFirstChild().getLocalName(),
-                            doc.getFirstChild().getNamespaceURI(),
-                            schemaRepository.getName()));
-                }
-
-                List<Resource> schemas = new ArrayList<Resource>();
 
-                for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
-                    if (xsdSchema instanceof MultiResourceXsdSchema) {
-                        for (Resource resource : ((MultiResourceXsdSchema) xsdSchema).getSchemas()) {
-                            schemas.add(resource);
-                        }                            
-                    } else if (xsdSchema instanceof WsdlXsdSchema) {
-                        for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemas()) {
-                            schemas.add(resource);
-                        }
-                    } else {
-                        synchronized (transformerFactory) {
-                            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                            try {
-                                transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
-                            } catch (TransformerException e) {
-                                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
-                            }
-                            schemas.add(new ByteArrayResource(bos.toByteArray()));
-                        }
-                    }
-                }
-                
-                validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
-            }
-            
             SAXParseException[] results = validator.validate(new DOMSource(doc));
             if (results.length == 0) {
                 log.info("Schema of received XML validated OK");
@@ -336,6 +289,80 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Finds XML validator for the given document. Schema repositories are selected based on the
+     * document root element so the document does not have to hold the complete message content.
+     * Returns null in case neither schema instance nor schema repository is defined.
+     *
+     * @param doc
+     * @param validationContext
+     * @return
+     * @throws IOException
+     * @throws SAXException
+     */
+    protected XmlValidator findSchemaValidator(Document doc, XmlMessageValidationContext validationContext) throws IOException, SAXException {
+        XmlValidator validator = null;
+        XsdSchemaRepository schemaRepository = null;
+        if (validationContext.getSchema() != null) {
+            validator = applicationContext.getBean(validationContext.getSchema(), XsdSchema.class).createValidator();
+        } else if (validationContext.getSchemaRepository() != null) {
+            schemaRepository = applicationContext.getBean(validationContext.getSchemaRepository(), XsdSchemaRepository.class);
+        } else if (schemaRepositories.size() == 1) {
+            schemaRepository = schemaRepositories.get(0);
+        } else if (schemaRepositories.size() > 0) {
+            for (XsdSchemaRepository repository : schemaRepositories) {
+                if (repository.canValidate(doc)) {
+                    schemaRepository = repository;
+                }
+            }
+            
+            if (schemaRepository == null) {
+                throw new CitrusRuntimeException(String.format("Failed to find proper schema repository in Spring bean context for validating element '%s(%s)'",
+                        doc.getFirstChild().getLocalName(), doc.getFirstChild().getNamespaceURI()));
+            }
+        } else {
+            log.warn("Neither schema instance nor schema repository defined - skipping XML schema validation");
+            return null;
+        }
+        
+        if (schemaRepository != null) {
+            if (!schemaRepository.canValidate(doc)) {
+                throw new CitrusRuntimeException(String.format("Unable to find proper XML schema definition for element '%s(%s)' in schema repository '%s'",
+                        doc.getFirstChild().getLocalName(),
+                        doc.getFirstChild().getNamespaceURI(),
+                        schemaRepository.getName()));
+            }
+
+            List<Resource> schemas = new ArrayList<Resource>();
+
+            for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
+                if (xsdSchema instanceof MultiResourceXsdSchema) {
+                    for (Resource resource : ((MultiResourceXsdSchema) xsdSchema).getSchemas()) {
+                        schemas.add(resource);
+                    }                            
+                } else if (xsdSchema instanceof WsdlXsdSchema) {
+                    for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemas()) {
+                        schemas.add(resource);
+                    }
+                } else {
+                    synchronized (transformerFactory) {
+                        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                        try {
+                            transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
+                        } catch (TransformerException e) {
+                            throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+                        }
+                        schemas.add(new ByteArrayResource(bos.toByteArray()));
+                    }
+                }
+            }
+            
+            validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+        }
+
+        return validator;
+    }
+
     /**
      * Validate namespaces in message. The method compares namespace declarations in the root
      * element of the received message to expected namespaces. Prefixes are important too, so
@@ -391,8 +418,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             log.debug("Validating element: " + received.getLocalName() + " (" + received.getNamespaceURI() + ")");
         }
 
-        Assert.isTrue(received.getLocalName().equals(source.getLocalName()),
-                ValidationUtils.buildValueMismatchErrorMessage("Element names not equal", source.getLocalName(), received.getLocalName()));
+        ValidationUtils.assertValueMatch(received.getLocalName().equals(source.getLocalName()),
+                "Element names not equal", source.getLocalName(), received.getLocalName());
     }
 
     private void doElementNamespaceValidation(Node received, Node source) {
@@ -402,17 +429,17 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
 
         if (received.getNamespaceURI() != null) {
-            Assert.isTrue(source.getNamespaceURI() != null,
-                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
-                        received.getLocalName() + "'", null, received.getNamespaceURI()));
+            ValidationUtils.assertValueMatch(source.getNamespaceURI() != null,
+                    "Element namespace not equal for element", received.getLocalName(),
+                    null, received.getNamespaceURI());
 
-            Assert.isTrue(received.getNamespaceURI().equals(source.getNamespaceURI()),
-                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
-                    received.getLocalName() + "'", source.getNamespaceURI(), received.getNamespaceURI()));
+            ValidationUtils.assertValueMatch(received.getNamespaceURI().equals(source.getNamespaceURI()),
+                    "Element namespace not equal for element", received.getLocalName(),
+                    source.getNamespaceURI(), received.getNamespaceURI());
         } else {
-            Assert.isTrue(source.getNamespaceURI() == null,
-                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
-                    received.getLocalName() + "'", source.getNamespaceURI(), null));
+            ValidationUtils.assertValueMatch(source.getNamespaceURI() == null,
+                    "Element namespace not equal for element", received.getLocalName(),
+                    source.getNamespaceURI(), null);
         }
     }
 
@@ -461,8 +488,9 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             log.debug("Control message:\n" + XMLUtils.serialize(source));
         }
 
-        validateXmlTree(received, source, validationContext, namespaceContextBuilder.buildContext(
-                receivedMessage, validationContext.getNamespaces()), context);
+        NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(receivedMessage, validationContext.getNamespaces());
+        validateXmlTree(received, source, validationContext,
+                resolveIgnoredNodes(received, validationContext, namespaceContext), context);
     }
     
     /**
@@ -487,9 +515,9 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             log.debug("Control header data:\n" + XMLUtils.serialize(source));
         }
 
-        validateXmlTree(received, source, validationContext, 
-                namespaceContextBuilder.buildContext(new DefaultMessage(receivedHeaderData), validationContext.getNamespaces()),
-                context);
+        NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(new DefaultMessage(receivedHeaderData), validationContext.getNamespaces());
+        validateXmlTree(received, source, validationContext,
+                resolveIgnoredNodes(received, validationContext, namespaceContext), context);
         
     }
 
@@ -499,19 +527,20 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
      * @param received
      * @param source
      * @param validationContext
+     * @param ignoredNodes
      */
     private void validateXmlTree(Node received, Node source, 
-            XmlMessageValidationContext validationContext, NamespaceContext namespaceContext, TestContext context) {
+            XmlMessageValidationContext validationContext, Set<Node> ignoredNodes, TestContext context) {
         switch(received.getNodeType()) {
             case Node.DOCUMENT_TYPE_NODE:
-                doDocumentTypeDefinition(received, source, validationContext, namespaceContext, context);
+                doDocumentTypeDefinition(received, source, validationContext, ignoredNodes, context);
                 break;
             case Node.DOCUMENT_NODE:
                 validateXmlTree(received.getFirstChild(), source.getFirstChild(),
-                        validationContext, namespaceContext, context);
+                        validationContext, ignoredNodes, context);
                 break;
             case Node.ELEMENT_NODE:
-                doElement(received, source, validationContext, namespaceContext, context);
+                doElement(received, source, validationContext, ignoredNodes, context);
                 break;
             case Node.TEXT_NODE: case Node.CDATA_SECTION_NODE:
                 doText(received, source);
@@ -532,11 +561,11 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
      * @param received
      * @param source
      * @param validationContext
-     * @param namespaceContext
+     * @param ignoredNodes
      */
     private void doDocumentTypeDefinition(Node received, Node source,
             XmlMessageValidationContext validationContext,
-            NamespaceContext namespaceContext, TestContext context) {
+            Set<Node> ignoredNodes, TestContext context) {
 
         Assert.isTrue(source instanceof DocumentType, "Missing document type definition in expected xml fragment");
 
@@ -558,10 +587,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                         "' is ignored by placeholder '" + CitrusConstants.IGNORE_PLACEHOLDER + "'");
             }
         } else {
-            Assert.isTrue(StringUtils.hasText(receivedDTD.getPublicId()) &&
-                    receivedDTD.getPublicId().equals(sourceDTD.getPublicId()),
-                    ValidationUtils.buildValueMismatchErrorMessage("Document type public id not equal",
-                    sourceDTD.getPublicId(), receivedDTD.getPublicId()));
+            ValidationUtils.assertValueMatch(StringUtils.hasText(receivedDTD.getPublicId()) && receivedDTD.getPublicId().equals(sourceDTD.getPublicId()),
+                    "Document type public id not equal", sourceDTD.getPublicId(), receivedDTD.getPublicId());
         }
 
         if (!StringUtils.hasText(sourceDTD.getSystemId())) {
@@ -574,14 +601,12 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                         "' is ignored by placeholder '" + CitrusConstants.IGNORE_PLACEHOLDER + "'");
             }
         } else {
-            Assert.isTrue(StringUtils.hasText(receivedDTD.getSystemId()) &&
-                    receivedDTD.getSystemId().equals(sourceDTD.getSystemId()),
-                    ValidationUtils.buildValueMismatchErrorMessage("Document type system id not equal",
-                    sourceDTD.getSystemId(), receivedDTD.getSystemId()));
+            ValidationUtils.assertValueMatch(StringUtils.hasText(receivedDTD.getSystemId()) && receivedDTD.getSystemId().equals(sourceDTD.getSystemId()),
+                    "Document type system id not equal", sourceDTD.getSystemId(), receivedDTD.getSystemId());
         }
 
         validateXmlTree(received.getNextSibling(),
-                source.getNextSibling(), validationContext, namespaceContext, context);
+                source.getNextSibling(), validationContext, ignoredNodes, context);
     }
 
     /**
@@ -592,14 +617,14 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
      * @param validationContext
      */
     private void doElement(Node received, Node source,
-            XmlMessageValidationContext validationContext, NamespaceContext namespaceContext, TestContext context) {
+            XmlMessageValidationContext validationContext, Set<Node> ignoredNodes, TestContext context) {
 
         doElementNameValidation(received, source);
 
         doElementNamespaceValidation(received, source);
 
         //check if element is ignored either by xpath or by ignore placeholder in source message
-        if(isElementNodeIgnored(source, received, validationContext, namespaceContext)) {
+        if(isElementNodeIgnored(source, received, ignoredNodes)) {
             return;
         }
 
@@ -610,20 +635,21 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         NamedNodeMap receivedAttr = received.getAttributes();
         NamedNodeMap sourceAttr = source.getAttributes();
 
-        Assert.isTrue(countAttributes(receivedAttr) == countAttributes(sourceAttr),
-                ValidationUtils.buildValueMismatchErrorMessage("Number of attributes not equal for element '"
-                        + received.getLocalName() + "'", countAttributes(sourceAttr), countAttributes(receivedAttr)));
+        int receivedAttrCount = countAttributes(receivedAttr);
+        int sourceAttrCount = countAttributes(sourceAttr);
+        ValidationUtils.assertValueMatch(receivedAttrCount == sourceAttrCount,
+                "Number of attributes not equal for element", received.getLocalName(),
+                sourceAttrCount, receivedAttrCount);
 
         for (int i = 0; i < receivedAttr.getLength(); i++) {
-            doAttribute(received, receivedAttr.item(i), source, validationContext, namespaceContext, context);
+            doAttribute(received, receivedAttr.item(i), source, validationContext, ignoredNodes, context);
         }
 
         //check if validation matcher on element is specified
         if (isValidationMatcherExpression(source)) {
-            ValidationMatcherUtils.resolveValidationMatcher(source.getNodeName(),
-                    received.getFirstChild().getNodeValue().trim(),
-                    source.getFirstChild().getNodeValue().trim(),
-                    context);
+            ValidationMatcherUtils.getValidationMatcherExpression(source.getFirstChild().getNodeValue().trim())
+                    .validate(source.getNodeName(),
+                            received.getFirstChild().getNodeValue().trim(), context);
             return;
         }
 
@@ -631,13 +657,13 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         NodeList receivedChilds = received.getChildNodes();
         NodeList sourceChilds = source.getChildNodes();
 
-        Assert.isTrue(receivedChilds.getLength() == sourceChilds.getLength(),
-                ValidationUtils.buildValueMismatchErrorMessage("Number of child elements not equal for element '"
-                    + received.getLocalName() + "'", sourceChilds.getLength(), receivedChilds.getLength()));
+        ValidationUtils.assertValueMatch(receivedChilds.getLength() == sourceChilds.getLength(),
+                "Number of child elements not equal for element", received.getLocalName(),
+                sourceChilds.getLength(), receivedChilds.getLength());
 
         for(int i = 0; i<receivedChilds.getLength(); i++) {
             this.validateXmlTree(receivedChilds.item(i), sourceChilds.item(i),
-                    validationContext, namespaceContext, context);
+                    validationContext, ignoredNodes, context);
         }
 
         if (log.isDebugEnabled()) {
@@ -657,23 +683,28 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             log.debug("Validating node value for element: " + received.getParentNode());
         }
 
-        if (received.getNodeValue() != null) {
-            Assert.isTrue(source.getNodeValue() != null,
-                    ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '"
-                            + received.getParentNode().getLocalName() + "'", null, received.getNodeValue().trim()));
+        String receivedValue = received.getNodeValue();
+        String sourceValue = source.getNodeValue();
+
+        if (receivedValue != null) {
+            receivedValue = receivedValue.trim();
+
+            ValidationUtils.assertValueMatch(sourceValue != null,
+                    "Node value not equal for element", received.getParentNode().getLocalName(),
+                    null, receivedValue);
 
-            Assert.isTrue(received.getNodeValue().trim().equals(source.getNodeValue().trim()),
-                    ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '"
-                            + received.getParentNode().getLocalName() + "'", source.getNodeValue().trim(),
-                            received.getNodeValue().trim()));
+            sourceValue = sourceValue.trim();
+            ValidationUtils.assertValueMatch(receivedValue.equals(sourceValue),
+                    "Node value not equal for element", received.getParentNode().getLocalName(),
+                    sourceValue, receivedValue);
         } else {
-            Assert.isTrue(source.getNodeValue() == null,
-                    ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '"
-                            + received.getParentNode().getLocalName() + "'", source.getNodeValue().trim(), null));
+            ValidationUtils.assertValueMatch(sourceValue == null,
+                    "Node value not equal for element", received.getParentNode().getLocalName(),
+                    sourceValue, null);
         }
 
         if (log.isDebugEnabled()) {
-            log.debug("Node value '" + received.getNodeValue().trim() + "': OK");
+            log.debug("Node value '" + receivedValue + "': OK");
         }
     }
 
@@ -686,7 +717,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
      * @param validationContext
      */
     private void doAttribute(Node receivedElement, Node receivedAttribute, Node sourceElement,
-            XmlMessageValidationContext validationContext, NamespaceContext namespaceContext, TestContext context) {
+            XmlMessageValidationContext validationContext, Set<Node> ignoredNodes, TestContext context) {
         if (receivedAttribute.getNodeName().startsWith(XMLConstants.XMLNS_ATTRIBUTE)) { return; }
 
         String receivedAttributeName = receivedAttribute.getLocalName();
@@ -698,22 +729,22 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         NamedNodeMap sourceAttributes = sourceElement.getAttributes();
         Node sourceAttribute = sourceAttributes.getNamedItemNS(receivedAttribute.getNamespaceURI(), receivedAttributeName);
 
-        Assert.isTrue(sourceAttribute != null,
-                "Attribute validation failed for element '"
-                        + receivedElement.getLocalName() + "', unknown attribute "
-                        + receivedAttributeName + " (" + receivedAttribute.getNamespaceURI() + ")");
+        if (sourceAttribute == null) {
+            throw new IllegalArgumentException("Attribute validation failed for element '"
+                    + receivedElement.getLocalName() + "', unknown attribute "
+                    + receivedAttributeName + " (" + receivedAttribute.getNamespaceURI() + ")");
+        }
 
         if ((StringUtils.hasText(sourceAttribute.getNodeValue()) && sourceAttribute.getNodeValue().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER))
-                || isAttributeIgnored(receivedElement, receivedAttribute, validationContext, namespaceContext)) {
+                || ignoredNodes.contains(receivedAttribute)) {
             if (log.isDebugEnabled()) {
                 log.debug("Attribute '" + receivedAttributeName + "' is on ignore list - skipped value validation");
             }
             return;
         } else if (isValidationMatcherExpression(sourceAttribute)) {
-            ValidationMatcherUtils.resolveValidationMatcher(sourceAttribute.getNodeName(),
-                    receivedAttribute.getNodeValue().trim(),
-                    sourceAttribute.getNodeValue().trim(),
-                    context);
+            ValidationMatcherUtils.getValidationMatcherExpression(sourceAttribute.getNodeValue().trim())
+                    .validate(sourceAttribute.getNodeName(),
+                            receivedAttribute.getNodeValue().trim(), context);
 
             if (log.isDebugEnabled()) {
                 log.debug("Attribute '" + receivedAttributeName + "'='" + sourceAttribute.getNodeValue() + "': OK");
@@ -737,9 +768,9 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 sourceNamespaces.putAll(XMLUtils.lookupNamespaces(sourceElement));
 
                 if (sourceNamespaces.containsKey(sourcePrefix)) {
-                    Assert.isTrue(sourceNamespaces.get(sourcePrefix).equals(receivedNamespaces.get(receivedPrefix)),
-                            ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute value namespace '"
-                                    + receivedValue + "'", sourceNamespaces.get(sourcePrefix), receivedNamespaces.get(receivedPrefix)));
+                    ValidationUtils.assertValueMatch(sourceNamespaces.get(sourcePrefix).equals(receivedNamespaces.get(receivedPrefix)),
+                            "Values not equal for attribute value namespace", receivedValue,
+                            sourceNamespaces.get(sourcePrefix), receivedNamespaces.get(receivedPrefix));
 
                     // remove namespace prefixes as they must not form equality
                     receivedValue = receivedValue.substring((receivedPrefix + ":").length());
@@ -751,9 +782,9 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             }
         }
 
-        Assert.isTrue(receivedValue.equals(sourceValue),
-                ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute '"
-                    + receivedAttributeName + "'", sourceValue, receivedValue));
+        ValidationUtils.assertValueMatch(receivedValue.equals(sourceValue),
+                "Values not equal for attribute", receivedAttributeName,
+                sourceValue, receivedValue);
 
         if (log.isDebugEnabled()) {
             log.debug("Attribute '" + receivedAttributeName + "'='" + receivedValue + "': OK");
@@ -795,75 +826,16 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         return cntAttributes;
     }
 
-    /**
-     * Checks whether the current attribute is ignored.
-     * @param elementNode
-     * @param attributeNode
-     * @param validationContext
-     * @return
-     */
-    private boolean isAttributeIgnored(Node elementNode, Node attributeNode,
-            XmlMessageValidationContext validationContext, NamespaceContext namespaceContext) {
-        Set<String> ignoreMessageElements = validationContext.getIgnoreExpressions();
-
-        if (CollectionUtils.isEmpty(ignoreMessageElements)) {
-            return false;
-        }
-
-        /** This is the faster version, but then the ignoreValue name must be
-         * the full path name like: Numbers.NumberItem.AreaCode
-         */
-        if (ignoreMessageElements.contains(XMLUtils.getNodesPathName(elementNode) + "." + attributeNode.getNodeName())) {
-            return true;
-        }
-
-        /** This is the slower version, but here the ignoreValues can be
-         * the short path name like only: AreaCode
-         *
-         * If there are more nodes with the same short name,
-         * the first one will match, eg. if there are:
-         *      Numbers1.NumberItem.AreaCode
-         *      Numbers2.NumberItem.AreaCode
-         * And ignoreValues contains just: AreaCode
-         * the only first Node: Numbers1.NumberItem.AreaCode will be ignored.
-         */
-        for (String expression : ignoreMessageElements) {
-            Node foundAttributeNode = XMLUtils.findNodeByName(elementNode.getOwnerDocument(), expression);
-
-            if (foundAttributeNode != null && attributeNode.isSameNode(foundAttributeNode)) {
-                return true;
-            }
-        }
-
-        /** This is the XPath version using XPath expressions in
-         * ignoreValues to identify nodes to be ignored
-         */
-        for (String expression : ignoreMessageElements) {
-            if (XPathUtils.isXPathExpression(expression)) {
-                Node foundAttributeNode = XPathUtils.evaluateAsNode(elementNode.getOwnerDocument(),
-                        expression,
-                        namespaceContext);
-                if (foundAttributeNode != null && foundAttributeNode.isSameNode(attributeNode)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Checks if given element node is either on ignore list or
      * contains @ignore@ tag inside control message
      * @param source
      * @param received
-     * @param validationContext
-     * @param namespaceContext
+     * @param ignoredNodes
      * @return
      */
-    private boolean isElementNodeIgnored(Node source, Node received, XmlMessageValidationContext validationContext,
-            NamespaceContext namespaceContext) {
-        if (isNodeIgnored(received, validationContext, namespaceContext)) {
+    private boolean isElementNodeIgnored(Node source, Node received, Set<Node> ignoredNodes) {
+        if (ignoredNodes.contains(received)) {
             if (log.isDebugEnabled()) {
                 log.debug("Element: '" + received.getLocalName() + "' is on ignore list - skipped validation");
             }
@@ -881,28 +853,33 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
     }
 
     /**
-     * Checks whether the node is ignored by node path expression or xpath expression.
-     * @param node
+     * Resolves all ignore expressions of the validation context to the set of ignored nodes in the received document.
+     * Ignore expressions are evaluated only once per document so checking a single node during tree
+     * validation is a simple identity lookup.
+     *
+     * @param received
      * @param validationContext
+     * @param namespaceContext
      * @return
      */
-    private boolean isNodeIgnored(final Node node, XmlMessageValidationContext validationContext,
+    private Set<Node> resolveIgnoredNodes(Document received, XmlMessageValidationContext validationContext,
             NamespaceContext namespaceContext) {
         Set<String> ignoreMessageElements = validationContext.getIgnoreExpressions();
 
         if (CollectionUtils.isEmpty(ignoreMessageElements)) {
-            return false;
+            return Collections.emptySet();
         }
 
-        /** This is the faster version, but then the ignoreValue name must be
-         * the full path name like: Numbers.NumberItem.AreaCode
+        Set<Node> ignoredNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+
+        /** Full path names like: Numbers.NumberItem.AreaCode match all nodes with this path
          */
-        if (ignoreMessageElements.contains(XMLUtils.getNodesPathName(node))) {
-            return true;
+        if (received.getDocumentElement() != null) {
+            collectIgnoredNodesByPath(received.getDocumentElement(), received.getDocumentElement().getLocalName(),
+                    ignoreMessageElements, ignoredNodes);
         }
 
-        /** This is the slower version, but here the ignoreValues can be
-         * the short path name like only: AreaCode
+        /** Short path names like only: AreaCode
          *
          * If there are more nodes with the same short name,
          * the first one will match, eg. if there are:
@@ -912,27 +889,52 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
          * the only first Node: Numbers1.NumberItem.AreaCode will be ignored.
          */
         for (String expression : ignoreMessageElements) {
-            if (node == XMLUtils.findNodeByName(node.getOwnerDocument(), expression)) {
-                return true;
+            Node foundNode = XMLUtils.findNodeByName(received, expression);
+
+            if (foundNode != null) {
+                ignoredNodes.add(foundNode);
             }
         }
 
-        /** This is the XPath version using XPath expressions in
-         * ignoreValues to identify nodes to be ignored
+        /** XPath expressions in ignoreValues identify nodes to be ignored
          */
         for (String expression : ignoreMessageElements) {
             if (XPathUtils.isXPathExpression(expression)) {
-                Node foundNode = XPathUtils.evaluateAsNode(node.getOwnerDocument(),
-                            expression, 
-                            namespaceContext);
+                ignoredNodes.add(XPathUtils.evaluateAsNode(received, expression, namespaceContext));
+            }
+        }
 
-                if (foundNode != null && foundNode.isSameNode(node)) {
-                    return true;
-                }
+        return ignoredNodes;
+    }
+
+    /**
+     * Walks the element tree and adds all elements and attributes whose node path name is on the ignore list.
+     * @param element
+     * @param pathName
+     * @param ignoreMessageElements
+     * @param ignoredNodes
+     */
+    private void collectIgnoredNodesByPath(Node element, String pathName, Set<String> ignoreMessageElements, Set<Node> ignoredNodes) {
+        if (ignoreMessageElements.contains(pathName)) {
+            ignoredNodes.add(element);
+        }
+
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            if (ignoreMessageElements.contains(pathName + "." + attribute.getNodeName()) ||
+                    ignoreMessageElements.contains(pathName + "." + attribute.getLocalName())) {
+                ignoredNodes.add(attribute);
             }
         }
 
-        return false;
+        NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node child = childNodes.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                collectIgnoredNodesByPath(child, pathName + "." + child.getLocalName(), ignoreMessageElements, ignoredNodes);
+            }
+        }
     }
 
     @Override
@@ -982,26 +984,25 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             throws ValidationException {
         try {
             if (actualValue != null) {
-                Assert.isTrue(expectedValue != null,
-                        ValidationUtils.buildValueMismatchErrorMessage(
-                        "Values not equal for element '" + elementPathExpression + "'", null, actualValue));
+                ValidationUtils.assertValueMatch(expectedValue != null,
+                        "Values not equal for element", elementPathExpression,
+                        null, actualValue);
 
                 //check if validation matcher on element is specified
                 if (ValidationMatcherUtils.isValidationMatcherExpression(expectedValue)) {
-                    ValidationMatcherUtils.resolveValidationMatcher(elementPathExpression,
-                            actualValue,
-                            expectedValue,
-                            context);
+                    ValidationMatcherUtils.getValidationMatcherExpression(expectedValue)
+                            .validate(elementPathExpression,
+                                    actualValue, context);
                 }
                 else {
-                    Assert.isTrue(actualValue.equals(expectedValue),
-                            ValidationUtils.buildValueMismatchErrorMessage(
-                                    "Values not equal for element '" + elementPathExpression + "'", expectedValue, actualValue));
+                    ValidationUtils.assertValueMatch(actualValue.equals(expectedValue),
+                            "Values not equal for element", elementPathExpression,
+                            expectedValue, actualValue);
                 }
             } else {
-                Assert.isTrue(expectedValue == null || expectedValue.length() == 0,
-                        ValidationUtils.buildValueMismatchErrorMessage(
-                        "Values not equal for element '" + elementPathExpression + "'", expectedValue, null));
+                ValidationUtils.assertValueMatch(expectedValue == null || expectedValue.length() == 0,
+                        "Values not equal for element", elementPathExpression,
+                        expectedValue, null);
             }
         } catch (IllegalArgumentException e) {
             throw new ValidationException("Validation failed:", e);
@@ -0,0 +1,755 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.validation.xml;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.consol.citrus.xml.xpath.XPathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.*;
+import org.springframework.xml.validation.XmlValidator;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.*;
+import javax.xml.stream.events.*;
+import javax.xml.transform.stax.StAXSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * XML message validator comparing received and control message payloads as two synchronized StAX event streams.
+ * Unlike the DOM based validator no document trees are built so memory consumption is bounded by the
+ * element depth of the documents rather than by the document size. Validation fails fast on the first mismatch.
+ *
+ * Supports ignore placeholders, validation matchers and element namespace validation just like the DOM based
+ * validator. Ignore expressions given as node path names are evaluated while streaming, XPath ignore expressions
+ * need a document tree so validation falls back to DOM tree comparison in this case. Document type definitions
+ * are not compared.
+ *
+ * XML schema validation and namespace validation also work on StAX streams. Path validation expressions need a document tree
+ * so validation fails fast in case such expressions are configured.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class StreamingXmlMessageValidator extends DomXmlMessageValidator {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(StreamingXmlMessageValidator.class);
+
+    /** Factory creating event readers for received and control payloads */
+    private final XMLInputFactory inputFactory;
+
+    /**
+     * Default constructor.
+     */
+    public StreamingXmlMessageValidator() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public void validateMessage(Message receivedMessage, TestContext context, XmlMessageValidationContext validationContext) {
+        if (!CollectionUtils.isEmpty(validationContext.getPathValidationExpressions())) {
+            throw new CitrusRuntimeException("StreamingXmlMessageValidator does not support path validation expressions - " +
+                    "please use the DOM based XML message validator instead");
+        }
+
+        super.validateMessage(receivedMessage, context, validationContext);
+    }
+
+    @Override
+    protected void validateXMLSchema(Message receivedMessage, XmlMessageValidationContext validationContext) {
+        if (receivedMessage.getPayload() == null || !StringUtils.hasText(receivedMessage.getPayload().toString())) {
+            return;
+        }
+
+        String payload = receivedMessage.getPayload().toString();
+        XMLStreamReader reader = null;
+        try {
+            StartElement root = readRootElement(payload);
+
+            if (root == null || !StringUtils.hasText(root.getName().getNamespaceURI())) {
+                return;
+            }
+
+            log.info("Starting streaming XML schema validation ...");
+
+            XmlValidator validator = findSchemaValidator(createRootDocument(root.getName()), validationContext);
+            if (validator == null) {
+                return;
+            }
+
+            reader = inputFactory.createXMLStreamReader(new StringReader(payload));
+            SAXParseException[] results = validator.validate(new StAXSource(reader));
+            if (results.length == 0) {
+                log.info("Schema of received XML validated OK");
+            } else {
+                log.error("Schema validation failed for XML message payload");
+
+                // Report all parsing errors
+                log.debug("Found " + results.length + " schema validation errors");
+                StringBuilder errors = new StringBuilder();
+                for (SAXParseException e : results) {
+                    errors.append(e.toString());
+                    errors.append("\n");
+                }
+                log.debug(errors.toString());
+
+                throw new ValidationException("Schema validation failed:", results[0]);
+            }
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML message payload", e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException(e);
+        } catch (SAXException e) {
+            throw new CitrusRuntimeException(e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    @Override
+    protected void validateNamespaces(Map<String, String> expectedNamespaces, Message receivedMessage) {
+        if (CollectionUtils.isEmpty(expectedNamespaces)) { return; }
+
+        if (receivedMessage.getPayload() == null || !StringUtils.hasText(receivedMessage.getPayload().toString())) {
+            throw new ValidationException("Unable to validate message namespaces - receive message payload was empty");
+        }
+
+        log.info("Start streaming XML namespace validation");
+
+        Map<String, String> foundNamespaces = new HashMap<String, String>();
+        String rootName = null;
+        XMLEventReader reader = null;
+        try {
+            reader = inputFactory.createXMLEventReader(new StringReader(receivedMessage.getPayload().toString()));
+
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+
+                if (event.isStartElement()) {
+                    if (rootName == null) {
+                        rootName = event.asStartElement().getName().getLocalPart();
+                    }
+
+                    Iterator<?> namespaces = event.asStartElement().getNamespaces();
+                    while (namespaces.hasNext()) {
+                        Namespace namespace = (Namespace) namespaces.next();
+                        foundNamespaces.put(namespace.getPrefix(), namespace.getNamespaceURI());
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML message payload", e);
+        } finally {
+            close(reader);
+        }
+
+        if (foundNamespaces.size() != expectedNamespaces.size()) {
+            throw new ValidationException("Number of namespace declarations not equal for node " +
+                    rootName + " found " + foundNamespaces.size() + " expected " + expectedNamespaces.size());
+        }
+
+        for (Map.Entry<String, String> entry : expectedNamespaces.entrySet()) {
+            String namespace = entry.getKey();
+            String url = entry.getValue();
+
+            if (!foundNamespaces.containsKey(namespace)) {
+                throw new ValidationException("Missing namespace " + namespace + "(" + url + ") in node " + rootName);
+            } else if (!foundNamespaces.get(namespace).equals(url)) {
+                throw new ValidationException("Namespace '" + namespace +
+                        "' values not equal: found '" + foundNamespaces.get(namespace) +
+                        "' expected '" + url + "' in reference node " + rootName);
+            }
+
+            log.info("Validating namespace " + namespace + " value as expected " + url + " - value OK");
+        }
+
+        log.info("XML namespace validation finished successfully: All values OK");
+    }
+
+    @Override
+    protected void validateMessagePayload(Message receivedMessage, XmlMessageValidationContext validationContext,
+                                          TestContext context) {
+        Message controlMessage = validationContext.getControlMessage(context);
+
+        if (controlMessage == null || controlMessage.getPayload() == null) {
+            log.info("Skip message payload validation as no control message was defined");
+            return;
+        }
+
+        if (!(controlMessage.getPayload() instanceof String)) {
+            throw new IllegalArgumentException(
+                    "StreamingXmlMessageValidator does only support message payload of type String, " +
+                    "but was " + controlMessage.getPayload().getClass());
+        }
+
+        String controlMessagePayload = controlMessage.getPayload().toString();
+
+        if (receivedMessage.getPayload() == null || !StringUtils.hasText(receivedMessage.getPayload().toString())) {
+            Assert.isTrue(!StringUtils.hasText(controlMessagePayload),
+                    "Unable to validate message payload - received message payload was empty, control message payload is not");
+            return;
+        } else if (!StringUtils.hasText(controlMessagePayload)) {
+            return;
+        }
+
+        if (hasXPathIgnoreExpressions(validationContext)) {
+            log.warn("XPath ignore expressions require document tree - fall back to DOM tree validation");
+            super.validateMessagePayload(receivedMessage, validationContext, context);
+            return;
+        }
+
+        log.info("Start streaming XML tree validation ...");
+
+        XMLEventReader received = null;
+        XMLEventReader control = null;
+        try {
+            received = inputFactory.createXMLEventReader(new StringReader(receivedMessage.getPayload().toString()));
+            control = inputFactory.createXMLEventReader(new StringReader(controlMessagePayload));
+
+            validateEventStreams(received, control, new IgnoreState(validationContext.getIgnoreExpressions()), context);
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML message payload", e);
+        } finally {
+            close(received);
+            close(control);
+        }
+
+        log.info("Streaming XML tree validation finished successfully: All values OK");
+    }
+
+    /**
+     * Reads both event streams in parallel and validates each significant event of the received stream
+     * against its control counterpart.
+     *
+     * @param received
+     * @param control
+     * @param ignoreState
+     * @param context
+     * @throws XMLStreamException
+     */
+    private void validateEventStreams(XMLEventReader received, XMLEventReader control,
+                                      IgnoreState ignoreState, TestContext context) throws XMLStreamException {
+        Deque<QName> elements = new ArrayDeque<QName>();
+
+        while (true) {
+            XMLEvent receivedEvent = nextSignificantEvent(received);
+            XMLEvent controlEvent = nextSignificantEvent(control);
+
+            if (receivedEvent == null || controlEvent == null) {
+                Assert.isTrue(receivedEvent == null && controlEvent == null,
+                        "Received message and control message differ in length");
+                return;
+            }
+
+            String parent = elements.isEmpty() ? "" : elements.peek().getLocalPart();
+
+            if (controlEvent.isStartElement()) {
+                if (!receivedEvent.isStartElement()) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Node type not equal in element '" + parent + "'",
+                            controlEvent.asStartElement().getName().getLocalPart(), describe(receivedEvent)));
+                }
+
+                if (doElement(receivedEvent.asStartElement(), controlEvent.asStartElement(), received, control, ignoreState, context)) {
+                    elements.push(receivedEvent.asStartElement().getName());
+                }
+            } else if (controlEvent.isEndElement()) {
+                if (!receivedEvent.isEndElement()) {
+                    throw new IllegalArgumentException("Number of child elements not equal for element '" + parent + "', unexpected " + describe(receivedEvent));
+                }
+
+                elements.pop();
+                ignoreState.leaveElement();
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Validation successful for element: " + parent);
+                }
+            } else if (controlEvent.isCharacters()) {
+                if (!receivedEvent.isCharacters()) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '" + parent + "'",
+                            controlEvent.asCharacters().getData().trim(), describe(receivedEvent)));
+                }
+
+                doText(receivedEvent.asCharacters(), controlEvent.asCharacters(), parent);
+            }
+        }
+    }
+
+    /**
+     * Handle start element events. Validates element name, namespace and attributes. In case the element is ignored or validated with
+     * a validation matcher the element content is skipped on both streams and method returns false.
+     *
+     * @param received
+     * @param source
+     * @param receivedReader
+     * @param controlReader
+     * @param ignoreState
+     * @param context
+     * @return true if element content should be validated too.
+     * @throws XMLStreamException
+     */
+    private boolean doElement(StartElement received, StartElement source, XMLEventReader receivedReader, XMLEventReader controlReader,
+                              IgnoreState ignoreState, TestContext context) throws XMLStreamException {
+        String elementName = received.getName().getLocalPart();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating element: " + elementName + " (" + received.getName().getNamespaceURI() + ")");
+        }
+
+        ValidationUtils.assertValueMatch(elementName.equals(source.getName().getLocalPart()),
+                "Element names not equal", source.getName().getLocalPart(), elementName);
+
+        ValidationUtils.assertValueMatch(received.getName().getNamespaceURI().equals(source.getName().getNamespaceURI()),
+                "Element namespace not equal for element", elementName,
+                nullIfEmpty(source.getName().getNamespaceURI()), nullIfEmpty(received.getName().getNamespaceURI()));
+
+        boolean ignored = ignoreState.enterElement(elementName);
+        XMLEvent sourceContent = peekSignificantEvent(controlReader);
+
+        if (ignored) {
+            if (log.isDebugEnabled()) {
+                log.debug("Element: '" + elementName + "' is on ignore list - skipped validation");
+            }
+            skipElement(receivedReader, controlReader, ignoreState);
+            return false;
+        } else if (sourceContent != null && sourceContent.isCharacters() &&
+                sourceContent.asCharacters().getData().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Element: '" + elementName + "' is ignored by placeholder '" +
+                        CitrusConstants.IGNORE_PLACEHOLDER + "'");
+            }
+            skipElement(receivedReader, controlReader, ignoreState);
+            return false;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating attributes for element: " + elementName);
+        }
+
+        List<Attribute> receivedAttributes = getAttributes(received);
+        List<Attribute> sourceAttributes = getAttributes(source);
+
+        ValidationUtils.assertValueMatch(receivedAttributes.size() == sourceAttributes.size(),
+                "Number of attributes not equal for element", elementName,
+                sourceAttributes.size(), receivedAttributes.size());
+
+        for (Attribute receivedAttribute : receivedAttributes) {
+            doAttribute(received, receivedAttribute, source, ignoreState, context);
+        }
+
+        if (sourceContent != null && sourceContent.isCharacters() &&
+                ValidationMatcherUtils.isValidationMatcherExpression(sourceContent.asCharacters().getData().trim())) {
+            XMLEvent receivedContent = peekSignificantEvent(receivedReader);
+            ValidationMatcherUtils.getValidationMatcherExpression(sourceContent.asCharacters().getData().trim())
+                    .validate(getNodeName(source.getName()),
+                            receivedContent != null && receivedContent.isCharacters() ? receivedContent.asCharacters().getData().trim() : "",
+                            context);
+            skipElement(receivedReader, controlReader, ignoreState);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Handle text events during validation.
+     * @param received
+     * @param source
+     * @param elementName
+     */
+    private void doText(Characters received, Characters source, String elementName) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating node value for element: " + elementName);
+        }
+
+        String receivedValue = received.getData().trim();
+        String sourceValue = source.getData().trim();
+
+        ValidationUtils.assertValueMatch(receivedValue.equals(sourceValue),
+                "Node value not equal for element", elementName, sourceValue, receivedValue);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Node value '" + receivedValue + "': OK");
+        }
+    }
+
+    /**
+     * Handle attribute during validation.
+     * @param receivedElement
+     * @param receivedAttribute
+     * @param sourceElement
+     * @param ignoreState
+     * @param context
+     */
+    private void doAttribute(StartElement receivedElement, Attribute receivedAttribute, StartElement sourceElement,
+                             IgnoreState ignoreState, TestContext context) {
+        String receivedAttributeName = receivedAttribute.getName().getLocalPart();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating attribute: " + receivedAttributeName + " (" + receivedAttribute.getName().getNamespaceURI() + ")");
+        }
+
+        Attribute sourceAttribute = sourceElement.getAttributeByName(receivedAttribute.getName());
+
+        if (sourceAttribute == null) {
+            throw new IllegalArgumentException("Attribute validation failed for element '"
+                    + receivedElement.getName().getLocalPart() + "', unknown attribute "
+                    + receivedAttributeName + " (" + receivedAttribute.getName().getNamespaceURI() + ")");
+        }
+
+        String receivedValue = receivedAttribute.getValue();
+        String sourceValue = sourceAttribute.getValue();
+
+        if ((StringUtils.hasText(sourceValue) && sourceValue.trim().equals(CitrusConstants.IGNORE_PLACEHOLDER))
+                || ignoreState.isAttributeIgnored(getNodeName(receivedAttribute.getName()), receivedAttributeName)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Attribute '" + receivedAttributeName + "' is on ignore list - skipped value validation");
+            }
+            return;
+        } else if (StringUtils.hasText(sourceValue) && ValidationMatcherUtils.isValidationMatcherExpression(sourceValue.trim())) {
+            ValidationMatcherUtils.getValidationMatcherExpression(sourceValue.trim())
+                    .validate(getNodeName(sourceAttribute.getName()),
+                            receivedValue.trim(), context);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Attribute '" + receivedAttributeName + "'='" + sourceValue + "': OK");
+            }
+            return;
+        }
+
+        if (receivedValue.contains(":") && sourceValue.contains(":")) {
+            // value has namespace prefix set, do special QName validation
+            String receivedPrefix = receivedValue.substring(0, receivedValue.indexOf(':'));
+            String sourcePrefix = sourceValue.substring(0, sourceValue.indexOf(':'));
+
+            String receivedNamespace = receivedElement.getNamespaceContext().getNamespaceURI(receivedPrefix);
+            if (StringUtils.hasText(receivedNamespace)) {
+                String sourceNamespace = sourceElement.getNamespaceContext().getNamespaceURI(sourcePrefix);
+
+                if (StringUtils.hasText(sourceNamespace)) {
+                    ValidationUtils.assertValueMatch(sourceNamespace.equals(receivedNamespace),
+                            "Values not equal for attribute value namespace", receivedValue,
+                            sourceNamespace, receivedNamespace);
+
+                    // remove namespace prefixes as they must not form equality
+                    receivedValue = receivedValue.substring((receivedPrefix + ":").length());
+                    sourceValue = sourceValue.substring((sourcePrefix + ":").length());
+                } else {
+                    throw new ValidationException("Received attribute value '" + receivedAttributeName + "' describes namespace qualified attribute value," +
+                            " control value '" + sourceValue + "' does not");
+                }
+            }
+        }
+
+        ValidationUtils.assertValueMatch(receivedValue.equals(sourceValue),
+                "Values not equal for attribute", receivedAttributeName,
+                sourceValue, receivedValue);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Attribute '" + receivedAttributeName + "'='" + receivedValue + "': OK");
+        }
+    }
+
+    /**
+     * Skips remaining content of current element on both streams including the end element event.
+     * @param receivedReader
+     * @param controlReader
+     * @param ignoreState
+     * @throws XMLStreamException
+     */
+    private void skipElement(XMLEventReader receivedReader, XMLEventReader controlReader, IgnoreState ignoreState) throws XMLStreamException {
+        skipElement(receivedReader);
+        skipElement(controlReader);
+        ignoreState.leaveElement();
+    }
+
+    /**
+     * Skips remaining content of current element including the end element event.
+     * @param reader
+     * @throws XMLStreamException
+     */
+    private void skipElement(XMLEventReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Gets next event that is relevant for validation. Skips whitespace, comments, processing instructions
+     * and document type definitions.
+     * @param reader
+     * @return next significant event or null if end of document is reached.
+     * @throws XMLStreamException
+     */
+    private XMLEvent nextSignificantEvent(XMLEventReader reader) throws XMLStreamException {
+        XMLEvent event = peekSignificantEvent(reader);
+        return event != null ? reader.nextEvent() : null;
+    }
+
+    /**
+     * Peeks next event that is relevant for validation. Insignificant events are consumed.
+     * @param reader
+     * @return next significant event or null if end of document is reached.
+     * @throws XMLStreamException
+     */
+    private XMLEvent peekSignificantEvent(XMLEventReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            XMLEvent event = reader.peek();
+
+            if (event.isStartElement() || event.isEndElement() ||
+                    (event.isCharacters() && StringUtils.hasText(event.asCharacters().getData()))) {
+                return event;
+            } else if (event.isEndDocument()) {
+                return null;
+            }
+
+            reader.nextEvent();
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets all attributes of element.
+     * @param element
+     * @return
+     */
+    private List<Attribute> getAttributes(StartElement element) {
+        List<Attribute> attributes = new ArrayList<Attribute>();
+
+        Iterator<?> it = element.getAttributes();
+        while (it.hasNext()) {
+            attributes.add((Attribute) it.next());
+        }
+
+        return attributes;
+    }
+
+    /**
+     * Checks for XPath expressions in ignore expressions.
+     * @param validationContext
+     * @return
+     */
+    private boolean hasXPathIgnoreExpressions(XmlMessageValidationContext validationContext) {
+        if (validationContext.getIgnoreExpressions() != null) {
+            for (String expression : validationContext.getIgnoreExpressions()) {
+                if (XPathUtils.isXPathExpression(expression)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds prefixed node name from qualified name.
+     * @param name
+     * @return
+     */
+    private String getNodeName(QName name) {
+        if (StringUtils.hasText(name.getPrefix())) {
+            return name.getPrefix() + ":" + name.getLocalPart();
+        }
+
+        return name.getLocalPart();
+    }
+
+    /**
+     * Empty namespace uri is represented as null value in error messages.
+     * @param namespaceUri
+     * @return
+     */
+    private String nullIfEmpty(String namespaceUri) {
+        return XMLConstants.NULL_NS_URI.equals(namespaceUri) ? null : namespaceUri;
+    }
+
+    /**
+     * Gives short description of event for error messages.
+     * @param event
+     * @return
+     */
+    private String describe(XMLEvent event) {
+        if (event.isStartElement()) {
+            return "element '" + event.asStartElement().getName().getLocalPart() + "'";
+        } else if (event.isEndElement()) {
+            return "end of element '" + event.asEndElement().getName().getLocalPart() + "'";
+        } else if (event.isCharacters()) {
+            return "text '" + event.asCharacters().getData().trim() + "'";
+        }
+
+        return event.toString();
+    }
+
+    /**
+     * Reads root element of XML payload.
+     * @param payload
+     * @return root start element or null if payload has no elements.
+     * @throws XMLStreamException
+     */
+    private StartElement readRootElement(String payload) throws XMLStreamException {
+        XMLEventReader reader = inputFactory.createXMLEventReader(new StringReader(payload));
+        try {
+            XMLEvent event = peekSignificantEvent(reader);
+            return event != null && event.isStartElement() ? event.asStartElement() : null;
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Creates document holding just an empty root element with given name. Schema repositories
+     * select the proper schema based on the root element, so there is no need to parse the whole payload.
+     * @param rootName
+     * @return
+     */
+    private Document createRootDocument(QName rootName) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+
+            Document doc = factory.newDocumentBuilder().newDocument();
+            doc.appendChild(doc.createElementNS(rootName.getNamespaceURI(), getNodeName(rootName)));
+            return doc;
+        } catch (ParserConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to create XML document", e);
+        }
+    }
+
+    /**
+     * Close stream reader quietly.
+     * @param reader
+     */
+    private void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                log.warn("Failed to close XML stream reader", e);
+            }
+        }
+    }
+
+    /**
+     * Close event reader quietly.
+     * @param reader
+     */
+    private void close(XMLEventReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                log.warn("Failed to close XML event reader", e);
+            }
+        }
+    }
+
+    @Override
+    protected void logFailedMessage(Message receivedMessage) {
+        log.error("Failed to validate XML message payload");
+    }
+
+    /**
+     * Keeps track of node path names while streaming and decides whether element or attribute is ignored by
+     * ignore expressions. Full node path names starting with the root element like Numbers.NumberItem.AreaCode ignore
+     * all matching nodes, relative path names like NumberItem.AreaCode or AreaCode only ignore the first matching node.
+     */
+    private static class IgnoreState {
+        private final Set<String> ignoreExpressions;
+        private final Set<String> matchedExpressions = new HashSet<String>();
+        private final Deque<String> pathNames = new ArrayDeque<String>();
+
+        /**
+         * Default constructor using ignore expressions.
+         * @param ignoreExpressions
+         */
+        IgnoreState(Set<String> ignoreExpressions) {
+            this.ignoreExpressions = ignoreExpressions != null ? ignoreExpressions : Collections.<String>emptySet();
+        }
+
+        /**
+         * Adds element to current node path and checks if element is ignored.
+         * @param localName
+         * @return
+         */
+        boolean enterElement(String localName) {
+            String pathName = pathNames.isEmpty() ? localName : pathNames.peek() + "." + localName;
+            pathNames.push(pathName);
+
+            return isIgnored(pathName);
+        }
+
+        /**
+         * Removes current element from node path.
+         */
+        void leaveElement() {
+            pathNames.pop();
+        }
+
+        /**
+         * Checks if attribute on current element is ignored.
+         * @param nodeName
+         * @param localName
+         * @return
+         */
+        boolean isAttributeIgnored(String nodeName, String localName) {
+            return ignoreExpressions.contains(pathNames.peek() + "." + nodeName) ||
+                    isIgnored(pathNames.peek() + "." + localName);
+        }
+
+        private boolean isIgnored(String pathName) {
+            if (ignoreExpressions.isEmpty()) {
+                return false;
+            }
+
+            for (String expression : ignoreExpressions) {
+                if (pathName.equals(expression)) {
+                    return true;
+                } else if (!matchedExpressions.contains(expression) && pathName.endsWith("." + expression)) {
+                    matchedExpressions.add(expression);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -25,10 +25,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.NamespaceContext;
+import java.util.Collections;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Xml data dictionary implementation maps elements via XPath expressions. When element is identified by some expression
@@ -46,12 +49,17 @@ public class XpathMappingDataDictionary extends AbstractXmlDataDictionary implem
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XpathMappingDataDictionary.class);
 
+    /** Namespace contexts per document, translation of all nodes in a document shares the same namespace lookup */
+    private final Map<Document, NamespaceContext> namespaceContexts = Collections.synchronizedMap(new WeakHashMap<Document, NamespaceContext>());
+
     @Override
     public String translate(Node node, String value, TestContext context) {
+        NamespaceContext namespaceContext = buildNamespaceContext(node);
+
         for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
             String expression = expressionEntry.getKey();
 
-            Node finding = XPathUtils.evaluateAsNode(node.getOwnerDocument(), expression, buildNamespaceContext(node));
+            Node finding = XPathUtils.evaluateAsNode(node.getOwnerDocument(), expression, namespaceContext);
 
             if (finding != null && finding.equals(node)) {
                 if (log.isDebugEnabled()) {
@@ -71,13 +79,20 @@ public class XpathMappingDataDictionary extends AbstractXmlDataDictionary implem
      * @return
      */
     private NamespaceContext buildNamespaceContext(Node node) {
+        Document document = node.getOwnerDocument();
+        NamespaceContext cached = namespaceContexts.get(document);
+        if (cached != null) {
+            return cached;
+        }
+
         SimpleNamespaceContext simpleNamespaceContext = new SimpleNamespaceContext();
-        Map<String, String> namespaces = XMLUtils.lookupNamespaces(node.getOwnerDocument());
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces(document);
 
         // add default namespace mappings
         namespaces.putAll(namespaceContextBuilder.getNamespaceMappings());
 
         simpleNamespaceContext.setBindings(namespaces);
+        namespaceContexts.put(document, simpleNamespaceContext);
 
         return simpleNamespaceContext;
     }
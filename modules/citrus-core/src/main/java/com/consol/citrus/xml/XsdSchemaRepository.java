@@ -16,8 +16,10 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.xml.schema.TargetNamespaceSchemaMappingStrategy;
 import com.consol.citrus.xml.schema.WsdlXsdSchema;
+import com.consol.citrus.xml.schema.XsdSchemaList;
 import com.consol.citrus.xml.schema.XsdSchemaMappingStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +34,9 @@ import org.xml.sax.SAXException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.*;
 
 /**
  * Schema repository holding a set of XML schema resources known in the test scope.
@@ -43,12 +47,21 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     /** This repositories name in the Spring application context */
     private String name = "schemaRepository";
     
-    /** List of schema resources */
-    private List<XsdSchema> schemas = new ArrayList<XsdSchema>();
+    /** List of schema resources indexed by target namespace */
+    private List<XsdSchema> schemas = new XsdSchemaList();
     
     /** List of location patterns that will be translated to schema resources */
     private List<String> locations = new ArrayList<String>();
 
+    /** Load schema locations on first use instead of on startup */
+    private boolean lazyInit = false;
+
+    /** Number of threads loading schema locations in parallel */
+    private int loadThreads = 1;
+
+    /** Marks schema locations as loaded */
+    private volatile boolean loaded = false;
+
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
     
@@ -63,7 +76,7 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
      * @throws SAXException
      */
     public boolean canValidate(Document doc) throws IOException, SAXException {
-        XsdSchema schema = schemaMappingStrategy.getSchema(schemas, doc);
+        XsdSchema schema = schemaMappingStrategy.getSchema(getSchemas(), doc);
         return schema != null;
     }
     
@@ -71,26 +84,112 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
      * {@inheritDoc}
      */
     public void afterPropertiesSet() throws Exception {
+        if (!lazyInit) {
+            loadSchemas();
+        }
+    }
+
+    /**
+     * Loads all schema resources from locations. Schema resources are loaded in parallel when
+     * more than one load thread is configured. Order of loaded schemas always follows the locations order.
+     * Loaded schemas are added to the repository only if all locations were loaded successfully, so a failed
+     * load can be retried.
+     * @throws Exception
+     */
+    private synchronized void loadSchemas() throws Exception {
+        if (loaded) {
+            return;
+        }
+
         PathMatchingResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
-        
+        List<Resource> resources = new ArrayList<Resource>();
+        List<XsdSchema> loadedSchemas = new ArrayList<XsdSchema>();
+
         for (String location : locations) {
-            Resource[] findings = resourcePatternResolver.getResources(location);
-            
-            for (Resource resource : findings) {
-                if (resource.getFilename().endsWith(".xsd")) {
-                    log.info("Loading XSD schema resource " + resource.getFilename());
-                    SimpleXsdSchema schema = new SimpleXsdSchema(resource);
-                    schema.afterPropertiesSet();
-                    schemas.add(schema);
-                } else if (resource.getFilename().endsWith(".wsdl")) {
-                    log.info("Loading WSDL schema resource " + resource.getFilename());
-                    WsdlXsdSchema wsdl = new WsdlXsdSchema(resource);
-                    wsdl.afterPropertiesSet();
-                    schemas.add(wsdl);
-                } else {
-                    log.warn("Skipped resource other than XSD schema for repository (" + resource.getFilename() + ")");
+            resources.addAll(Arrays.asList(resourcePatternResolver.getResources(location)));
+        }
+
+        if (loadThreads > 1 && resources.size() > 1) {
+            ExecutorService executorService = Executors.newFixedThreadPool(Math.min(loadThreads, resources.size()));
+
+            try {
+                List<Future<XsdSchema>> results = new ArrayList<Future<XsdSchema>>();
+                for (final Resource resource : resources) {
+                    results.add(executorService.submit(new Callable<XsdSchema>() {
+                        public XsdSchema call() throws Exception {
+                            return loadSchema(resource);
+                        }
+                    }));
                 }
+
+                for (Future<XsdSchema> result : results) {
+                    addSchema(loadedSchemas, getLoadResult(result));
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+        } else {
+            for (Resource resource : resources) {
+                addSchema(loadedSchemas, loadSchema(resource));
+            }
+        }
+
+        // publish schemas only when all locations have been loaded successfully
+        schemas.addAll(loadedSchemas);
+        loaded = true;
+    }
+
+    /**
+     * Waits for schema load result and unwraps load errors.
+     * @param result
+     * @return
+     * @throws Exception
+     */
+    private XsdSchema getLoadResult(Future<XsdSchema> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
             }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Adds loaded schema to the list of schemas.
+     * @param schemas
+     * @param schema
+     */
+    private void addSchema(List<XsdSchema> schemas, XsdSchema schema) {
+        if (schema != null) {
+            schemas.add(schema);
+        }
+    }
+
+    /**
+     * Loads schema resource as XSD or WSDL schema. Other resources are skipped.
+     * @param resource
+     * @return the loaded schema or null if resource is not supported
+     * @throws Exception
+     */
+    private XsdSchema loadSchema(Resource resource) throws Exception {
+        if (resource.getFilename().endsWith(".xsd")) {
+            log.info("Loading XSD schema resource " + resource.getFilename());
+            SimpleXsdSchema schema = new SimpleXsdSchema(resource);
+            schema.afterPropertiesSet();
+            return schema;
+        } else if (resource.getFilename().endsWith(".wsdl")) {
+            log.info("Loading WSDL schema resource " + resource.getFilename());
+            WsdlXsdSchema wsdl = new WsdlXsdSchema(resource);
+            wsdl.afterPropertiesSet();
+            return wsdl;
+        } else {
+            log.warn("Skipped resource other than XSD schema for repository (" + resource.getFilename() + ")");
+            return null;
         }
     }
 
@@ -99,15 +198,25 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
      * @return the schemaSources
      */
     public List<XsdSchema> getSchemas() {
+        if (lazyInit && !loaded) {
+            try {
+                loadSchemas();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CitrusRuntimeException("Failed to load schema repository '" + name + "'", e);
+            }
+        }
+
         return schemas;
     }
 
     /**
-     * Set the list of known schemas.
+     * Set the list of known schemas. Schemas are copied to a list indexed by target namespace.
      * @param schemas the schemas to set
      */
     public void setSchemas(List<XsdSchema> schemas) {
-        this.schemas = schemas;
+        this.schemas = new XsdSchemaList(schemas);
     }
 
     /**
@@ -156,5 +265,36 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     public void setLocations(List<String> locations) {
         this.locations = locations;
     }
-    
+
+    /**
+     * Gets the lazy init flag.
+     * @return
+     */
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    /**
+     * Sets the lazy init flag. When set schema locations are loaded on first use.
+     * @param lazyInit
+     */
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    /**
+     * Gets the number of load threads.
+     * @return
+     */
+    public int getLoadThreads() {
+        return loadThreads;
+    }
+
+    /**
+     * Sets the number of threads loading schema locations in parallel.
+     * @param loadThreads
+     */
+    public void setLoadThreads(int loadThreads) {
+        this.loadThreads = loadThreads;
+    }
 }
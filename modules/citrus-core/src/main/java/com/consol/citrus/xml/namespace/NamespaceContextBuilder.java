@@ -22,8 +22,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
 
 import javax.xml.namespace.NamespaceContext;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
 
 /**
@@ -42,6 +41,9 @@ public class NamespaceContextBuilder {
     
     /** Default namepsace mappings for all tests */
     private Map<String, String> namespaceMappings = new HashMap<String, String>();
+
+    /** Namespace bindings per message, weak keys do not prevent messages from being garbage collected */
+    private final Map<Message, CachedNamespaces> namespaceCache = Collections.synchronizedMap(new WeakHashMap<Message, CachedNamespaces>());
     
     /**
      * Construct a basic namespace context from the received message and explicit namespace mappings.
@@ -50,6 +52,26 @@ public class NamespaceContextBuilder {
      * @return the constructed namespace context.
      */
     public NamespaceContext buildContext(Message receivedMessage, Map<String, String> namespaces) {
+        CachedNamespaces cached = getCachedNamespaces(receivedMessage);
+
+        MergedContext merged = cached.mergedContext;
+        if (merged != null && merged.matches(namespaceMappings, namespaces)) {
+            return merged.namespaceContext;
+        }
+
+        NamespaceContext namespaceContext = mergeBindings(cached.dynamicBindings, namespaces);
+        cached.mergedContext = new MergedContext(namespaceMappings, namespaces, namespaceContext);
+
+        return namespaceContext;
+    }
+
+    /**
+     * Merges default namespace mappings, dynamic bindings found in message payload and explicit namespace bindings.
+     * @param dynamicBindings the namespace bindings declared in message payload.
+     * @param namespaces explicit namespace mappings for this construction.
+     * @return the constructed namespace context.
+     */
+    private NamespaceContext mergeBindings(Map<String, String> dynamicBindings, Map<String, String> namespaces) {
         SimpleNamespaceContext simpleNamespaceContext = new SimpleNamespaceContext();
         
         //first add default namespace definitions
@@ -57,7 +79,6 @@ public class NamespaceContextBuilder {
             simpleNamespaceContext.setBindings(namespaceMappings);
         }
         
-        Map<String, String> dynamicBindings = XMLUtils.lookupNamespaces(receivedMessage.getPayload().toString());
         if (!CollectionUtils.isEmpty(namespaces)) {
             //dynamic binding of namespaces declarations in root element of received message
             for (Entry<String, String> binding : dynamicBindings.entrySet()) {
@@ -75,6 +96,24 @@ public class NamespaceContextBuilder {
         return simpleNamespaceContext;
     }
 
+    /**
+     * Gets namespace bindings declared in message payload. Bindings are looked up once per message payload
+     * and cached as long as the message is referenced and its payload does not change.
+     * @param receivedMessage
+     * @return
+     */
+    private CachedNamespaces getCachedNamespaces(Message receivedMessage) {
+        Object payload = receivedMessage.getPayload();
+        CachedNamespaces cached = namespaceCache.get(receivedMessage);
+
+        if (cached == null || cached.payload != payload) {
+            cached = new CachedNamespaces(payload, XMLUtils.lookupNamespaces(payload.toString()));
+            namespaceCache.put(receivedMessage, cached);
+        }
+
+        return cached;
+    }
+
     /**
      * Sets the default mappings for this namespace context builder.
      * @param defaultMappings the defaultMappings to set
@@ -90,4 +129,49 @@ public class NamespaceContextBuilder {
     public Map<String, String> getNamespaceMappings() {
         return namespaceMappings;
     }
+
+    /**
+     * Namespace bindings found in message payload together with last merged namespace context.
+     */
+    private static final class CachedNamespaces {
+        /** Payload the bindings were looked up for */
+        private final Object payload;
+
+        /** Namespace bindings declared in payload */
+        private final Map<String, String> dynamicBindings;
+
+        /** Last merged namespace context */
+        private volatile MergedContext mergedContext;
+
+        private CachedNamespaces(Object payload, Map<String, String> dynamicBindings) {
+            this.payload = payload;
+            this.dynamicBindings = dynamicBindings;
+        }
+    }
+
+    /**
+     * Namespace context merged from default and explicit namespace mappings.
+     */
+    private static final class MergedContext {
+        private final Map<String, String> defaultMappings;
+        private final Map<String, String> namespaces;
+        private final NamespaceContext namespaceContext;
+
+        private MergedContext(Map<String, String> defaultMappings, Map<String, String> namespaces, NamespaceContext namespaceContext) {
+            this.defaultMappings = new HashMap<String, String>(defaultMappings);
+            this.namespaces = CollectionUtils.isEmpty(namespaces) ? Collections.<String, String>emptyMap() : new HashMap<String, String>(namespaces);
+            this.namespaceContext = namespaceContext;
+        }
+
+        /**
+         * Checks if this merged context was built from same default and explicit mappings.
+         * @param defaultMappings
+         * @param namespaces
+         * @return
+         */
+        private boolean matches(Map<String, String> defaultMappings, Map<String, String> namespaces) {
+            return this.defaultMappings.equals(defaultMappings) &&
+                    (CollectionUtils.isEmpty(namespaces) ? this.namespaces.isEmpty() : this.namespaces.equals(namespaces));
+        }
+    }
 }
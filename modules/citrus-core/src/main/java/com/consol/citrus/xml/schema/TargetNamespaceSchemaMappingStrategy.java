@@ -24,7 +24,7 @@ import org.springframework.xml.xsd.XsdSchema;
 
 /**
  * Mapping strategy checks on target namespaces in schemas to find matching schema
- * instance.
+ * instance. Uses the target namespace index of schema repository lists.
  * 
  * @author Christoph Deppisch
  */
@@ -32,6 +32,10 @@ public class TargetNamespaceSchemaMappingStrategy extends AbstractSchemaMappingS
 
     @Override
     public XsdSchema getSchema(List<XsdSchema> schemas, String namespace, String elementName) {
+        if (schemas instanceof XsdSchemaList) {
+            return ((XsdSchemaList) schemas).getSchemaByTargetNamespace(namespace);
+        }
+
         for (XsdSchema schema : schemas) {
             if (StringUtils.hasText(schema.getTargetNamespace()) && 
                     schema.getTargetNamespace().equals(namespace)) {
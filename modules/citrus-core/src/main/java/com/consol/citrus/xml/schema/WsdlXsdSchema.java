@@ -103,6 +103,7 @@ public class WsdlXsdSchema extends SimpleXsdSchema implements InitializingBean {
         
         Types types = definition.getTypes();
         List<?> schemaTypes = types.getExtensibilityElements();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
         
         for (Object schemaObject : schemaTypes) {
             if (schemaObject instanceof SchemaImpl) {
@@ -114,7 +115,7 @@ public class WsdlXsdSchema extends SimpleXsdSchema implements InitializingBean {
                 Source source = new DOMSource(schema.getElement());
                 Result result = new StreamResult(bos);
                 
-                TransformerFactory.newInstance().newTransformer().transform(source, result);
+                transformer.transform(source, result);
                 Resource schemaResource = new ByteArrayResource(bos.toByteArray());
                 
                 schemas.add(schemaResource);
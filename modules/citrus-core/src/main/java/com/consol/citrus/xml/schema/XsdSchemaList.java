@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.xml.schema;
+
+import org.springframework.util.StringUtils;
+import org.springframework.xml.xsd.XsdSchema;
+
+import java.util.*;
+
+/**
+ * List of schemas used by schema repository. List keeps an index of schemas by target namespace so
+ * schema lookups do not depend on the number of schemas. Every modification of the list increments a version
+ * stamp and the index is rebuilt on next lookup when its version does not match.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class XsdSchemaList extends AbstractList<XsdSchema> implements RandomAccess {
+
+    /** Schemas in repository order */
+    private final List<XsdSchema> schemas;
+
+    /** Version stamp incremented on every modification */
+    private volatile int version = 0;
+
+    /** Target namespace index for current version */
+    private volatile NamespaceIndex namespaceIndex;
+
+    /**
+     * Default constructor.
+     */
+    public XsdSchemaList() {
+        this.schemas = new ArrayList<XsdSchema>();
+    }
+
+    /**
+     * Constructor initializing list with given schemas.
+     * @param schemas
+     */
+    public XsdSchemaList(Collection<? extends XsdSchema> schemas) {
+        this.schemas = new ArrayList<XsdSchema>(schemas);
+    }
+
+    /**
+     * Gets the first schema with given target namespace.
+     * @param namespace
+     * @return the schema or null if no schema declares the target namespace
+     */
+    public XsdSchema getSchemaByTargetNamespace(String namespace) {
+        NamespaceIndex index = namespaceIndex;
+
+        if (index == null || index.version != version) {
+            index = new NamespaceIndex(version, schemas);
+            namespaceIndex = index;
+        }
+
+        return index.schemas.get(namespace);
+    }
+
+    @Override
+    public XsdSchema get(int index) {
+        return schemas.get(index);
+    }
+
+    @Override
+    public int size() {
+        return schemas.size();
+    }
+
+    @Override
+    public XsdSchema set(int index, XsdSchema schema) {
+        XsdSchema previous = schemas.set(index, schema);
+        version++;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, XsdSchema schema) {
+        schemas.add(index, schema);
+        modCount++;
+        version++;
+    }
+
+    @Override
+    public XsdSchema remove(int index) {
+        XsdSchema removed = schemas.remove(index);
+        modCount++;
+        version++;
+        return removed;
+    }
+
+    /**
+     * Index of schemas by target namespace. First schema in list wins in case several schemas
+     * share the same target namespace.
+     */
+    private static final class NamespaceIndex {
+        private final int version;
+        private final Map<String, XsdSchema> schemas = new HashMap<String, XsdSchema>();
+
+        private NamespaceIndex(int version, List<XsdSchema> source) {
+            this.version = version;
+
+            for (XsdSchema schema : source) {
+                String targetNamespace = schema.getTargetNamespace();
+                if (StringUtils.hasText(targetNamespace) && !schemas.containsKey(targetNamespace)) {
+                    schemas.put(targetNamespace, schema);
+                }
+            }
+        }
+    }
+}
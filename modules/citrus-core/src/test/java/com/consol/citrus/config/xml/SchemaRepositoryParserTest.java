@@ -37,7 +37,7 @@ public class SchemaRepositoryParserTest extends AbstractBeanDefinitionParserTest
     public void testSchemaRepositoryParser() {
         Map<String, XsdSchemaRepository> schemaRepositories = beanDefinitionContext.getBeansOfType(XsdSchemaRepository.class);
         
-        Assert.assertEquals(schemaRepositories.size(), 3);
+        Assert.assertEquals(schemaRepositories.size(), 4);
         
         // 1st schema repository
         XsdSchemaRepository schemaRepository = schemaRepositories.get("schemaRepository1");
@@ -65,6 +65,14 @@ public class SchemaRepositoryParserTest extends AbstractBeanDefinitionParserTest
         // 3rd schema repository
         schemaRepository = schemaRepositories.get("schemaRepository3");
         Assert.assertEquals(schemaRepository.getSchemaMappingStrategy().getClass(), RootQNameSchemaMappingStrategy.class);
+        Assert.assertFalse(schemaRepository.isLazyInit());
+        Assert.assertEquals(schemaRepository.getLoadThreads(), 1);
+
+        // 4th schema repository
+        schemaRepository = schemaRepositories.get("schemaRepository4");
+        Assert.assertTrue(schemaRepository.isLazyInit());
+        Assert.assertEquals(schemaRepository.getLoadThreads(), 4);
+        Assert.assertEquals(schemaRepository.getSchemas().size(), 2);
 
         Assert.assertTrue(beanDefinitionContext.containsBean("schema1"));
         Assert.assertTrue(beanDefinitionContext.containsBean("schema2"));
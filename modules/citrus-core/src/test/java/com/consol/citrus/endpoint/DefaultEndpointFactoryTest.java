@@ -122,6 +122,34 @@ public class DefaultEndpointFactoryTest {
         verify(applicationContext);
     }
 
+    @Test
+    public void testCachedEndpoint() throws Exception {
+        Map<String, EndpointComponent> components = new HashMap<String, EndpointComponent>();
+        components.put("custom", new ChannelEndpointComponent());
+
+        reset(applicationContext);
+        expect(applicationContext.getBeansOfType(EndpointComponent.class)).andReturn(components).once();
+        expect(applicationContext.getBean(IntegrationContextUtils.INTEGRATION_HEADER_CHANNEL_REGISTRY_BEAN_NAME, HeaderChannelRegistry.class))
+                .andThrow(new NoSuchBeanDefinitionException(IntegrationContextUtils.INTEGRATION_HEADER_CHANNEL_REGISTRY_BEAN_NAME)).anyTimes();
+        replay(applicationContext);
+
+        TestContext context = new TestContext();
+        context.setApplicationContext(applicationContext);
+        context.setVariable("channelName", "custom.channel");
+
+        DefaultEndpointFactory factory = new DefaultEndpointFactory();
+        Endpoint endpoint = factory.create("custom:custom.channel", context);
+
+        Assert.assertSame(factory.create("custom:custom.channel", context), endpoint);
+        Assert.assertSame(factory.create("custom:${channelName}", context), endpoint);
+
+        Endpoint other = factory.create("custom:other.channel", context);
+        Assert.assertNotSame(other, endpoint);
+        Assert.assertEquals(((ChannelEndpoint)other).getEndpointConfiguration().getChannelName(), "other.channel");
+
+        verify(applicationContext);
+    }
+
     @Test
     public void testResolveUnknownEndpointComponent() throws Exception {
         reset(applicationContext);
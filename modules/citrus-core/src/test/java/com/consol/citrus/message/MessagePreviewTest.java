@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.message;
+
+import com.consol.citrus.CitrusConstants;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MessagePreviewTest {
+
+    @AfterMethod
+    public void resetPreviewSize() {
+        System.clearProperty(CitrusConstants.CITRUS_MESSAGE_PREVIEW_SIZE);
+    }
+
+    @Test
+    public void testMessagePreview() {
+        Message message = new DefaultMessage("<TestMessage>Hello</TestMessage>").setHeader("operation", "sayHello");
+
+        Assert.assertEquals(MessagePreview.of(message).toString(), message.toString());
+        Assert.assertEquals(MessagePreview.of(new RawMessage("Raw content")).toString(), "Raw content");
+        Assert.assertEquals(MessagePreview.of((Message) null).toString(), "");
+    }
+
+    @Test
+    public void testTruncatedPreview() {
+        System.setProperty(CitrusConstants.CITRUS_MESSAGE_PREVIEW_SIZE, "5");
+
+        Assert.assertEquals(MessagePreview.of("Hello Citrus!").toString(), "Hello... [8 more characters]");
+        Assert.assertTrue(MessagePreview.of(new DefaultMessage("Hello Citrus!")).toString().startsWith("DEFAULTMESSAGE [payload: Hello... [8 more characters]][headers: "));
+        Assert.assertEquals(MessagePreview.of("Hello").toString(), "Hello");
+    }
+
+    @Test
+    public void testPreviewSizeDisabled() {
+        System.setProperty(CitrusConstants.CITRUS_MESSAGE_PREVIEW_SIZE, "0");
+
+        Assert.assertEquals(MessagePreview.of("Hello Citrus!").toString(), "Hello Citrus!");
+    }
+
+    @Test
+    public void testPrettyPrintedPreview() {
+        String preview = MessagePreview.prettyPrinted("<TestMessage><Text>Hello</Text></TestMessage>").toString();
+
+        Assert.assertTrue(preview.contains("<TestMessage>" + System.getProperty("line.separator")));
+        Assert.assertTrue(preview.contains("<Text>Hello</Text>" + System.getProperty("line.separator") + "</TestMessage>"));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.report;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.RawMessage;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MessageTracingTestListenerTest {
+
+    private File outputDirectory;
+
+    @BeforeMethod
+    public void createOutputDirectory() throws IOException {
+        outputDirectory = File.createTempFile("citrus-trace", "");
+        Assert.assertTrue(outputDirectory.delete());
+        Assert.assertTrue(outputDirectory.mkdirs());
+        outputDirectory.deleteOnExit();
+    }
+
+    @Test
+    public void testTracePerTest() throws Exception {
+        MessageTracingTestListener listener = createListener();
+
+        TestCase fooTest = createTestCase("FooTest");
+        TestCase barTest = createTestCase("BarTest");
+        TestContext fooContext = createTestContext(fooTest);
+        TestContext barContext = createTestContext(barTest);
+
+        listener.onTestStart(fooTest);
+        listener.onTestStart(barTest);
+        listener.onOutboundMessage(new RawMessage("Foo request"), fooContext);
+        listener.onOutboundMessage(new RawMessage("Bar request"), barContext);
+        listener.onOutboundMessage(new DefaultMessage("Not traced"), fooContext);
+        listener.onInboundMessage(new RawMessage("Foo response"), fooContext);
+        listener.onTestFinish(fooTest);
+        listener.onInboundMessage(new RawMessage("Bar response"), barContext);
+        listener.onTestFinish(barTest);
+        listener.destroy();
+
+        String fooTrace = read(new File(outputDirectory, "FooTest.msgs"));
+        Assert.assertTrue(fooTrace.contains("OUTBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("Foo request"));
+        Assert.assertTrue(fooTrace.contains("INBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("Foo response"));
+        Assert.assertFalse(fooTrace.contains("Bar"));
+        Assert.assertFalse(fooTrace.contains("Not traced"));
+
+        String barTrace = read(new File(outputDirectory, "BarTest.msgs"));
+        Assert.assertTrue(barTrace.contains("Bar request"));
+        Assert.assertTrue(barTrace.contains("Bar response"));
+        Assert.assertFalse(barTrace.contains("Foo"));
+    }
+
+    @Test
+    public void testTraceWrittenOnTestFinish() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getAbsolutePath() + "/"));
+        listener.setGzip(true);
+        listener.afterPropertiesSet();
+
+        TestCase fooTest = createTestCase("FooTest");
+        TestContext fooContext = createTestContext(fooTest);
+
+        listener.onTestStart(fooTest);
+        listener.onOutboundMessage(new RawMessage("Foo request"), fooContext);
+        listener.onInboundMessage(new RawMessage("Foo response"), fooContext);
+        listener.onTestFinish(fooTest);
+
+        // trace file is complete without destroying the listener
+        String fooTrace = readGzip(new File(outputDirectory, "FooTest.msgs.gz"));
+        Assert.assertTrue(fooTrace.contains("Foo request"));
+        Assert.assertTrue(fooTrace.contains("Foo response"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testNoTraceFileWithoutMessages() throws Exception {
+        MessageTracingTestListener listener = createListener();
+
+        TestCase fooTest = createTestCase("FooTest");
+        listener.onTestStart(fooTest);
+        listener.onTestFinish(fooTest);
+        listener.destroy();
+
+        Assert.assertFalse(new File(outputDirectory, "FooTest.msgs").exists());
+    }
+
+    @Test
+    public void testGzipAndRotation() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getAbsolutePath() + "/"));
+        listener.setGzip(true);
+        listener.setMaxFileSize(1L);
+        listener.afterPropertiesSet();
+
+        TestCase fooTest = createTestCase("FooTest");
+        TestContext fooContext = createTestContext(fooTest);
+
+        listener.onTestStart(fooTest);
+        listener.onOutboundMessage(new RawMessage("Foo request"), fooContext);
+        listener.onInboundMessage(new RawMessage("Foo response"), fooContext);
+        listener.onTestFinish(fooTest);
+        listener.destroy();
+
+        Assert.assertTrue(readGzip(new File(outputDirectory, "FooTest.msgs.gz")).contains("Foo request"));
+        Assert.assertTrue(readGzip(new File(outputDirectory, "FooTest.1.msgs.gz")).contains("Foo response"));
+        Assert.assertFalse(new File(outputDirectory, "FooTest.2.msgs.gz").exists());
+    }
+
+    private MessageTracingTestListener createListener() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getAbsolutePath() + "/"));
+        listener.afterPropertiesSet();
+        return listener;
+    }
+
+    private TestCase createTestCase(String name) {
+        TestCase test = new TestCase();
+        test.setName(name);
+        return test;
+    }
+
+    private TestContext createTestContext(TestCase test) {
+        TestContext context = new TestContext();
+        context.setVariable(CitrusConstants.TEST_NAME_VARIABLE, test.getName());
+        return context;
+    }
+
+    private String read(File file) throws IOException {
+        return FileCopyUtils.copyToString(new FileReader(file));
+    }
+
+    private String readGzip(File file) throws IOException {
+        return FileCopyUtils.copyToString(new InputStreamReader(new GZIPInputStream(new FileInputStream(file))));
+    }
+}
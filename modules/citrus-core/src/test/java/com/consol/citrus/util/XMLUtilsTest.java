@@ -16,10 +16,12 @@
 
 package com.consol.citrus.util;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.easymock.EasyMock;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.w3c.dom.*;
+import org.w3c.dom.ls.LSException;
 
 import javax.xml.XMLConstants;
 import java.io.*;
@@ -375,4 +377,44 @@ public class XMLUtilsTest {
         Assert.assertEquals(XMLUtils.omitXmlDeclaration(""), "");
         Assert.assertEquals(XMLUtils.omitXmlDeclaration("Test"), "Test");
     }
+
+    @Test
+    public void testEncodingDeclarationRoundTrip() throws Exception {
+        String payload = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                "<testRequest xmlns=\"http://www.consol.de/test-default\">ÄäÖöÜü</testRequest>";
+
+        Document doc = XMLUtils.parseMessagePayload(payload);
+        Assert.assertEquals(XMLUtils.getTargetCharset(doc).name(), "ISO-8859-1");
+        Assert.assertEquals(XMLUtils.serialize(doc), payload + System.getProperty("line.separator"));
+
+        doc = XMLUtils.parseMessagePayload("<testRequest>Test</testRequest>");
+        Assert.assertEquals(XMLUtils.getTargetCharset(doc).name(), "UTF-8");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testParseUnsupportedEncoding() {
+        XMLUtils.parseMessagePayload("<?xml version=\"1.0\" encoding=\"UNKNOWN\"?><testRequest>Test</testRequest>");
+    }
+
+    @Test
+    public void testParseMessagePayloadRepeatedly() {
+        Document first = XMLUtils.parseMessagePayload("<testRequest><text>first</text></testRequest>");
+        Document second = XMLUtils.parseMessagePayload("<testResponse><text>second</text></testResponse>");
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getDocumentElement().getLocalName(), "testRequest");
+        Assert.assertEquals(first.getDocumentElement().getTextContent(), "first");
+        Assert.assertEquals(second.getDocumentElement().getLocalName(), "testResponse");
+        Assert.assertEquals(second.getDocumentElement().getTextContent(), "second");
+
+        try {
+            XMLUtils.parseMessagePayload("<testRequest><text>invalid</testRequest>");
+            Assert.fail("Missing exception due to invalid XML");
+        } catch (LSException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+
+        Assert.assertEquals(XMLUtils.parseMessagePayload("<testRequest>valid</testRequest>")
+                .getDocumentElement().getTextContent(), "valid");
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.validation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class ValidationUtilsTest {
+
+    @Test
+    public void testAssertValueMatch() {
+        ValidationUtils.assertValueMatch(true, "Values not equal", "foo", "bar");
+        ValidationUtils.assertValueMatch(true, "Values not equal for element", "name", "foo", "bar");
+
+        try {
+            ValidationUtils.assertValueMatch(false, "Values not equal", "foo", "bar");
+            Assert.fail("Missing exception due to value mismatch");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(e.getMessage(), "Values not equal, expected 'foo' but was 'bar'");
+        }
+    }
+
+    @Test
+    public void testAssertValueMatchWithItemName() {
+        try {
+            ValidationUtils.assertValueMatch(false, "Values not equal for element", "name", "foo", null);
+            Assert.fail("Missing exception due to value mismatch");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(e.getMessage(), "Values not equal for element 'name', expected 'foo' but was 'null'");
+        }
+    }
+}
@@ -16,8 +16,10 @@
 
 package com.consol.citrus.validation.matcher;
 
+import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import static org.easymock.EasyMock.*;
@@ -59,4 +61,32 @@ public class ValidationMatcherUtilsTest extends AbstractTestNGUnitTest {
         
         verify(validationMatcher);
     }
+
+    @Test
+    public void testValidationMatcherExpressionParsedOnce() {
+        ValidationMatcherExpression expression = ValidationMatcherUtils.getValidationMatcherExpression("@foo:customMatcher('value')@");
+
+        Assert.assertSame(ValidationMatcherUtils.getValidationMatcherExpression("@foo:customMatcher('value')@"), expression);
+        Assert.assertEquals(expression.getPrefix(), "foo:");
+        Assert.assertEquals(expression.getMatcherName(), "customMatcher");
+        Assert.assertEquals(expression.getMatcherValue(), "'value'");
+    }
+
+    @Test
+    public void testValidationMatcherExpressionResolvesVariablesOnEachCall() {
+        ValidationMatcherExpression expression = ValidationMatcherUtils.getValidationMatcherExpression("@equalsIgnoreCase('${expected}')@");
+
+        context.setVariable("expected", "foo");
+        expression.validate("field", "FOO", context);
+
+        context.setVariable("expected", "bar");
+        expression.validate("field", "BAR", context);
+
+        try {
+            expression.validate("field", "FOO", context);
+            Assert.fail("Missing validation exception");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("'bar'"));
+        }
+    }
 }
@@ -38,6 +38,16 @@ public class DatePatternValidationMatcherTest extends AbstractTestNGUnitTest {
     	assertException("field", "201110-10", "yy-MM-dd");
     }
 
+    @Test
+    public void testValidateInvalidDateFormat() {
+        try {
+            matcher.validate("field", "2011-10-10", "yyyy-MM-dd-bb", context);
+            Assert.fail("Expected exception not thrown!");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("invalid date format"));
+        }
+    }
+
     private void assertException(String fieldName, String value, String control) {
     	try {
     		matcher.validate(fieldName, value, control, context);
@@ -40,6 +40,16 @@ public class MatchesValidationMatcherTest extends AbstractTestNGUnitTest {
     	assertException("field", "aaaab", "aaab*");
     }
 
+    @Test
+    public void testValidateInvalidPattern() {
+        try {
+            matcher.validate("field", "aaaab", "a(b", context);
+            Assert.fail("Expected exception not thrown!");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("invalid pattern syntax"));
+        }
+    }
+
     private void assertException(String fieldName, String value, String control) {
     	try {
     		matcher.validate(fieldName, value, control, context);
@@ -689,6 +689,36 @@ public class DomXmlMessageValidatorTest extends AbstractTestNGUnitTest {
         validator.validateMessagePayload(message, validationContext, context);
     }
     
+    @Test
+    public void testValidateMessagePayloadWithPathIgnoresOnRepeatingElements() {
+        Message message = new DefaultMessage("<root>"
+                        + "<element attributeA='attribute-value' attributeB='changed'>"
+                        + "<sub-element attribute='A'>ignored 1</sub-element>"
+                        + "<sub-element attribute='A'>ignored 2</sub-element>"
+                        + "<sub-element attribute='A'>ignored 3</sub-element>"
+                        + "</element>"
+                    + "</root>");
+
+        Message controlMessage = new DefaultMessage("<root>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "</element>"
+                    + "</root>");
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+
+        Set<String> ignoreExpressions = new HashSet<String>();
+        ignoreExpressions.add("root.element.sub-element");
+        ignoreExpressions.add("root.element.attributeB");
+
+        validationContext.setControlMessage(controlMessage);
+        validationContext.setIgnoreExpressions(ignoreExpressions);
+        DomXmlMessageValidator validator = new DomXmlMessageValidator();
+        validator.validateMessagePayload(message, validationContext, context);
+    }
+
     @Test(expectedExceptions = {ValidationException.class})
     public void testValidateMessagePayloadWithValidationMatchersFailsBecauseOfAttribute() {
         Message message = new DefaultMessage("<root>"
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.validation.xml;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.xml.XsdSchemaRepository;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.xml.xsd.SimpleXsdSchema;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class StreamingXmlMessageValidatorTest extends AbstractTestNGUnitTest {
+
+    private StreamingXmlMessageValidator validator = new StreamingXmlMessageValidator();
+
+    private String receivedPayload = "<root xmlns='http://citrus'>\n"
+                        + "  <element attributeA='attribute-value' attributeB='attribute-value'>\n"
+                        + "    <sub-element attribute='A'>text-value</sub-element>\n"
+                        + "    <!-- comment -->\n"
+                        + "    <sub-element attribute='B'>other-value</sub-element>\n"
+                        + "  </element>\n"
+                    + "</root>";
+
+    @Test
+    public void testValidateMessagePayload() {
+        validate(receivedPayload, "<ns0:root xmlns:ns0='http://citrus'>"
+                        + "<ns0:element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<ns0:sub-element attribute='A'>text-value</ns0:sub-element>"
+                        + "<ns0:sub-element attribute='B'>other-value</ns0:sub-element>"
+                        + "</ns0:element>"
+                    + "</ns0:root>", createValidationContext());
+    }
+
+    @Test
+    public void testValidateMessagePayloadWithPlaceholdersAndMatchers() {
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='@ignore@' attributeB='@startsWith(attribute)@'>"
+                        + "<sub-element attribute='A'>@ignore@</sub-element>"
+                        + "<sub-element attribute='B'>@startsWith(other)@</sub-element>"
+                        + "</element>"
+                    + "</root>", createValidationContext());
+    }
+
+    @Test
+    public void testValidateMessagePayloadWithIgnoreExpressions() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setIgnoreExpressions(Collections.singleton("root.element.sub-element"));
+
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='changed'>changed</sub-element>"
+                        + "<sub-element>changed<nested/></sub-element>"
+                        + "</element>"
+                    + "</root>", validationContext);
+    }
+
+    @Test
+    public void testValidateMessagePayloadWithXPathIgnoreExpressions() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setIgnoreExpressions(Collections.singleton("//ns0:element/ns0:sub-element[2]"));
+        validationContext.setNamespaces(Collections.singletonMap("ns0", "http://citrus"));
+
+        validate(receivedPayload.replace("<!-- comment -->", ""), "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='B'>changed</sub-element>"
+                        + "</element>"
+                    + "</root>", validationContext);
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*Node value not equal for element 'sub-element'.*")
+    public void testValidateMessagePayloadTextMismatch() {
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='B'>wrong-value</sub-element>"
+                        + "</element>"
+                    + "</root>", createValidationContext());
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*Values not equal for attribute 'attribute'.*")
+    public void testValidateMessagePayloadAttributeMismatch() {
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='wrong'>text-value</sub-element>"
+                        + "<sub-element attribute='B'>other-value</sub-element>"
+                        + "</element>"
+                    + "</root>", createValidationContext());
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*Element namespace not equal for element 'root'.*")
+    public void testValidateMessagePayloadNamespaceMismatch() {
+        validate(receivedPayload, "<root xmlns='http://citrus/wrong'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='B'>other-value</sub-element>"
+                        + "</element>"
+                    + "</root>", createValidationContext());
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*Number of child elements not equal for element 'element'.*")
+    public void testValidateMessagePayloadMissingElement() {
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "</element>"
+                    + "</root>", createValidationContext());
+    }
+
+    @Test
+    public void testValidateMessagePayloadIgnoreRootElement() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setIgnoreExpressions(Collections.singleton("root"));
+
+        validate(receivedPayload, "<root xmlns='http://citrus'><changed/></root>", validationContext);
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*Node value not equal for element 'sub-element'.*")
+    public void testValidateMessagePayloadRelativeIgnoreExpression() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setIgnoreExpressions(Collections.singleton("element.sub-element"));
+
+        // relative path names only ignore the first matching element
+        validate(receivedPayload, "<root xmlns='http://citrus'>"
+                        + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                        + "<sub-element attribute='A'>changed</sub-element>"
+                        + "<sub-element attribute='B'>changed</sub-element>"
+                        + "</element>"
+                    + "</root>", validationContext);
+    }
+
+    @Test
+    public void testValidateNamespaces() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setControlNamespaces(Collections.singletonMap("", "http://citrus"));
+
+        validate(receivedPayload, receivedPayload, validationContext);
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Missing namespace ns1\\(http://citrus/ns1\\) in node root")
+    public void testValidateNamespacesMissing() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setControlNamespaces(Collections.singletonMap("ns1", "http://citrus/ns1"));
+
+        validate(receivedPayload, receivedPayload, validationContext);
+    }
+
+    @Test
+    public void testValidateXMLSchema() throws Exception {
+        StreamingXmlMessageValidator schemaValidator = new StreamingXmlMessageValidator();
+
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        SimpleXsdSchema schema = new SimpleXsdSchema(new ClassPathResource("com/consol/citrus/validation/test.xsd"));
+        schema.afterPropertiesSet();
+        schemaRepository.getSchemas().add(schema);
+        schemaValidator.addSchemaRepository(schemaRepository);
+
+        schemaValidator.validateXMLSchema(new DefaultMessage("<message xmlns='http://citrus'>"
+                        + "<correlationId>Kx1R123456789</correlationId>"
+                        + "<bookingId>Bx1G987654321</bookingId>"
+                        + "<test>Hello TestFramework</test>"
+                    + "</message>"), new XmlMessageValidationContext());
+    }
+
+    @Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Schema validation failed:.*wrongElement.*")
+    public void testValidateXMLSchemaFailed() throws Exception {
+        StreamingXmlMessageValidator schemaValidator = new StreamingXmlMessageValidator();
+
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        SimpleXsdSchema schema = new SimpleXsdSchema(new ClassPathResource("com/consol/citrus/validation/test.xsd"));
+        schema.afterPropertiesSet();
+        schemaRepository.getSchemas().add(schema);
+        schemaValidator.addSchemaRepository(schemaRepository);
+
+        schemaValidator.validateXMLSchema(new DefaultMessage("<message xmlns='http://citrus'>"
+                        + "<correlationId>Kx1R123456789</correlationId>"
+                        + "<wrongElement>Bx1G987654321</wrongElement>"
+                        + "<test>Hello TestFramework</test>"
+                    + "</message>"), new XmlMessageValidationContext());
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = ".*does not support path validation expressions.*")
+    public void testPathValidationExpressionsNotSupported() {
+        XmlMessageValidationContext validationContext = createValidationContext();
+        validationContext.setPathValidationExpressions(Collections.singletonMap("root.element.sub-element", "text-value"));
+
+        validate(receivedPayload, receivedPayload, validationContext);
+    }
+
+    private void validate(String received, String control, XmlMessageValidationContext validationContext) {
+        Message controlMessage = new DefaultMessage(control);
+        validationContext.setControlMessage(controlMessage);
+
+        validator.validateMessage(new DefaultMessage(received), context, validationContext);
+    }
+
+    private XmlMessageValidationContext createValidationContext() {
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setSchemaValidation(false);
+        return validationContext;
+    }
+}
@@ -98,4 +98,74 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), WsdlXsdSchema.class);
     }
+
+    @Test
+    public void testLazyInit() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.setLazyInit(true);
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/unknown/unknown.xsd");
+
+        // unknown location is not loaded on startup
+        schemaRepository.afterPropertiesSet();
+
+        schemaRepository.getLocations().clear();
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/schema/citrus-config.xsd");
+
+        Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
+        Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), SimpleXsdSchema.class);
+    }
+
+    @Test
+    public void testParallelLoading() throws Exception {
+        XsdSchemaRepository sequentialRepository = new XsdSchemaRepository();
+        sequentialRepository.getLocations().add("classpath:com/consol/citrus/schema/*.xsd");
+        sequentialRepository.getLocations().add("classpath:com/consol/citrus/xml/BookStore.wsdl");
+        sequentialRepository.afterPropertiesSet();
+
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.setLoadThreads(4);
+        schemaRepository.getLocations().addAll(sequentialRepository.getLocations());
+        schemaRepository.afterPropertiesSet();
+
+        Assert.assertEquals(schemaRepository.getSchemas().size(), 5);
+        for (int i = 0; i < schemaRepository.getSchemas().size(); i++) {
+            Assert.assertEquals(schemaRepository.getSchemas().get(i).getTargetNamespace(),
+                    sequentialRepository.getSchemas().get(i).getTargetNamespace());
+        }
+        Assert.assertEquals(schemaRepository.getSchemas().get(4).getClass(), WsdlXsdSchema.class);
+    }
+
+    @Test(expectedExceptions = { IllegalArgumentException.class })
+    public void testUnknownLocationParallelLoading() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.setLoadThreads(2);
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/schema/citrus-config.xsd");
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/unknown/unknown.xsd");
+
+        schemaRepository.afterPropertiesSet();
+    }
+
+    @Test
+    public void testRetryFailedLoading() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.setLazyInit(true);
+        schemaRepository.setLoadThreads(2);
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/schema/citrus-config.xsd");
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/unknown/unknown.xsd");
+
+        try {
+            schemaRepository.getSchemas();
+            Assert.fail("Missing exception due to unknown schema location");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        schemaRepository.getLocations().remove(1);
+
+        // failed load does not leave partial schemas behind
+        Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
+    }
 }
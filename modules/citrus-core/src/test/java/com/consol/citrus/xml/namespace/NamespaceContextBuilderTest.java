@@ -0,0 +1,77 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.xml.namespace;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.xml.namespace.NamespaceContext;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class NamespaceContextBuilderTest {
+
+    private NamespaceContextBuilder namespaceContextBuilder = new NamespaceContextBuilder();
+
+    @Test
+    public void testBuildContext() {
+        Message message = new DefaultMessage("<ns1:root xmlns:ns1=\"http://www.consol.de/ns1\" xmlns:ns2=\"http://www.consol.de/ns2\"/>");
+
+        Map<String, String> defaultMappings = new HashMap<String, String>();
+        defaultMappings.put("def", "http://www.consol.de/default");
+        namespaceContextBuilder.setNamespaceMappings(defaultMappings);
+
+        NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(message,
+                Collections.singletonMap("explicit", "http://www.consol.de/ns2"));
+
+        Assert.assertEquals(namespaceContext.getNamespaceURI("def"), "http://www.consol.de/default");
+        Assert.assertEquals(namespaceContext.getNamespaceURI("ns1"), "http://www.consol.de/ns1");
+        Assert.assertEquals(namespaceContext.getNamespaceURI("explicit"), "http://www.consol.de/ns2");
+        Assert.assertEquals(namespaceContext.getNamespaceURI("ns2"), "");
+    }
+
+    @Test
+    public void testBuildContextCached() {
+        Message message = new DefaultMessage("<ns1:root xmlns:ns1=\"http://www.consol.de/ns1\"/>");
+
+        NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(message, null);
+        Assert.assertSame(namespaceContextBuilder.buildContext(message, null), namespaceContext);
+        Assert.assertSame(namespaceContextBuilder.buildContext(message, Collections.<String, String>emptyMap()), namespaceContext,
+                "Expected reuse for identical explicit namespaces");
+
+        NamespaceContext explicitContext = namespaceContextBuilder.buildContext(message,
+                Collections.singletonMap("ns", "http://www.consol.de/explicit"));
+        Assert.assertNotSame(explicitContext, namespaceContext);
+        Assert.assertEquals(explicitContext.getNamespaceURI("ns"), "http://www.consol.de/explicit");
+    }
+
+    @Test
+    public void testBuildContextPayloadChanged() {
+        Message message = new DefaultMessage("<ns1:root xmlns:ns1=\"http://www.consol.de/ns1\"/>");
+        Assert.assertEquals(namespaceContextBuilder.buildContext(message, null).getNamespaceURI("ns1"), "http://www.consol.de/ns1");
+
+        message.setPayload("<ns1:root xmlns:ns1=\"http://www.consol.de/changed\"/>");
+        Assert.assertEquals(namespaceContextBuilder.buildContext(message, null).getNamespaceURI("ns1"), "http://www.consol.de/changed");
+    }
+}
@@ -67,5 +67,79 @@ public class TargetNamespaceSchemaMappingStrategyTest {
         
         verify(schemaMock);
     }
-    
+
+    @Test
+    public void testMappingIndexUpdate() {
+        TargetNamespaceSchemaMappingStrategy strategy = new TargetNamespaceSchemaMappingStrategy();
+        XsdSchema otherSchemaMock = EasyMock.createMock(XsdSchema.class);
+
+        List<XsdSchema> schemas = new XsdSchemaList();
+        schemas.add(schemaMock);
+
+        reset(schemaMock, otherSchemaMock);
+
+        expect(schemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema").anyTimes();
+        expect(otherSchemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema/other").anyTimes();
+
+        replay(schemaMock, otherSchemaMock);
+
+        Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema", "foo"), schemaMock);
+        Assert.assertNull(strategy.getSchema(schemas, "http://citrusframework.org/schema/other", "foo"));
+
+        schemas.add(otherSchemaMock);
+        Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema/other", "foo"), otherSchemaMock);
+        Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema", "foo"), schemaMock);
+
+        verify(schemaMock, otherSchemaMock);
+    }
+
+    @Test
+    public void testMappingIndexReplacedSchema() {
+        TargetNamespaceSchemaMappingStrategy strategy = new TargetNamespaceSchemaMappingStrategy();
+        XsdSchema otherSchemaMock = EasyMock.createMock(XsdSchema.class);
+
+        List<XsdSchema> schemas = new XsdSchemaList();
+        schemas.add(schemaMock);
+
+        reset(schemaMock, otherSchemaMock);
+
+        expect(schemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema").anyTimes();
+        expect(otherSchemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema/other").anyTimes();
+
+        replay(schemaMock, otherSchemaMock);
+
+        Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema", "foo"), schemaMock);
+
+        schemas.set(0, otherSchemaMock);
+        Assert.assertNull(strategy.getSchema(schemas, "http://citrusframework.org/schema", "foo"));
+        Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema/other", "foo"), otherSchemaMock);
+
+        verify(schemaMock, otherSchemaMock);
+    }
+
+    @Test
+    public void testSharedStrategy() {
+        TargetNamespaceSchemaMappingStrategy strategy = new TargetNamespaceSchemaMappingStrategy();
+        XsdSchema otherSchemaMock = EasyMock.createMock(XsdSchema.class);
+
+        List<XsdSchema> schemas = new XsdSchemaList();
+        schemas.add(schemaMock);
+        List<XsdSchema> otherSchemas = new XsdSchemaList();
+        otherSchemas.add(otherSchemaMock);
+
+        reset(schemaMock, otherSchemaMock);
+
+        // indexes are built once per schema list
+        expect(schemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema").once();
+        expect(otherSchemaMock.getTargetNamespace()).andReturn("http://citrusframework.org/schema/other").once();
+
+        replay(schemaMock, otherSchemaMock);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(strategy.getSchema(schemas, "http://citrusframework.org/schema", "foo"), schemaMock);
+            Assert.assertEquals(strategy.getSchema(otherSchemas, "http://citrusframework.org/schema/other", "foo"), otherSchemaMock);
+        }
+
+        verify(schemaMock, otherSchemaMock);
+    }
 }
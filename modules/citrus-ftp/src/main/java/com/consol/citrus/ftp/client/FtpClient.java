@@ -31,8 +31,14 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
 import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
+ * Ftp client sends commands to a ftp server. Client holds a pool of authenticated connections so several
+ * commands are able to run concurrently. Each command borrows a connection from the pool and returns it
+ * after the command reply was received.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -40,9 +46,18 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(FtpClient.class);
 
-    /** Apache ftp client */
+    /** Apache ftp client, first connection in pool */
     private FTPClient ftpClient;
 
+    /** All connections created by this client */
+    private final List<FTPClient> connections = new CopyOnWriteArrayList<FTPClient>();
+
+    /** Idle connections ready to be borrowed */
+    private final BlockingQueue<FTPClient> idleConnections = new LinkedBlockingQueue<FTPClient>();
+
+    /** Monitor for reply message hand-off */
+    private final Object replyMonitor = new Object();
+
     /** Apache ftp client configuration */
     private FTPClientConfig config = new FTPClientConfig();
 
@@ -87,27 +102,128 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
         log.info(String.format("Sending FTP message to: ftp://'%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to be sent:\n" + ftpMessage.getPayload().toString());
+            log.debug("Message to be sent:\n{}", MessagePreview.of(ftpMessage.getPayload(String.class)));
         }
 
+        FTPClient connection = borrowConnection();
         try {
-            connectAndLogin();
-
-            int reply = ftpClient.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
+            int reply = connection.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
 
             if(!FTPReply.isPositiveCompletion(reply) && !FTPReply.isPositivePreliminary(reply)) {
-                throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply, ftpClient.getReplyString()));
+                throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply, connection.getReplyString()));
             }
 
             log.info(String.format("FTP message was successfully sent to: '%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
             onReplyMessage(correlationKey, new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
                                                         .setReplyCode(reply)
-                                                        .setReplyString(ftpClient.getReplyString()));
+                                                        .setReplyString(connection.getReplyString()));
         } catch (IOException e) {
             throw new CitrusRuntimeException("Failed to execute ftp command", e);
+        } finally {
+            releaseConnection(connection);
         }
+    }
+
+    /**
+     * Borrows connection from pool. Creates new connection when no idle connection is available and pool size
+     * is not exceeded yet, otherwise waits for a connection to be released. Connection gets validated with a
+     * NOOP command if enabled and is connected and logged in before it is handed out.
+     * @return
+     */
+    protected FTPClient borrowConnection() {
+        FTPClient connection = idleConnections.poll();
+
+        if (connection == null) {
+            connection = createConnection();
+        }
+
+        if (connection == null) {
+            try {
+                connection = idleConnections.poll(getEndpointConfiguration().getTimeout(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for free FTP connection", e);
+            }
+
+            if (connection == null) {
+                throw new CitrusRuntimeException(String.format("Failed to get FTP connection from pool within %s ms", getEndpointConfiguration().getTimeout()));
+            }
+        }
+
+        try {
+            if (getEndpointConfiguration().isValidateConnection() && connection.isConnected() && !isValid(connection)) {
+                log.info("Discarding invalid FTP connection - reconnecting");
+                disconnect(connection);
+            }
+
+            connectAndLogin(connection);
+        } catch (IOException e) {
+            releaseConnection(connection);
+            throw new CitrusRuntimeException("Failed to open FTP connection", e);
+        } catch (RuntimeException e) {
+            releaseConnection(connection);
+            throw e;
+        }
+
+        return connection;
+    }
+
+    /**
+     * Returns connection to pool of idle connections.
+     * @param connection
+     */
+    protected void releaseConnection(FTPClient connection) {
+        idleConnections.offer(connection);
+    }
+
+    /**
+     * Creates new connection if pool size limit is not reached yet. First connection created is always the
+     * configured apache ftp client.
+     * @return the new connection or null if pool is exhausted
+     */
+    private synchronized FTPClient createConnection() {
+        if (ftpClient == null) {
+            ftpClient = createFtpClient();
+            configure(ftpClient);
+        }
+
+        if (!connections.contains(ftpClient)) {
+            connections.add(ftpClient);
+            return ftpClient;
+        }
+
+        if (connections.size() >= getEndpointConfiguration().getConnectionPoolSize()) {
+            return null;
+        }
+
+        FTPClient connection = createFtpClient();
+        configure(connection);
+        connections.add(connection);
 
+        return connection;
+    }
+
+    /**
+     * Creates new apache ftp client instance for additional pooled connections.
+     * @return
+     */
+    protected FTPClient createFtpClient() {
+        return new FTPClient();
+    }
+
+    /**
+     * Checks connection with NOOP command.
+     * @param connection
+     * @return
+     */
+    private boolean isValid(FTPClient connection) {
+        try {
+            return connection.sendNoOp();
+        } catch (IOException e) {
+            log.debug("FTP connection validation failed", e);
+            return false;
+        }
     }
 
     /**
@@ -115,6 +231,16 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
      * @throws IOException
      */
     protected void connectAndLogin() throws IOException {
+        connectAndLogin(ftpClient);
+    }
+
+    /**
+     * Opens given connection and performs login with user name and password if set. Does nothing if connection
+     * is already open.
+     * @param ftpClient
+     * @throws IOException
+     */
+    protected void connectAndLogin(FTPClient ftpClient) throws IOException {
         if (!ftpClient.isConnected()) {
             ftpClient.connect(getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
 
@@ -157,45 +283,62 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     @Override
     public Message receive(String selector, TestContext context, long timeout) {
         long timeLeft = timeout;
-        Message message = findReplyMessage(selector);
+        long deadline = System.currentTimeMillis() + timeout;
 
-        while (message == null && timeLeft > 0) {
-            timeLeft -= getEndpointConfiguration().getPollingInterval();
+        synchronized (replyMonitor) {
+            Message message = findReplyMessage(selector);
 
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft) + "ms");
-            }
+            while (message == null && timeLeft > 0) {
+                if (RETRY_LOG.isDebugEnabled()) {
+                    RETRY_LOG.debug("Reply message did not arrive yet - waiting " + timeLeft + "ms");
+                }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                try {
+                    replyMonitor.wait(Math.min(timeLeft, getEndpointConfiguration().getPollingInterval()));
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for reply message", e);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                message = findReplyMessage(selector);
+                timeLeft = deadline - System.currentTimeMillis();
             }
 
-            message = findReplyMessage(selector);
+            return message;
         }
-
-        return message;
     }
 
     /**
-     * Saves reply message with correlation key to local store for later processing.
+     * Saves reply message with correlation key to local store for later processing. Consumers waiting
+     * for reply messages get notified immediately.
      * @param correlationKey
      * @param replyMessage the reply message.
      */
     public void onReplyMessage(String correlationKey, Message replyMessage) {
-        replyManager.store(correlationKey, replyMessage);
+        synchronized (replyMonitor) {
+            replyManager.store(correlationKey, replyMessage);
+            replyMonitor.notifyAll();
+        }
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
         if (ftpClient == null) {
-            ftpClient = new FTPClient();
+            ftpClient = createFtpClient();
         }
 
-        ftpClient.configure(config);
+        configure(ftpClient);
+    }
+
+    /**
+     * Applies client configuration and command logging to connection.
+     * @param connection
+     */
+    private void configure(FTPClient connection) {
+        connection.configure(config);
 
-        ftpClient.addProtocolCommandListener(new ProtocolCommandListener() {
+        connection.addProtocolCommandListener(new ProtocolCommandListener() {
             @Override
             public void protocolCommandSent(ProtocolCommandEvent event) {
                 log.info("Send FTP command: " + event.getCommand());
@@ -210,16 +353,33 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
     @Override
     public void destroy() throws Exception {
-        if (ftpClient.isConnected()) {
-            ftpClient.logout();
+        Set<FTPClient> openConnections = new LinkedHashSet<FTPClient>(connections);
+        if (ftpClient != null) {
+            openConnections.add(ftpClient);
+        }
 
-            try {
-                ftpClient.disconnect();
-            } catch (IOException e) {
-                log.warn("Failed to disconnect from FTP server", e);
+        for (FTPClient connection : openConnections) {
+            if (connection.isConnected()) {
+                connection.logout();
+                disconnect(connection);
+
+                log.info("Successfully closed connection to FTP server");
             }
+        }
+
+        connections.clear();
+        idleConnections.clear();
+    }
 
-            log.info("Successfully closed connection to FTP server");
+    /**
+     * Disconnects given connection quietly.
+     * @param connection
+     */
+    private void disconnect(FTPClient connection) {
+        try {
+            connection.disconnect();
+        } catch (IOException e) {
+            log.warn("Failed to disconnect from FTP server", e);
         }
     }
 
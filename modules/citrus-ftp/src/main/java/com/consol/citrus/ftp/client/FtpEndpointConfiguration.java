@@ -44,6 +44,12 @@ public class FtpEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500;
 
+    /** Maximum number of concurrently opened connections */
+    private int connectionPoolSize = 1;
+
+    /** Validate idle connections with NOOP command before usage */
+    private boolean validateConnection = false;
+
     /**
      * Gets the ftp host.
      * @return
@@ -139,4 +145,36 @@ public class FtpEndpointConfiguration extends AbstractEndpointConfiguration {
     public String getPassword() {
         return password;
     }
+
+    /**
+     * Gets the connection pool size.
+     * @return
+     */
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of concurrently opened connections.
+     * @param connectionPoolSize
+     */
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    /**
+     * Gets the validate connection flag.
+     * @return
+     */
+    public boolean isValidateConnection() {
+        return validateConnection;
+    }
+
+    /**
+     * Enables validation of pooled connections before usage.
+     * @param validateConnection
+     */
+    public void setValidateConnection(boolean validateConnection) {
+        this.validateConnection = validateConnection;
+    }
 }
@@ -37,6 +37,10 @@ public class FtpServerParser extends AbstractServerParser {
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("server"), "ftpServer");
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("user-manager"), "userManager");
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("user-manager-properties"), "userManagerProperties");
+
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async-dispatch"), "asyncDispatch");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("dispatch-pool-size"), "dispatchPoolSize");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("response-timeout"), "responseTimeout");
     }
 
     @Override
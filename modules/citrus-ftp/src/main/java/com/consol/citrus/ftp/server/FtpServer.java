@@ -25,10 +25,13 @@ import org.apache.ftpserver.listener.ListenerFactory;
 import org.apache.ftpserver.usermanager.PropertiesUserManagerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Christoph Deppisch
@@ -48,6 +51,18 @@ public class FtpServer extends AbstractServer implements InitializingBean {
     /** Property file holding ftp user information */
     private Resource userManagerProperties;
 
+    /** Dispatch commands to endpoint adapter asynchronously */
+    private boolean asyncDispatch = false;
+
+    /** Number of threads dispatching commands in asynchronous mode */
+    private int dispatchPoolSize = 10;
+
+    /** Time in milliseconds ftp session waits for endpoint adapter response in asynchronous mode */
+    private long responseTimeout = 5000L;
+
+    /** Executor dispatching commands in asynchronous mode */
+    private ExecutorService dispatchExecutor;
+
     /** Do only start one instance after another so we need a static lock object */
     private static Object serverLock = new Object();
 
@@ -75,7 +90,12 @@ public class FtpServer extends AbstractServer implements InitializingBean {
                 serverFactory.setFileSystem(fileSystemFactory);
 
                 Map<String, Ftplet> ftpLets = new HashMap<String, Ftplet>();
-                ftpLets.put("citrusFtpLet", new FtpServerFtpLet(getEndpointAdapter()));
+                if (asyncDispatch) {
+                    dispatchExecutor = Executors.newFixedThreadPool(dispatchPoolSize, new CustomizableThreadFactory("CitrusFtpDispatch-"));
+                    ftpLets.put("citrusFtpLet", new FtpServerFtpLet(getEndpointAdapter(), dispatchExecutor, responseTimeout));
+                } else {
+                    ftpLets.put("citrusFtpLet", new FtpServerFtpLet(getEndpointAdapter()));
+                }
                 serverFactory.setFtplets(ftpLets);
 
                 ftpServer =serverFactory.createServer();
@@ -98,6 +118,10 @@ public class FtpServer extends AbstractServer implements InitializingBean {
                 }
             } catch (Exception e) {
                 throw new CitrusRuntimeException(e);
+            } finally {
+                if (dispatchExecutor != null) {
+                    dispatchExecutor.shutdownNow();
+                }
             }
         }
     }
@@ -196,4 +220,52 @@ public class FtpServer extends AbstractServer implements InitializingBean {
     public ListenerFactory getListenerFactory() {
         return listenerFactory;
     }
+
+    /**
+     * Enables asynchronous command dispatch.
+     * @param asyncDispatch
+     */
+    public void setAsyncDispatch(boolean asyncDispatch) {
+        this.asyncDispatch = asyncDispatch;
+    }
+
+    /**
+     * Gets the async dispatch flag.
+     * @return
+     */
+    public boolean isAsyncDispatch() {
+        return asyncDispatch;
+    }
+
+    /**
+     * Sets the number of threads dispatching commands in asynchronous mode.
+     * @param dispatchPoolSize
+     */
+    public void setDispatchPoolSize(int dispatchPoolSize) {
+        this.dispatchPoolSize = dispatchPoolSize;
+    }
+
+    /**
+     * Gets the dispatch pool size.
+     * @return
+     */
+    public int getDispatchPoolSize() {
+        return dispatchPoolSize;
+    }
+
+    /**
+     * Sets the time to wait for endpoint adapter response in asynchronous mode.
+     * @param responseTimeout
+     */
+    public void setResponseTimeout(long responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    /**
+     * Gets the response timeout.
+     * @return
+     */
+    public long getResponseTimeout() {
+        return responseTimeout;
+    }
 }
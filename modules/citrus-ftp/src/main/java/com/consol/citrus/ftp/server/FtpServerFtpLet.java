@@ -18,12 +18,16 @@ package com.consol.citrus.ftp.server;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.ftp.message.FtpMessage;
+import com.consol.citrus.message.Message;
 import org.apache.commons.net.ftp.FTPCmd;
 import org.apache.ftpserver.ftplet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.*;
 
 /**
  * Ftp servlet implementation that logs incoming connections and commands forwarding those to
@@ -31,6 +35,10 @@ import java.io.IOException;
  *
  * Test case can manage the Ftp command result by providing a Ftp result message.
  *
+ * When an executor is given commands are dispatched asynchronously to the endpoint adapter. Commands of one
+ * session are queued and handled in order, while different sessions are handled concurrently. The ftp server
+ * command thread waits at most for the response timeout before continuing with default command handling.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -42,12 +50,34 @@ public class FtpServerFtpLet implements Ftplet {
     /** Endpoint adapter */
     private final EndpointAdapter endpointAdapter;
 
+    /** Executor for asynchronous command dispatch, synchronous dispatch when null */
+    private final Executor dispatchExecutor;
+
+    /** Time to wait for endpoint adapter response in asynchronous dispatch mode */
+    private final long responseTimeout;
+
+    /** Command queues per ftp session */
+    private final ConcurrentMap<String, SessionQueue> sessionQueues = new ConcurrentHashMap<String, SessionQueue>();
+
     /**
      * Constructor using the server's endpoint adapter implementation.
      * @param endpointAdapter
      */
     public FtpServerFtpLet(EndpointAdapter endpointAdapter) {
+        this(endpointAdapter, null, 0L);
+    }
+
+    /**
+     * Constructor using the server's endpoint adapter implementation and executor for asynchronous
+     * command dispatch.
+     * @param endpointAdapter
+     * @param dispatchExecutor
+     * @param responseTimeout time to wait for endpoint adapter response, do not wait at all when zero
+     */
+    public FtpServerFtpLet(EndpointAdapter endpointAdapter, Executor dispatchExecutor, long responseTimeout) {
         this.endpointAdapter = endpointAdapter;
+        this.dispatchExecutor = dispatchExecutor;
+        this.responseTimeout = responseTimeout;
     }
 
     @Override
@@ -66,11 +96,62 @@ public class FtpServerFtpLet implements Ftplet {
 
         log.info(String.format("Received FTP command: '%s'", command));
 
-        endpointAdapter.handleMessage(new FtpMessage(FTPCmd.valueOf(command), request.getArgument()));
+        FtpMessage ftpMessage = new FtpMessage(FTPCmd.valueOf(command), request.getArgument());
+
+        if (dispatchExecutor == null) {
+            endpointAdapter.handleMessage(ftpMessage);
+        } else {
+            Future<Message> response = getSessionQueue(session).dispatch(ftpMessage);
+            waitForResponse(command, response);
+        }
 
         return FtpletResult.DEFAULT;
     }
 
+    /**
+     * Waits for endpoint adapter response with response timeout. Continues with default command handling
+     * when response is not available in time.
+     * @param command
+     * @param response
+     * @throws FtpException
+     */
+    private void waitForResponse(String command, Future<Message> response) throws FtpException {
+        if (responseTimeout <= 0) {
+            return;
+        }
+
+        try {
+            response.get(responseTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn(String.format("No response for FTP command '%s' within %s ms - continue with default command handling", command, responseTimeout));
+        } catch (ExecutionException e) {
+            log.warn(String.format("Failed to handle FTP command '%s'", command), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FtpException("Interrupted while waiting for FTP command response", e);
+        }
+    }
+
+    /**
+     * Gets command queue for session. Creates new queue if necessary.
+     * @param session
+     * @return
+     */
+    private SessionQueue getSessionQueue(FtpSession session) {
+        String sessionId = session.getSessionId().toString();
+        SessionQueue queue = sessionQueues.get(sessionId);
+
+        if (queue == null) {
+            SessionQueue newQueue = new SessionQueue();
+            queue = sessionQueues.putIfAbsent(sessionId, newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+
+        return queue;
+    }
+
     @Override
     public FtpletResult afterCommand(FtpSession session, FtpRequest request, FtpReply reply) throws FtpException, IOException {
         return FtpletResult.DEFAULT;
@@ -87,6 +168,71 @@ public class FtpServerFtpLet implements Ftplet {
     public FtpletResult onDisconnect(FtpSession session) throws FtpException, IOException {
         log.info(String.format("Closing FTP connection: '%s'", session.getSessionId()));
 
+        if (dispatchExecutor != null) {
+            sessionQueues.remove(session.getSessionId().toString());
+        }
+
         return FtpletResult.DEFAULT;
     }
+
+    /**
+     * Queue of commands for a single ftp session. Commands are handled one after another
+     * on the shared dispatch executor.
+     */
+    private final class SessionQueue implements Runnable {
+        /** Pending commands */
+        private final Queue<FutureTask<Message>> commands = new LinkedList<FutureTask<Message>>();
+
+        /** Whether this queue is currently processed by executor */
+        private boolean running = false;
+
+        /**
+         * Adds message to queue and schedules queue processing if necessary.
+         * @param message
+         * @return future holding endpoint adapter response
+         */
+        public Future<Message> dispatch(final FtpMessage message) {
+            FutureTask<Message> command = new FutureTask<Message>(new Callable<Message>() {
+                @Override
+                public Message call() throws Exception {
+                    return endpointAdapter.handleMessage(message);
+                }
+            });
+
+            synchronized (this) {
+                commands.add(command);
+
+                if (!running) {
+                    running = true;
+
+                    try {
+                        dispatchExecutor.execute(this);
+                    } catch (RejectedExecutionException e) {
+                        running = false;
+                        commands.remove(command);
+                        throw e;
+                    }
+                }
+            }
+
+            return command;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                FutureTask<Message> command;
+                synchronized (this) {
+                    command = commands.poll();
+
+                    if (command == null) {
+                        running = false;
+                        return;
+                    }
+                }
+
+                command.run();
+            }
+        }
+    }
 }
@@ -216,4 +216,129 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         verify(apacheFtpClient);
     }
+
+    @Test
+    public void testPooledConnections() throws Exception {
+        final FTPClient pooledFtpClient = EasyMock.createMock(FTPClient.class);
+
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setConnectionPoolSize(2);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration) {
+            @Override
+            protected FTPClient createFtpClient() {
+                return pooledFtpClient;
+            }
+        };
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient, pooledFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(false).once();
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+
+        pooledFtpClient.configure(anyObject(FTPClientConfig.class));
+        expectLastCall().once();
+        pooledFtpClient.addProtocolCommandListener(anyObject(ProtocolCommandListener.class));
+        expectLastCall().once();
+        expect(pooledFtpClient.isConnected()).andReturn(false).once();
+        pooledFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+        expect(pooledFtpClient.getReplyString()).andReturn("OK").times(2);
+        expect(pooledFtpClient.getReplyCode()).andReturn(200).once();
+        expect(pooledFtpClient.sendCommand(FTPCmd.PWD, null)).andReturn(257).once();
+
+        replay(apacheFtpClient, pooledFtpClient);
+
+        FTPClient borrowed = ftpClient.borrowConnection();
+        Assert.assertSame(borrowed, apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
+
+        FtpMessage ftpReply = (FtpMessage) ftpClient.receive(context);
+        Assert.assertEquals(ftpReply.getReplyCode(), new Integer(257));
+
+        ftpClient.releaseConnection(borrowed);
+
+        verify(apacheFtpClient, pooledFtpClient);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testPoolExhausted() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setTimeout(100L);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.borrowConnection();
+        ftpClient.borrowConnection();
+    }
+
+    @Test
+    public void testValidateConnectionOnBorrow() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setValidateConnection(true);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected())
+                .andReturn(true).once()
+                .andReturn(false).once();
+        expect(apacheFtpClient.sendNoOp()).andReturn(false).once();
+
+        apacheFtpClient.disconnect();
+        expectLastCall().once();
+
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+
+        expect(apacheFtpClient.sendCommand(FTPCmd.PWD, null)).andReturn(200).once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
+
+        FtpMessage ftpReply = (FtpMessage) ftpClient.receive(context);
+        Assert.assertEquals(ftpReply.getReplyCode(), new Integer(200));
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testReplyHandOff() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setPollingInterval(5000L);
+        final FtpClient ftpClient = new FtpClient(endpointConfiguration);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ftpClient.onReplyMessage("replyKey", new FtpMessage(FTPCmd.PWD, null).setReplyCode(200));
+            }
+        }).start();
+
+        long start = System.currentTimeMillis();
+        Message reply = ftpClient.receive("replyKey", context, 10000L);
+
+        Assert.assertNotNull(reply);
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+    }
 }
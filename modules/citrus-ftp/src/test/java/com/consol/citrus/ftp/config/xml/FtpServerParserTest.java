@@ -50,6 +50,9 @@ public class FtpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getName(), "ftpServer1");
         Assert.assertEquals(server.getPort(), 22222);
         Assert.assertFalse(server.isAutoStart());
+        Assert.assertFalse(server.isAsyncDispatch());
+        Assert.assertEquals(server.getDispatchPoolSize(), 10);
+        Assert.assertEquals(server.getResponseTimeout(), 5000L);
 
         // 2nd message sender
         server = servers.get("ftpServer2");
@@ -71,6 +74,9 @@ public class FtpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getPort(), 22222);
         Assert.assertNotNull(server.getUserManagerProperties().getFile());
         Assert.assertFalse(server.isAutoStart());
+        Assert.assertTrue(server.isAsyncDispatch());
+        Assert.assertEquals(server.getDispatchPoolSize(), 20);
+        Assert.assertEquals(server.getResponseTimeout(), 1000L);
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
     }
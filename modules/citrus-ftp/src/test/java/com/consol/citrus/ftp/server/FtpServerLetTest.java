@@ -16,8 +16,11 @@
 
 package com.consol.citrus.ftp.server;
 
+import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.endpoint.EndpointConfiguration;
 import com.consol.citrus.ftp.message.FtpMessage;
+import com.consol.citrus.message.Message;
 import org.apache.commons.net.ftp.FTPCmd;
 import org.apache.ftpserver.ftplet.*;
 import org.easymock.EasyMock;
@@ -26,6 +29,8 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
 
 import static org.easymock.EasyMock.*;
 
@@ -74,4 +79,135 @@ public class FtpServerLetTest {
         verify(endpointAdapter, ftpSession, ftpRequest);
     }
 
+    @Test
+    public void testAsyncCommandResponseTimeout() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        EndpointAdapter slowEndpointAdapter = new EndpointAdapter() {
+            @Override
+            public Message handleMessage(Message message) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+
+            @Override
+            public Endpoint getEndpoint() {
+                return null;
+            }
+
+            @Override
+            public EndpointConfiguration getEndpointConfiguration() {
+                return null;
+            }
+        };
+
+        FtpServerFtpLet asyncFtpLet = new FtpServerFtpLet(slowEndpointAdapter, executor, 100L);
+
+        reset(ftpSession, ftpRequest);
+
+        expect(ftpSession.getSessionId()).andReturn(UUID.randomUUID()).anyTimes();
+        expect(ftpRequest.getCommand()).andReturn(FTPCmd.MKD.getCommand()).once();
+        expect(ftpRequest.getArgument()).andReturn("testDir").once();
+
+        replay(ftpSession, ftpRequest);
+
+        try {
+            long start = System.currentTimeMillis();
+            Assert.assertEquals(asyncFtpLet.beforeCommand(ftpSession, ftpRequest), FtpletResult.DEFAULT);
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        } finally {
+            latch.countDown();
+            executor.shutdown();
+        }
+
+        verify(ftpSession, ftpRequest);
+    }
+
+    @Test
+    public void testAsyncCommandsConcurrentSessions() throws Exception {
+        final int sessions = 20;
+        final int commandsPerSession = 5;
+        final Map<String, List<String>> receivedCommands = new ConcurrentHashMap<String, List<String>>();
+
+        EndpointAdapter recordingEndpointAdapter = new EndpointAdapter() {
+            @Override
+            public Message handleMessage(Message message) {
+                FtpMessage ftpMessage = (FtpMessage) message;
+                String[] arguments = ftpMessage.getArguments().split(":");
+
+                try {
+                    Thread.sleep(20L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                receivedCommands.get(arguments[0]).add(arguments[1]);
+                return new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments()).setReplyCode(200);
+            }
+
+            @Override
+            public Endpoint getEndpoint() {
+                return null;
+            }
+
+            @Override
+            public EndpointConfiguration getEndpointConfiguration() {
+                return null;
+            }
+        };
+
+        ExecutorService dispatchExecutor = Executors.newFixedThreadPool(sessions);
+        ExecutorService clients = Executors.newFixedThreadPool(sessions);
+        final FtpServerFtpLet asyncFtpLet = new FtpServerFtpLet(recordingEndpointAdapter, dispatchExecutor, 10000L);
+
+        try {
+            List<Future<?>> results = new ArrayList<Future<?>>();
+            long start = System.currentTimeMillis();
+
+            for (int i = 0; i < sessions; i++) {
+                final String sessionName = "session" + i;
+                receivedCommands.put(sessionName, Collections.synchronizedList(new ArrayList<String>()));
+
+                results.add(clients.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        FtpSession session = EasyMock.createMock(FtpSession.class);
+                        expect(session.getSessionId()).andReturn(UUID.randomUUID()).anyTimes();
+                        replay(session);
+
+                        for (int command = 0; command < commandsPerSession; command++) {
+                            FtpRequest request = EasyMock.createMock(FtpRequest.class);
+                            expect(request.getCommand()).andReturn(FTPCmd.MKD.getCommand()).once();
+                            expect(request.getArgument()).andReturn(sessionName + ":" + command).once();
+                            replay(request);
+
+                            Assert.assertEquals(asyncFtpLet.beforeCommand(session, request), FtpletResult.DEFAULT);
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            long duration = System.currentTimeMillis() - start;
+            Assert.assertTrue(duration < sessions * commandsPerSession * 20L,
+                    String.format("Concurrent sessions took %s ms", duration));
+
+            for (List<String> commands : receivedCommands.values()) {
+                Assert.assertEquals(commands, Arrays.asList("0", "1", "2", "3", "4"));
+            }
+        } finally {
+            clients.shutdownNow();
+            dispatchExecutor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
+import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Basic message controller converts incoming requests to Citrus messages and forwards those
+ * to an endpoint adapter for further processing. Subclasses add the request mappings.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public abstract class AbstractHttpMessageController {
+
+    /** Endpoint adapter for incoming requests, providing proper responses */
+    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
+
+    /** Endpoint configuration */
+    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+
+    /** Request attribute holding the cached response entity for message tracing reasons */
+    public static final String RESPONSE_CACHE_ATTRIBUTE = AbstractHttpMessageController.class.getName() + ".RESPONSE_CACHE";
+
+    /**
+     * Converts request entity to Http message. Reads request uri, context path and query parameters from
+     * current servlet request so this method must be called within request thread.
+     * @param method
+     * @param requestEntity
+     * @return
+     */
+    protected HttpMessage createRequestMessage(HttpMethod method, HttpEntity<String> requestEntity) {
+        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration);
+
+        HttpServletRequest servletRequest = getServletRequest();
+        UrlPathHelper pathHelper = new UrlPathHelper();
+
+        request.setRequestUri(pathHelper.getRequestUri(servletRequest));
+        request.setContextPath(pathHelper.getContextPath(servletRequest));
+
+        String queryParams = pathHelper.getOriginatingQueryString(servletRequest);
+        request.setQueryParams(queryParams != null ? queryParams : "");
+
+        request.setRequestMethod(method);
+
+        return request;
+    }
+
+    /**
+     * Gets current servlet request from request context so this method must be called within request thread.
+     * @return
+     */
+    protected HttpServletRequest getServletRequest() {
+        return ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+    }
+
+    /**
+     * Handles request message with endpoint adapter implementation and converts response to response entity.
+     * Response entity is cached as attribute of the servlet request for message tracing reasons.
+     * @param request
+     * @param servletRequest
+     * @return
+     */
+    protected ResponseEntity<String> handleRequestMessage(HttpMessage request, HttpServletRequest servletRequest) {
+        ResponseEntity<String> responseEntity;
+
+        Message response = endpointAdapter.handleMessage(request);
+        if (response == null) {
+            responseEntity = new ResponseEntity<String>(HttpStatus.OK);
+        } else {
+            HttpMessage httpResponse;
+            if (response instanceof HttpMessage) {
+                httpResponse = (HttpMessage) response;
+            } else {
+                httpResponse = new HttpMessage(response);
+            }
+
+            if (httpResponse.getStatusCode() == null) {
+                httpResponse.setStatusCode(HttpStatus.OK);
+            }
+
+            responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
+        }
+
+        servletRequest.setAttribute(RESPONSE_CACHE_ATTRIBUTE, new CachedResponse(responseEntity));
+        return responseEntity;
+    }
+
+    /**
+     * Sets the endpointAdapter.
+     * @param endpointAdapter the endpointAdapter to set
+     */
+    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
+        this.endpointAdapter = endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint adapter.
+     * @return
+     */
+    public EndpointAdapter getEndpointAdapter() {
+        return endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint configuration.
+     * @return
+     */
+    public HttpEndpointConfiguration getEndpointConfiguration() {
+        return endpointConfiguration;
+    }
+
+    /**
+     * Sets the endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    /**
+     * Gets the response entity cached for the given servlet request.
+     * @param servletRequest
+     * @return the cached response entity or null if request has not been handled yet.
+     */
+    public ResponseEntity<String> getResponseCache(HttpServletRequest servletRequest) {
+        Object cachedResponse = servletRequest.getAttribute(RESPONSE_CACHE_ATTRIBUTE);
+
+        if (cachedResponse instanceof CachedResponse) {
+            return ((CachedResponse) cachedResponse).responseEntity;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the response entity cached for the current servlet request. Must be called within request thread.
+     * @return the cached response entity or null if there is no current request or request has not been handled yet.
+     * @deprecated controller is shared by concurrent requests, use {@link #getResponseCache(HttpServletRequest)} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> getResponseCache() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return getResponseCache(((ServletRequestAttributes) requestAttributes).getRequest());
+        }
+
+        return null;
+    }
+
+    /**
+     * Typed holder for the response entity stored as servlet request attribute.
+     */
+    private static final class CachedResponse {
+        private final ResponseEntity<String> responseEntity;
+
+        private CachedResponse(ResponseEntity<String> responseEntity) {
+            this.responseEntity = responseEntity;
+        }
+    }
+}
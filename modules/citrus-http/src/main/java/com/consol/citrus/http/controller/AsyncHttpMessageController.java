@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.http.message.HttpMessage;
+import org.springframework.http.*;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+
+/**
+ * Message controller handling incoming requests with asynchronous servlet processing. The request is converted
+ * in the container thread, then the endpoint adapter is called from Spring's async task executor. The container
+ * thread is released while the endpoint adapter waits for the response message. Requires servlet and filters to
+ * support asynchronous processing.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+@Controller
+@RequestMapping("/*")
+public class AsyncHttpMessageController extends AbstractHttpMessageController {
+
+    @RequestMapping(value = "**", method = { RequestMethod.GET })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handleGetRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.GET, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.POST })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handlePostRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.POST, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.PUT })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handlePutRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.PUT, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.DELETE })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handleDeleteRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.DELETE, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.OPTIONS })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handleOptionsRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.OPTIONS, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.HEAD })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handleHeadRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.HEAD, requestEntity);
+    }
+
+    @RequestMapping(value = "**", method = { RequestMethod.TRACE })
+    @ResponseBody
+    public Callable<ResponseEntity<String>> handleTraceRequest(HttpEntity<String> requestEntity) {
+        return handleRequestAsync(HttpMethod.TRACE, requestEntity);
+    }
+
+    /**
+     * Converts request in current request thread and provides callable handling the request with endpoint adapter.
+     * @param method
+     * @param requestEntity
+     * @return
+     */
+    private Callable<ResponseEntity<String>> handleRequestAsync(HttpMethod method, HttpEntity<String> requestEntity) {
+        final HttpMessage request = createRequestMessage(method, requestEntity);
+        final HttpServletRequest servletRequest = getServletRequest();
+
+        return new Callable<ResponseEntity<String>>() {
+            @Override
+            public ResponseEntity<String> call() throws Exception {
+                return handleRequestMessage(request, servletRequest);
+            }
+        };
+    }
+}
@@ -16,19 +16,9 @@
 
 package com.consol.citrus.http.controller;
 
-import com.consol.citrus.endpoint.EndpointAdapter;
-import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
-import com.consol.citrus.http.client.HttpEndpointConfiguration;
-import com.consol.citrus.http.message.HttpMessage;
-import com.consol.citrus.message.Message;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.util.UrlPathHelper;
-
-import javax.servlet.http.HttpServletRequest;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
@@ -38,17 +28,8 @@ import javax.servlet.http.HttpServletRequest;
  */
 @Controller
 @RequestMapping("/*")
-public class HttpMessageController {
-
-    /** Endpoint adapter for incoming requests, providing proper responses */
-    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
-
-    /** Endpoint configuration */
-    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+public class HttpMessageController extends AbstractHttpMessageController {
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
-    
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
     public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
@@ -98,77 +79,6 @@ public class HttpMessageController {
      * @return
      */
     private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
-        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration);
-
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
-
-        request.setRequestUri(pathHelper.getRequestUri(servletRequest));
-        request.setContextPath(pathHelper.getContextPath(servletRequest));
-
-        String queryParams = pathHelper.getOriginatingQueryString(servletRequest);
-        request.setQueryParams(queryParams != null ? queryParams : "");
-
-        request.setRequestMethod(method);
-
-        Message response = endpointAdapter.handleMessage(request);
-        if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
-        } else {
-            HttpMessage httpResponse;
-            if (response instanceof HttpMessage) {
-                httpResponse = (HttpMessage) response;
-            } else {
-                httpResponse = new HttpMessage(response);
-            }
-
-            if (httpResponse.getStatusCode() == null) {
-                httpResponse.setStatusCode(HttpStatus.OK);
-            }
-
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
-        }
-
-        return responseCache;
-    }
-    
-    /**
-     * Sets the endpointAdapter.
-     * @param endpointAdapter the endpointAdapter to set
-     */
-    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
-        this.endpointAdapter = endpointAdapter;
-    }
-
-    /**
-     * Gets the endpoint adapter.
-     * @return
-     */
-    public EndpointAdapter getEndpointAdapter() {
-        return endpointAdapter;
-    }
-
-    /**
-     * Gets the endpoint configuration.
-     * @return
-     */
-    public HttpEndpointConfiguration getEndpointConfiguration() {
-        return endpointConfiguration;
-    }
-
-    /**
-     * Sets the endpoint configuration.
-     * @param endpointConfiguration
-     */
-    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
-        this.endpointConfiguration = endpointConfiguration;
-    }
-
-    /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
-     */
-    public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+        return handleRequestMessage(createRequestMessage(method, requestEntity), getServletRequest());
     }
 }
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.http.interceptor;
 
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -25,18 +27,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Interceptor implementation delegates to list of other handler interceptors.
+ * Interceptor implementation delegates to list of other handler interceptors. With asynchronous request processing
+ * the request is dispatched twice. Delegates are called on pre handle of the initial dispatch only and on post handle
+ * and after completion of the async dispatch only, so each delegate sees the request exactly once.
  *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class DelegatingHandlerInterceptor implements HandlerInterceptor {
+public class DelegatingHandlerInterceptor implements AsyncHandlerInterceptor {
 
     /** List of interceptors to delegate to when this interceptor is invoked */
     private List<HandlerInterceptor> interceptors = new ArrayList<HandlerInterceptor>();
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (WebAsyncUtils.getAsyncManager(request).hasConcurrentResult()) {
+            // async dispatch of request already handled on initial dispatch
+            return true;
+        }
+
         for (HandlerInterceptor interceptor : interceptors) {
             if (!interceptor.preHandle(request, response, handler)) {
                 return false;
@@ -60,6 +69,15 @@ public class DelegatingHandlerInterceptor implements HandlerInterceptor {
         }
     }
 
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        for (HandlerInterceptor interceptor : interceptors) {
+            if (interceptor instanceof AsyncHandlerInterceptor) {
+                ((AsyncHandlerInterceptor) interceptor).afterConcurrentHandlingStarted(request, response, handler);
+            }
+        }
+    }
+
     /**
      * Gets the interceptor list.
      * @return
@@ -16,7 +16,7 @@
 
 package com.consol.citrus.http.interceptor;
 
-import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.util.FileUtils;
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -58,7 +59,9 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public boolean preHandle(HttpServletRequest request, 
             HttpServletResponse response, Object handler) throws Exception {
-        handleRequest(getRequestContent(request));
+        if (!WebAsyncUtils.getAsyncManager(request).hasConcurrentResult()) {
+            handleRequest(getRequestContent(request));
+        }
         return true;
     }
 
@@ -67,7 +70,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        handleResponse(getResponseContent(request, response, handler));
     }
 
     /**
@@ -146,16 +149,18 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
     }
     
     /**
+     * @param request
      * @param response
+     * @param handler
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
         StringBuilder builder = new StringBuilder();
         
         builder.append(response);
         
-        if (handler instanceof HttpMessageController) {
-            ResponseEntity<String> responseEntity = ((HttpMessageController)handler).getResponseCache();
+        if (handler instanceof AbstractHttpMessageController) {
+            ResponseEntity<String> responseEntity = ((AbstractHttpMessageController)handler).getResponseCache(request);
             if (responseEntity != null) {
                 builder.append(NEWLINE);
                 builder.append(responseEntity.getBody());
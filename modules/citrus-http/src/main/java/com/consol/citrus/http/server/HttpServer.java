@@ -25,7 +25,9 @@ import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.*;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -55,8 +57,12 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Server resource base */
     private String resourceBase = "src/main/resources";
 
+    /** Default application context locations for request controllers */
+    private static final String DEFAULT_CONTEXT_CONFIG_LOCATION = "classpath:com/consol/citrus/http/citrus-servlet-context.xml";
+    private static final String DEFAULT_ASYNC_CONTEXT_CONFIG_LOCATION = "classpath:com/consol/citrus/http/citrus-async-servlet-context.xml";
+
     /** Application context location for request controllers */
-    private String contextConfigLocation = "classpath:com/consol/citrus/http/citrus-servlet-context.xml";
+    private String contextConfigLocation = DEFAULT_CONTEXT_CONFIG_LOCATION;
 
     /** Server instance to be wrapped */
     private Server jettyServer;
@@ -94,6 +100,17 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Server thread pool sizing - Jetty defaults are used when not set */
+    private int minThreads = 0;
+    private int maxThreads = 0;
+
+    /** Number of acceptor threads and accept queue size on default connector - Jetty defaults are used when not set */
+    private int acceptors = 0;
+    private int acceptQueueSize = 0;
+
+    /** Use asynchronous servlet processing releasing container threads while endpoint adapter waits for response */
+    private boolean asyncSupported = false;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -117,7 +134,12 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 jettyServer = new Server();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                jettyServer = new Server();
+                jettyServer.addConnector(createDefaultConnector());
+            }
+
+            if (minThreads > 0 || maxThreads > 0) {
+                jettyServer.setThreadPool(createThreadPool());
             }
             
             HandlerCollection handlers = new HandlerCollection();
@@ -164,13 +186,56 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         }
     }
 
+    /**
+     * Creates default non blocking connector on server port.
+     * @return
+     */
+    private Connector createDefaultConnector() {
+        SelectChannelConnector defaultConnector = new SelectChannelConnector();
+        defaultConnector.setPort(port);
+
+        if (acceptors > 0) {
+            defaultConnector.setAcceptors(acceptors);
+        }
+
+        if (acceptQueueSize > 0) {
+            defaultConnector.setAcceptQueueSize(acceptQueueSize);
+        }
+
+        return defaultConnector;
+    }
+
+    /**
+     * Creates server thread pool with custom sizing.
+     * @return
+     */
+    private QueuedThreadPool createThreadPool() {
+        QueuedThreadPool threadPool = new QueuedThreadPool();
+
+        if (maxThreads > 0) {
+            threadPool.setMaxThreads(maxThreads);
+        }
+
+        if (minThreads > 0) {
+            threadPool.setMinThreads(minThreads);
+        }
+
+        return threadPool;
+    }
+
     /**
      * Adds default Spring dispatcher servlet with servlet mapping.
      */
     private void addDispatcherServlet() {
         ServletHolder servletHolder = new ServletHolder(new CitrusDispatcherServlet(this));
         servletHolder.setName(getServletName());
-        servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
+        servletHolder.setAsyncSupported(asyncSupported);
+
+        if (asyncSupported && contextConfigLocation.equals(DEFAULT_CONTEXT_CONFIG_LOCATION)) {
+            servletHolder.setInitParameter("contextConfigLocation", DEFAULT_ASYNC_CONTEXT_CONFIG_LOCATION);
+        } else {
+            servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
+        }
 
         servletHandler.addServlet(servletHolder);
 
@@ -192,6 +257,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
 
         FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
         filterHolder.setName("request-caching-filter");
+        filterHolder.setAsyncSupported(asyncSupported);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -538,4 +604,84 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     public void setMessageConverter(HttpMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the minimum number of server threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minimum number of server threads.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the maximum number of server threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maximum number of server threads.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the number of acceptor threads on default connector.
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the number of acceptor threads on default connector. Jetty uses the same number of selectors.
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the accept queue size on default connector.
+     * @return
+     */
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /**
+     * Sets the accept queue size on default connector.
+     * @param acceptQueueSize
+     */
+    public void setAcceptQueueSize(int acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    /**
+     * Is asynchronous servlet processing enabled.
+     * @return
+     */
+    public boolean isAsyncSupported() {
+        return asyncSupported;
+    }
+
+    /**
+     * Enables asynchronous servlet processing.
+     * @param asyncSupported
+     */
+    public void setAsyncSupported(boolean asyncSupported) {
+        this.asyncSupported = asyncSupported;
+    }
 }
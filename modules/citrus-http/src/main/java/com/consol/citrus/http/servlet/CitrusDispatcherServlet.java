@@ -18,7 +18,7 @@ package com.consol.citrus.http.servlet;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
-import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
 import com.consol.citrus.http.interceptor.DelegatingHandlerInterceptor;
 import com.consol.citrus.http.interceptor.MappedInterceptorAdapter;
 import com.consol.citrus.http.server.HttpServer;
@@ -30,6 +30,7 @@ import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.handler.MappedInterceptor;
 import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import org.springframework.web.util.UrlPathHelper;
 
 import java.util.ArrayList;
@@ -50,6 +51,10 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
     /** Default bean names used in default configuration */
     private static final String HANDLER_INTERCEPTOR_BEAN_NAME = "citrusHandlerInterceptor";
     private static final String MESSAGE_CONTROLLER_BEAN_NAME = "citrusHttpMessageController";
+    private static final String HANDLER_ADAPTER_BEAN_NAME = "citrusMethodHandlerAdapter";
+
+    /** Async requests time out after server timeout plus this offset so endpoint adapter timeout handling applies first */
+    private static final long ASYNC_REQUEST_TIMEOUT_OFFSET = 1000L;
 
     /**
      * Default constructor using http server instance that
@@ -66,6 +71,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
 
         configureHandlerInterceptor(context);
         configureMessageController(context);
+        configureHandlerAdapter(context);
     }
 
     /**
@@ -85,7 +91,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
      */
     protected void configureMessageController(ApplicationContext context) {
         if (context.containsBean(MESSAGE_CONTROLLER_BEAN_NAME)) {
-            HttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, HttpMessageController.class);
+            AbstractHttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, AbstractHttpMessageController.class);
             EndpointAdapter endpointAdapter = httpServer.getEndpointAdapter();
 
             HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
@@ -99,6 +105,18 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
         }
     }
 
+    /**
+     * Post process handler adapter. Sets async request timeout derived from server timeout
+     * when asynchronous servlet processing is enabled.
+     * @param context
+     */
+    protected void configureHandlerAdapter(ApplicationContext context) {
+        if (context.containsBean(HANDLER_ADAPTER_BEAN_NAME) && httpServer.isAsyncSupported()) {
+            RequestMappingHandlerAdapter handlerAdapter = context.getBean(HANDLER_ADAPTER_BEAN_NAME, RequestMappingHandlerAdapter.class);
+            handlerAdapter.setAsyncRequestTimeout(httpServer.getDefaultTimeout() + ASYNC_REQUEST_TIMEOUT_OFFSET);
+        }
+    }
+
     /**
      * Adapts object list to handler interceptors.
      * @param interceptors
@@ -59,6 +59,11 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
+        Assert.assertEquals(server.getMinThreads(), 0);
+        Assert.assertEquals(server.getMaxThreads(), 0);
+        Assert.assertEquals(server.getAcceptors(), 0);
+        Assert.assertEquals(server.getAcceptQueueSize(), 0);
+        Assert.assertFalse(server.isAsyncSupported());
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -101,6 +106,11 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer4-servlet");
+        Assert.assertEquals(server.getMinThreads(), 20);
+        Assert.assertEquals(server.getMaxThreads(), 500);
+        Assert.assertEquals(server.getAcceptors(), 4);
+        Assert.assertEquals(server.getAcceptQueueSize(), 1000);
+        Assert.assertTrue(server.isAsyncSupported());
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
         
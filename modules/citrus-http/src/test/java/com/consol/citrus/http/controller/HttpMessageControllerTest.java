@@ -0,0 +1,63 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.http.message.HttpMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class HttpMessageControllerTest {
+
+    private HttpMessageController messageController = new HttpMessageController();
+
+    @Test
+    public void testResponseCache() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        Assert.assertNull(messageController.getResponseCache(servletRequest));
+
+        ResponseEntity<String> responseEntity = messageController.handleRequestMessage(new HttpMessage("<TestRequest/>"), servletRequest);
+        Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        Assert.assertSame(messageController.getResponseCache(servletRequest), responseEntity);
+
+        Assert.assertNull(messageController.getResponseCache(new MockHttpServletRequest()));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testResponseCacheCurrentRequest() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        Assert.assertNull(messageController.getResponseCache());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        try {
+            ResponseEntity<String> responseEntity = messageController.handleRequestMessage(new HttpMessage("<TestRequest/>"), servletRequest);
+            Assert.assertSame(messageController.getResponseCache(), responseEntity);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -16,17 +16,28 @@
 
 package com.consol.citrus.http.server;
 
+import com.consol.citrus.endpoint.adapter.StaticResponseEndpointAdapter;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.conn.HttpHostConnectException;
 import org.apache.http.impl.client.*;
+import org.apache.http.util.EntityUtils;
 import org.eclipse.jetty.http.HttpHeaders;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple unit test for HttpServer
@@ -65,4 +76,88 @@ public class HttpServerTest extends AbstractTestNGUnitTest {
           //fine, we expected this
         }
     }
+
+    @Test
+    public void asyncStartupAndShutdownTest() throws Exception {
+        HttpServer server = new HttpServer();
+        server.setPort(8096);
+        server.setApplicationContext(applicationContext);
+        server.setAsyncSupported(true);
+        server.setMinThreads(4);
+        server.setMaxThreads(10);
+        server.setAcceptors(1);
+        server.setAcceptQueueSize(100);
+
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter() {
+            @Override
+            public Message handleMessageInternal(Message message) {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.handleMessageInternal(message);
+            }
+        };
+        endpointAdapter.setMessagePayload("<TestResponse>Hello</TestResponse>");
+        server.setEndpointAdapter(endpointAdapter);
+
+        final AtomicInteger preHandleCount = new AtomicInteger();
+        final AtomicInteger afterCompletionCount = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(20);
+        List<Object> interceptors = new ArrayList<Object>();
+        interceptors.add(new HandlerInterceptorAdapter() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+                preHandleCount.incrementAndGet();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+                afterCompletionCount.incrementAndGet();
+                completed.countDown();
+            }
+        });
+        server.setInterceptors(interceptors);
+
+        server.startup();
+
+        try {
+            final CloseableHttpClient httpclient = HttpClientBuilder.create().setMaxConnTotal(20).setMaxConnPerRoute(20).build();
+            ExecutorService clients = Executors.newFixedThreadPool(20);
+            List<Future<String>> responses = new ArrayList<Future<String>>();
+
+            for (int i = 0; i < 20; i++) {
+                responses.add(clients.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        CloseableHttpResponse res = httpclient.execute(new HttpGet("http://localhost:8096/test"));
+                        try {
+                            Assert.assertEquals(res.getStatusLine().getStatusCode(), 200);
+                            return EntityUtils.toString(res.getEntity());
+                        } finally {
+                            res.close();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<String> response : responses) {
+                Assert.assertEquals(response.get(10L, TimeUnit.SECONDS), "<TestResponse>Hello</TestResponse>");
+            }
+
+            clients.shutdown();
+            httpclient.close();
+
+            // completion callbacks run on the server after the response has been written
+            Assert.assertTrue(completed.await(10L, TimeUnit.SECONDS));
+
+            // interceptors see each request once although it is dispatched twice
+            Assert.assertEquals(preHandleCount.get(), 20);
+            Assert.assertEquals(afterCompletionCount.get(), 20);
+        } finally {
+            server.shutdown();
+        }
+    }
 }
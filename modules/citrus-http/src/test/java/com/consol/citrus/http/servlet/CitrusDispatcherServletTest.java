@@ -26,7 +26,10 @@ import com.consol.citrus.http.server.HttpServer;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -110,6 +113,27 @@ public class CitrusDispatcherServletTest extends AbstractTestNGUnitTest {
         Assert.assertNotNull(httpMessageController.getEndpointConfiguration().getMessageConverter());
 
 
+        verify(httpServer);
+    }
+
+    @Test
+    public void testConfigureHandlerAdapter() throws Exception {
+        reset(httpServer);
+
+        expect(httpServer.isAsyncSupported()).andReturn(true).once();
+        expect(httpServer.getDefaultTimeout()).andReturn(5000L).once();
+
+        replay(httpServer);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        applicationContext.registerBeanDefinition("citrusMethodHandlerAdapter", new RootBeanDefinition(RequestMappingHandlerAdapter.class));
+        applicationContext.refresh();
+
+        servlet.initStrategies(applicationContext);
+
+        RequestMappingHandlerAdapter handlerAdapter = applicationContext.getBean(RequestMappingHandlerAdapter.class);
+        Assert.assertEquals(ReflectionTestUtils.getField(handlerAdapter, "asyncRequestTimeout"), 6000L);
+
         verify(httpServer);
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.jms.*;
+import java.util.concurrent.*;
+
+/**
+ * Sends messages in batches using one long-lived transacted session and message producer. Session is committed as soon
+ * as the configured batch size is reached or when the batch timeout has elapsed since the first uncommitted message was sent.
+ * Messages are not visible to consumers on the destination until the batch is committed.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class JmsBatchSender {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsBatchSender.class);
+
+    /** Endpoint configuration */
+    private final JmsEndpointConfiguration endpointConfiguration;
+
+    /** Scheduler flushing batches on timeout */
+    private final ScheduledExecutorService scheduler;
+
+    /** Long-lived JMS resources */
+    private Connection connection;
+    private Session session;
+    private MessageProducer messageProducer;
+
+    /** Number of uncommitted messages in current batch */
+    private int pendingMessages = 0;
+
+    /** Scheduled flush for current batch */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Default constructor using endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public JmsBatchSender(JmsEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jms-batch-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Sends message within current batch. Commits batch when batch size is reached.
+     * @param message
+     */
+    public synchronized void send(Message message) {
+        try {
+            if (session == null) {
+                open();
+            }
+
+            javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration);
+            endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration);
+            messageProducer.send(jmsMessage);
+            pendingMessages++;
+
+            if (pendingMessages >= endpointConfiguration.getBatchSize()) {
+                commit();
+            } else if (pendingMessages == 1 && endpointConfiguration.getBatchTimeout() > 0) {
+                scheduledFlush = scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            flush();
+                        } catch (RuntimeException e) {
+                            log.error("Failed to commit JMS message batch on timeout", e);
+                        }
+                    }
+                }, endpointConfiguration.getBatchTimeout(), TimeUnit.MILLISECONDS);
+            }
+        } catch (JMSException e) {
+            close();
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    /**
+     * Commits all pending messages of current batch.
+     */
+    public synchronized void flush() {
+        if (pendingMessages == 0) {
+            return;
+        }
+
+        try {
+            commit();
+        } catch (JMSException e) {
+            close();
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    /**
+     * Commits pending messages and releases all JMS resources.
+     */
+    public synchronized void destroy() {
+        try {
+            flush();
+        } finally {
+            close();
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens connection, transacted session and message producer on endpoint destination.
+     * @throws JMSException
+     */
+    private void open() throws JMSException {
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+        connection = jmsTemplate.getConnectionFactory().createConnection();
+        session = connection.createSession(true, Session.SESSION_TRANSACTED);
+
+        Destination destination = jmsTemplate.getDefaultDestination();
+        if (destination == null) {
+            destination = jmsTemplate.getDestinationResolver().resolveDestinationName(session,
+                    jmsTemplate.getDefaultDestinationName(), jmsTemplate.isPubSubDomain());
+        }
+
+        messageProducer = session.createProducer(destination);
+        if (jmsTemplate.isExplicitQosEnabled()) {
+            messageProducer.setDeliveryMode(jmsTemplate.getDeliveryMode());
+            messageProducer.setPriority(jmsTemplate.getPriority());
+            messageProducer.setTimeToLive(jmsTemplate.getTimeToLive());
+        }
+    }
+
+    /**
+     * Commits transacted session and cancels scheduled flush.
+     * @throws JMSException
+     */
+    private void commit() throws JMSException {
+        session.commit();
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Committed batch of %s JMS message(s) to destination '%s'",
+                    pendingMessages, endpointConfiguration.getDefaultDestinationName()));
+        }
+
+        pendingMessages = 0;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Closes all JMS resources. Uncommitted messages are rolled back.
+     */
+    private void close() {
+        if (pendingMessages > 0) {
+            log.warn(String.format("Discarding %s uncommitted JMS message(s) to destination '%s'",
+                    pendingMessages, endpointConfiguration.getDefaultDestinationName()));
+        }
+
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        JmsUtils.closeMessageProducer(messageProducer);
+        JmsUtils.closeSession(session);
+        JmsUtils.closeConnection(connection);
+
+        messageProducer = null;
+        session = null;
+        connection = null;
+        pendingMessages = 0;
+    }
+}
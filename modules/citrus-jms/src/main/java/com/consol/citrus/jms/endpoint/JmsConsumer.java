@@ -36,6 +36,9 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Message buffer filled by message listener */
+    private JmsMessageBuffer messageBuffer;
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -58,13 +61,18 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
         log.info("Waiting for JMS message on destination: '" + destinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
         javax.jms.Message receivedJmsMessage;
 
-        if (StringUtils.hasText(selector)) {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+        if (endpointConfiguration.isUseMessageListener()) {
+            receivedJmsMessage = getMessageBuffer().receive(selector, timeout);
         } else {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
+
+            if (StringUtils.hasText(selector)) {
+                receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+            } else {
+                receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            }
         }
 
         if (receivedJmsMessage == null) {
@@ -79,4 +87,28 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
         return receivedMessage;
     }
 
+    /**
+     * Gets the message buffer and starts message listener on first access.
+     * @return
+     */
+    private synchronized JmsMessageBuffer getMessageBuffer() {
+        if (messageBuffer == null) {
+            JmsMessageBuffer buffer = new JmsMessageBuffer(endpointConfiguration);
+            buffer.start();
+            messageBuffer = buffer;
+        }
+
+        return messageBuffer;
+    }
+
+    /**
+     * Stops message listener if any.
+     */
+    public synchronized void destroy() {
+        if (messageBuffer != null) {
+            messageBuffer.stop();
+            messageBuffer = null;
+        }
+    }
+
 }
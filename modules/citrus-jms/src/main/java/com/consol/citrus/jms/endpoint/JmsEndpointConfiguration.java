@@ -64,6 +64,18 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Should consume messages with long-lived message listener */
+    private boolean useMessageListener = false;
+
+    /** Maximum number of messages buffered by message listener */
+    private int prefetchSize = 100;
+
+    /** Number of messages sent in one transacted batch */
+    private int batchSize = 1;
+
+    /** Time in milliseconds to wait before incomplete batch is committed */
+    private long batchTimeout = 1000L;
+
     /**
      * Gets the destination name.
      * @return the destinationName
@@ -260,4 +272,71 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setUseObjectMessages(boolean useObjectMessages) {
         this.useObjectMessages = useObjectMessages;
     }
+
+    /**
+     * Determines weather to consume messages with a long-lived message listener. Received messages are served from a local
+     * message buffer then instead of opening a new JMS consumer for each receive operation.
+     * @return
+     */
+    public boolean isUseMessageListener() {
+        return useMessageListener;
+    }
+
+    /**
+     * Enables or disables message listener consumer.
+     * @param useMessageListener
+     */
+    public void setUseMessageListener(boolean useMessageListener) {
+        this.useMessageListener = useMessageListener;
+    }
+
+    /**
+     * Gets the maximum number of messages buffered by message listener.
+     * @return
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages buffered by message listener. Prefetch size must be greater than zero.
+     * @param prefetchSize
+     */
+    public void setPrefetchSize(int prefetchSize) {
+        Assert.isTrue(prefetchSize > 0, "Invalid prefetch size " + prefetchSize + " - message listener needs to buffer at least one message");
+        this.prefetchSize = prefetchSize;
+    }
+
+    /**
+     * Gets the number of messages sent in one transacted batch. Batch mode is disabled for batch size
+     * less or equal to one.
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of messages sent in one transacted batch.
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the time in milliseconds to wait before incomplete batch is committed.
+     * @return
+     */
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the time in milliseconds to wait before incomplete batch is committed.
+     * @param batchTimeout
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.MessageSelectorBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.StringUtils;
+
+import javax.jms.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Message listener keeps long-lived JMS consumers open on the endpoint destination and buffers incoming messages
+ * in a bounded local buffer. Receive operations are served from that buffer so no connection, session and consumer
+ * is opened per receive. Message selectors are evaluated in memory on buffered messages. Only selectors
+ * combining header equality expressions with AND are supported (e.g. <code>operation = 'sayHello' AND id = '1'</code>).
+ *
+ * Each buffered message is held by its own client acknowledged listener session until a receive operation takes it. Message
+ * is acknowledged only after it has been taken, so buffered messages that are never received get redelivered by the broker
+ * when the listener is stopped. Selective receive operations fail immediately when the buffer is full of messages not
+ * matching the selector. Messages that the JMS provider prefetches for a busy listener session are not visible to the
+ * buffer, so for selective receive operations the provider side consumer prefetch should be limited to one message.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class JmsMessageBuffer implements MessageListener {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsMessageBuffer.class);
+
+    /** Supported selector syntax for in memory evaluation */
+    private static final Pattern SELECTOR_PATTERN = Pattern.compile("^\\s*[\\w.$-]+\\s*=\\s*'[^']*'(\\s+AND\\s+[\\w.$-]+\\s*=\\s*'[^']*')*\\s*$");
+
+    /** Endpoint configuration */
+    private final JmsEndpointConfiguration endpointConfiguration;
+
+    /** Buffered messages in arrival order */
+    private final LinkedList<BufferedMessage> messages = new LinkedList<BufferedMessage>();
+
+    /** Guards buffered messages */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messageAdded = lock.newCondition();
+    private final Condition messageRemoved = lock.newCondition();
+
+    /** Stopped listener rejects all incoming messages so they are not acknowledged */
+    private boolean stopped = false;
+
+    /** Listener container holding the JMS consumers */
+    private DefaultMessageListenerContainer listenerContainer;
+
+    /** Name of destination the listener is started on */
+    private String destinationName;
+
+    /**
+     * Default constructor using endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public JmsMessageBuffer(JmsEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    /**
+     * Starts message listener on endpoint destination if not already started.
+     */
+    public synchronized void start() {
+        if (listenerContainer != null) {
+            return;
+        }
+
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+        DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(jmsTemplate.getConnectionFactory());
+        if (jmsTemplate.getDefaultDestination() != null) {
+            container.setDestination(jmsTemplate.getDefaultDestination());
+        } else {
+            container.setDestinationName(jmsTemplate.getDefaultDestinationName());
+        }
+        container.setDestinationResolver(jmsTemplate.getDestinationResolver());
+        container.setPubSubDomain(jmsTemplate.isPubSubDomain());
+        container.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+        container.setConcurrentConsumers(1);
+        // one session per buffered message
+        container.setMaxConcurrentConsumers(getCapacity());
+        // consumers blocked in listener count as idle, so idle limit must not prevent scaling up to capacity
+        container.setIdleConsumerLimit(getCapacity());
+        container.setMessageListener(this);
+        container.setErrorHandler(new ErrorHandler() {
+            @Override
+            public void handleError(Throwable t) {
+                log.debug("JMS message not acknowledged by message listener", t);
+            }
+        });
+
+        lock.lock();
+        try {
+            stopped = false;
+        } finally {
+            lock.unlock();
+        }
+
+        container.afterPropertiesSet();
+        container.start();
+
+        listenerContainer = container;
+        destinationName = endpointConfiguration.getDefaultDestinationName();
+    }
+
+    /**
+     * Stops message listener. Buffered messages are not acknowledged so the broker redelivers them.
+     */
+    public synchronized void stop() {
+        if (listenerContainer != null) {
+            listenerContainer.stop();
+        }
+
+        lock.lock();
+        try {
+            stopped = true;
+
+            if (!messages.isEmpty()) {
+                log.info(String.format("Releasing %s buffered JMS message(s) on destination '%s' for redelivery",
+                        messages.size(), destinationName));
+            }
+
+            messages.clear();
+            messageRemoved.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+            listenerContainer = null;
+        }
+    }
+
+    /**
+     * Buffers message and blocks until a receive operation has taken the message. Listener container acknowledges
+     * the message after this method returns. When listener is stopped before message was taken method raises exception
+     * so message is not acknowledged.
+     * @param message
+     */
+    @Override
+    public void onMessage(javax.jms.Message message) {
+        BufferedMessage bufferedMessage = new BufferedMessage(message);
+
+        lock.lock();
+        try {
+            while (!stopped && messages.size() >= getCapacity()) {
+                messageRemoved.await();
+            }
+
+            if (!stopped) {
+                messages.add(bufferedMessage);
+                messageAdded.signalAll();
+
+                while (!stopped && !bufferedMessage.taken) {
+                    messageRemoved.await();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!bufferedMessage.taken) {
+                messages.remove(bufferedMessage);
+            }
+
+            lock.unlock();
+        }
+
+        if (!bufferedMessage.taken) {
+            throw new CitrusRuntimeException("Message listener stopped - JMS message is not acknowledged");
+        }
+    }
+
+    /**
+     * Receives next buffered message matching the message selector. Waits for new messages until timeout is reached.
+     * @param selector optional message selector
+     * @param timeout the timeout in milliseconds
+     * @return the message or null in case of timeout
+     */
+    public javax.jms.Message receive(String selector, long timeout) {
+        Map<String, String> matchingHeaders = parseSelector(selector);
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        lock.lock();
+        try {
+            while (true) {
+                for (Iterator<BufferedMessage> it = messages.iterator(); it.hasNext();) {
+                    BufferedMessage bufferedMessage = it.next();
+                    if (accept(bufferedMessage.message, matchingHeaders)) {
+                        it.remove();
+                        bufferedMessage.taken = true;
+                        messageRemoved.signalAll();
+                        return bufferedMessage.message;
+                    }
+                }
+
+                if (!matchingHeaders.isEmpty() && messages.size() >= getCapacity()) {
+                    throw new CitrusRuntimeException(String.format("Prefetch buffer full of unmatched messages - " +
+                            "unable to receive message with selector '%s' on destination '%s'", selector, destinationName));
+                }
+
+                if (remaining <= 0) {
+                    return null;
+                }
+
+                remaining = messageAdded.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for JMS message", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the maximum number of buffered messages. Topic subscriptions use a single listener session as concurrent
+     * subscribers would receive duplicate messages, so only one message is buffered on topics.
+     * @return
+     */
+    private int getCapacity() {
+        return endpointConfiguration.isPubSubDomain() ? 1 : endpointConfiguration.getPrefetchSize();
+    }
+
+    /**
+     * Parses message selector to header matching map. Returns empty map for empty selectors.
+     * @param selector
+     * @return
+     */
+    private Map<String, String> parseSelector(String selector) {
+        if (!StringUtils.hasText(selector)) {
+            return Collections.emptyMap();
+        }
+
+        if (!SELECTOR_PATTERN.matcher(selector).matches()) {
+            throw new CitrusRuntimeException(String.format("Unsupported message selector '%s' for message listener - " +
+                    "only header equality expressions combined with AND are supported", selector));
+        }
+
+        return MessageSelectorBuilder.withString(selector).toKeyValueMap();
+    }
+
+    /**
+     * Checks that message header values match all expected header values.
+     * @param message
+     * @param matchingHeaders
+     * @return
+     */
+    private boolean accept(javax.jms.Message message, Map<String, String> matchingHeaders) {
+        try {
+            for (Map.Entry<String, String> matchEntry : matchingHeaders.entrySet()) {
+                Object headerValue = getHeaderValue(message, matchEntry.getKey());
+                if (headerValue == null || !headerValue.toString().equals(matchEntry.getValue())) {
+                    return false;
+                }
+            }
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException("Failed to read JMS message header", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads JMS header or message property value with given name.
+     * @param message
+     * @param name
+     * @return
+     * @throws JMSException
+     */
+    private Object getHeaderValue(javax.jms.Message message, String name) throws JMSException {
+        if (name.equals("JMSCorrelationID")) {
+            return message.getJMSCorrelationID();
+        } else if (name.equals("JMSMessageID")) {
+            return message.getJMSMessageID();
+        } else if (name.equals("JMSType")) {
+            return message.getJMSType();
+        } else {
+            return message.getObjectProperty(name);
+        }
+    }
+
+    /**
+     * Buffered message held by listener session until a receive operation takes it.
+     */
+    private static final class BufferedMessage {
+        private final javax.jms.Message message;
+        private boolean taken = false;
+
+        BufferedMessage(javax.jms.Message message) {
+            this.message = message;
+        }
+    }
+}
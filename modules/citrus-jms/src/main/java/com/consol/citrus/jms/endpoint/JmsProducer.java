@@ -42,6 +42,9 @@ public class JmsProducer implements Producer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Batch sender used when batch mode is enabled */
+    private JmsBatchSender batchSender;
+
     /**
      * Default constructor using endpoint configuration.
      * @param name
@@ -60,20 +63,46 @@ public class JmsProducer implements Producer {
 
         log.info("Sending JMS message to destination: '" + defaultDestinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().send(new MessageCreator() {
-            @Override
-            public javax.jms.Message createMessage(Session session) throws JMSException {
-                javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration);
-                endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration);
-                return jmsMessage;
-            }
-        });
+        if (endpointConfiguration.getBatchSize() > 1) {
+            getBatchSender().send(message);
+        } else {
+            endpointConfiguration.getJmsTemplate().send(new MessageCreator() {
+                @Override
+                public javax.jms.Message createMessage(Session session) throws JMSException {
+                    javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration);
+                    endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration);
+                    return jmsMessage;
+                }
+            });
+        }
 
         context.onOutboundMessage(message);
 
         log.info("Message was successfully sent to destination: '" + defaultDestinationName + "'");
     }
 
+    /**
+     * Gets the batch sender and creates it on first access.
+     * @return
+     */
+    private synchronized JmsBatchSender getBatchSender() {
+        if (batchSender == null) {
+            batchSender = new JmsBatchSender(endpointConfiguration);
+        }
+
+        return batchSender;
+    }
+
+    /**
+     * Commits pending message batch if any and releases JMS resources.
+     */
+    public synchronized void destroy() {
+        if (batchSender != null) {
+            batchSender.destroy();
+            batchSender = null;
+        }
+    }
+
     @Override
     public String getName() {
         return name;
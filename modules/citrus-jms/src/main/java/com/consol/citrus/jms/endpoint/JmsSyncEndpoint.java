@@ -18,7 +18,6 @@ package com.consol.citrus.jms.endpoint;
 
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.messaging.SelectiveConsumer;
-import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Synchronous Jms message endpoint. When sending messages endpoint sets replyTo message header and waits for synchronous response.
@@ -27,7 +26,7 @@ import org.springframework.beans.factory.DisposableBean;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class JmsSyncEndpoint extends JmsEndpoint implements DisposableBean {
+public class JmsSyncEndpoint extends JmsEndpoint {
 
     /** One of producer or consumer for this endpoint */
     private JmsSyncProducer jmsSyncMessageProducer;
@@ -84,6 +83,12 @@ public class JmsSyncEndpoint extends JmsEndpoint implements DisposableBean {
         if (jmsSyncMessageProducer != null) {
             jmsSyncMessageProducer.destroy();
         }
+
+        if (jmsSyncMessageConsumer != null) {
+            jmsSyncMessageConsumer.destroy();
+        }
+
+        super.destroy();
     }
 
 }
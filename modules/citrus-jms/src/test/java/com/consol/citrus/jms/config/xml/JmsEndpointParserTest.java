@@ -45,6 +45,9 @@ public class JmsEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(jmsEndpoint.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isUseObjectMessages(), false);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isUseMessageListener(), false);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getPrefetchSize(), 100);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getBatchSize(), 1);
 
         // 2nd message receiver
         jmsEndpoint = endpoints.get("jmsEndpoint2");
@@ -54,6 +57,10 @@ public class JmsEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(jmsEndpoint.getEndpointConfiguration().getDestinationName());
         Assert.assertNotNull(jmsEndpoint.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isUseMessageListener(), true);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getPrefetchSize(), 50);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getBatchSize(), 10);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getBatchTimeout(), 500L);
 
         // 3rd message receiver
         jmsEndpoint = endpoints.get("jmsEndpoint3");
@@ -21,6 +21,7 @@ import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessageCreator;
 import org.testng.Assert;
@@ -28,6 +29,8 @@ import org.testng.annotations.Test;
 
 import javax.jms.*;
 import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.easymock.EasyMock.*;
 
@@ -128,6 +131,88 @@ public class JmsEndpointProducerTest extends AbstractTestNGUnitTest {
         verify(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
     }
     
+    @Test
+    public void testSendMessageBatch() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setBatchSize(2);
+        endpoint.getEndpointConfiguration().setBatchTimeout(0L);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        expect(connection.createSession(true, Session.SESSION_TRANSACTED)).andReturn(session).once();
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(3);
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().times(3);
+
+        session.commit();
+        expectLastCall().times(2);
+
+        messageProducer.close();
+        expectLastCall().once();
+        session.close();
+        expectLastCall().once();
+        connection.close();
+        expectLastCall().once();
+
+        replay(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        endpoint.createProducer().send(message, context);
+        endpoint.createProducer().send(message, context);
+        endpoint.createProducer().send(message, context);
+
+        endpoint.destroy();
+
+        verify(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+    }
+
+    @Test
+    public void testSendMessageBatchTimeout() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setBatchSize(10);
+        endpoint.getEndpointConfiguration().setBatchTimeout(100L);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        expect(connection.createSession(true, Session.SESSION_TRANSACTED)).andReturn(session).once();
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().once();
+
+        final CountDownLatch committed = new CountDownLatch(1);
+        session.commit();
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                committed.countDown();
+                return null;
+            }
+        }).once();
+
+        replay(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        endpoint.createProducer().send(message, context);
+
+        Assert.assertTrue(committed.await(5000L, TimeUnit.MILLISECONDS));
+
+        verify(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+    }
+
     @Test
     public void testSendEmptyMessage() throws JMSException {
         JmsEndpoint endpoint = new JmsEndpoint();
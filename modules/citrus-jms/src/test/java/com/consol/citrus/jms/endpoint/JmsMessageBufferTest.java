@@ -0,0 +1,287 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.springframework.jms.core.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.jms.*;
+import javax.jms.Message;
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class JmsMessageBufferTest {
+
+    @Test
+    public void testReceiveBufferedMessages() throws Exception {
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(new JmsEndpointConfiguration());
+
+        Listener hello = deliver(messageBuffer, createMessage("Hello", "sayHello"));
+        Listener bye = deliver(messageBuffer, createMessage("Bye", "sayBye"));
+
+        Assert.assertEquals(((TextMessage) messageBuffer.receive(null, 0L)).getText(), "Hello");
+        Assert.assertEquals(((TextMessage) messageBuffer.receive("", 0L)).getText(), "Bye");
+        Assert.assertNull(messageBuffer.receive(null, 0L));
+
+        Assert.assertTrue(hello.isAcknowledged());
+        Assert.assertTrue(bye.isAcknowledged());
+    }
+
+    @Test
+    public void testReceiveSelected() throws Exception {
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(new JmsEndpointConfiguration());
+
+        deliver(messageBuffer, createMessage("Hello", "sayHello"));
+        deliver(messageBuffer, createMessage("Bye", "sayBye"));
+
+        Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayBye'", 0L)).getText(), "Bye");
+        Assert.assertNull(messageBuffer.receive("operation = 'sayBye'", 100L));
+        Assert.assertNull(messageBuffer.receive("operation = 'sayHello' AND id = 'unknown'", 0L));
+        Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayHello' AND id = 'sayHello1'", 0L)).getText(), "Hello");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnsupportedSelector() {
+        new JmsMessageBuffer(new JmsEndpointConfiguration()).receive("priority > 5", 0L);
+    }
+
+    @Test
+    public void testWaitForMessage() throws Exception {
+        final JmsMessageBuffer messageBuffer = new JmsMessageBuffer(new JmsEndpointConfiguration());
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                    messageBuffer.onMessage(createMessage("Hello", "sayHello"));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+
+        Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayHello'", 5000L)).getText(), "Hello");
+        producer.join();
+    }
+
+    @Test
+    public void testPrefetchSizeLimit() throws Exception {
+        JmsEndpointConfiguration endpointConfiguration = new JmsEndpointConfiguration();
+        endpointConfiguration.setPrefetchSize(1);
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(endpointConfiguration);
+
+        deliver(messageBuffer, createMessage("Hello", "sayHello"));
+        Listener bye = deliver(messageBuffer, createMessage("Bye", "sayBye"));
+
+        Assert.assertEquals(((TextMessage) messageBuffer.receive(null, 0L)).getText(), "Hello");
+        Assert.assertEquals(((TextMessage) messageBuffer.receive(null, 5000L)).getText(), "Bye");
+        Assert.assertTrue(bye.isAcknowledged());
+    }
+
+    @Test
+    public void testBufferFullOfUnmatchedMessages() throws Exception {
+        JmsEndpointConfiguration endpointConfiguration = new JmsEndpointConfiguration();
+        endpointConfiguration.setPrefetchSize(2);
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(endpointConfiguration);
+
+        deliver(messageBuffer, createMessage("Hello", "sayHello"));
+        deliver(messageBuffer, createMessage("Bye", "sayBye"));
+
+        long start = System.currentTimeMillis();
+        try {
+            messageBuffer.receive("operation = 'sayGoodNight'", 5000L);
+            Assert.fail("Missing exception for prefetch buffer full of unmatched messages");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Prefetch buffer full of unmatched messages"), e.getMessage());
+        }
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayBye'", 0L)).getText(), "Bye");
+    }
+
+    @Test
+    public void testNoAcknowledgeOnStop() throws Exception {
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(new JmsEndpointConfiguration());
+
+        Listener hello = deliver(messageBuffer, createMessage("Hello", "sayHello"));
+        messageBuffer.stop();
+
+        hello.join(5000L);
+        Assert.assertFalse(hello.isAlive());
+        Assert.assertFalse(hello.isAcknowledged());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidPrefetchSize() {
+        new JmsEndpointConfiguration().setPrefetchSize(0);
+    }
+
+    @Test
+    public void testStartListener() throws JMSException {
+        JmsEndpointConfiguration endpointConfiguration = new JmsEndpointConfiguration();
+        endpointConfiguration.setConnectionFactory(new ActiveMQConnectionFactory("vm://message-buffer?broker.persistent=false&broker.useJmx=false"));
+        endpointConfiguration.setDestinationName("JMS.Citrus.MessageBuffer.Queue");
+        endpointConfiguration.setPrefetchSize(1);
+
+        JmsMessageBuffer messageBuffer = new JmsMessageBuffer(endpointConfiguration);
+        messageBuffer.start();
+
+        try {
+            JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+            for (String operation : new String[] { "sayHello", "sayBye" }) {
+                send(jmsTemplate, operation);
+            }
+
+            Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayHello'", 5000L)).getText(), "<sayHello/>");
+            Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayBye'", 5000L)).getText(), "<sayBye/>");
+            Assert.assertNull(messageBuffer.receive(null, 100L));
+        } finally {
+            messageBuffer.stop();
+        }
+    }
+
+    @Test
+    public void testRedeliveryOnStop() throws JMSException {
+        // provider side prefetch disabled so messages are not held back by busy listener sessions
+        ConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://message-buffer-redelivery?broker.persistent=false&broker.useJmx=false&jms.prefetchPolicy.all=0");
+
+        // keep embedded broker alive while buffer is stopped
+        Connection connection = connectionFactory.createConnection();
+
+        try {
+            JmsEndpointConfiguration endpointConfiguration = new JmsEndpointConfiguration();
+            endpointConfiguration.setConnectionFactory(connectionFactory);
+            endpointConfiguration.setDestinationName("JMS.Citrus.MessageBuffer.Redelivery.Queue");
+            endpointConfiguration.setPrefetchSize(2);
+
+            JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+            jmsTemplate.setReceiveTimeout(5000L);
+
+            JmsMessageBuffer messageBuffer = new JmsMessageBuffer(endpointConfiguration);
+            messageBuffer.start();
+
+            try {
+                for (String operation : new String[] { "sayHello", "sayBye", "sayGoodNight" }) {
+                    send(jmsTemplate, operation);
+                }
+
+                try {
+                    messageBuffer.receive("operation = 'sayGoodNight'", 5000L);
+                    Assert.fail("Missing exception for prefetch buffer full of unmatched messages");
+                } catch (CitrusRuntimeException e) {
+                    Assert.assertTrue(e.getMessage().startsWith("Prefetch buffer full of unmatched messages"), e.getMessage());
+                }
+
+                Assert.assertEquals(((TextMessage) messageBuffer.receive("operation = 'sayHello'", 0L)).getText(), "<sayHello/>");
+            } finally {
+                messageBuffer.stop();
+            }
+
+            // buffered messages were not acknowledged and get redelivered
+            Set<String> remaining = new HashSet<String>();
+            for (int i = 0; i < 2; i++) {
+                TextMessage message = (TextMessage) jmsTemplate.receive();
+                Assert.assertNotNull(message);
+                remaining.add(message.getText());
+            }
+            Assert.assertEquals(remaining, new HashSet<String>(Arrays.asList("<sayBye/>", "<sayGoodNight/>")));
+
+            jmsTemplate.setReceiveTimeout(100L);
+            Assert.assertNull(jmsTemplate.receive());
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Sends text message with operation header to endpoint destination.
+     * @param jmsTemplate
+     * @param operation
+     */
+    private void send(JmsTemplate jmsTemplate, final String operation) {
+        jmsTemplate.send(new MessageCreator() {
+            @Override
+            public Message createMessage(Session session) throws JMSException {
+                TextMessage message = session.createTextMessage("<" + operation + "/>");
+                message.setStringProperty("operation", operation);
+                return message;
+            }
+        });
+    }
+
+    /**
+     * Delivers message to buffer in separate listener thread as the listener blocks until message is taken. Waits
+     * until listener thread is parked in the buffer.
+     * @param messageBuffer
+     * @param message
+     * @return
+     */
+    private Listener deliver(JmsMessageBuffer messageBuffer, Message message) throws InterruptedException {
+        Listener listener = new Listener(messageBuffer, message);
+        listener.start();
+
+        while (listener.getState() != Thread.State.WAITING && listener.isAlive()) {
+            Thread.sleep(1L);
+        }
+
+        return listener;
+    }
+
+    /**
+     * Listener thread remembers if message would have been acknowledged by listener container.
+     */
+    private static class Listener extends Thread {
+        private final JmsMessageBuffer messageBuffer;
+        private final Message message;
+        private volatile boolean acknowledged = false;
+
+        Listener(JmsMessageBuffer messageBuffer, Message message) {
+            this.messageBuffer = messageBuffer;
+            this.message = message;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                messageBuffer.onMessage(message);
+                acknowledged = true;
+            } catch (CitrusRuntimeException e) {
+                acknowledged = false;
+            }
+        }
+
+        public boolean isAcknowledged() throws InterruptedException {
+            join(5000L);
+            return acknowledged;
+        }
+    }
+
+    private Message createMessage(String payload, String operation) {
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("operation", operation);
+        headers.put("id", operation + "1");
+        return new TextMessageImpl(payload, headers);
+    }
+}
@@ -56,6 +56,12 @@ public class MailEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Mail message converter */
     private MailMessageConverter messageConverter = new MailMessageConverter();
 
+    /** Should binary content be added to XML representation as base64 String */
+    private boolean inlineBinaryContent = true;
+
+    /** Binary content larger than this number of bytes is spooled to temporary file */
+    private long spoolThreshold = 1024 * 1024;
+
     /**
      * Gets the mail protocol.
      * @return the mail protocol.
@@ -211,4 +217,37 @@ public class MailEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setMessageConverter(MailMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Is binary content added to XML representation as base64 String.
+     * @return
+     */
+    public boolean isInlineBinaryContent() {
+        return inlineBinaryContent;
+    }
+
+    /**
+     * Enables/disables binary content as base64 String in XML representation. When disabled only size and digest
+     * information are added and binary content is held as raw content.
+     * @param inlineBinaryContent
+     */
+    public void setInlineBinaryContent(boolean inlineBinaryContent) {
+        this.inlineBinaryContent = inlineBinaryContent;
+    }
+
+    /**
+     * Gets the spool threshold.
+     * @return
+     */
+    public long getSpoolThreshold() {
+        return spoolThreshold;
+    }
+
+    /**
+     * Sets the number of bytes binary content may have before it is spooled to temporary file.
+     * @param spoolThreshold
+     */
+    public void setSpoolThreshold(long spoolThreshold) {
+        this.spoolThreshold = spoolThreshold;
+    }
 }
@@ -35,6 +35,8 @@ public class MailServerParser extends AbstractServerParser {
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("port"), "port");
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("auto-accept"), "autoAccept");
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("split-multipart"), "splitMultipart");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("inline-binary-content"), "inlineBinaryContent");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("spool-threshold"), "spoolThreshold");
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("message-converter"), "messageConverter");
 
@@ -56,4 +56,7 @@ public abstract class CitrusMailMessageHeaders {
     /** Attachment file name */
     public static final String MAIL_FILENAME = MAIL_PREFIX + "filename";
 
+    /** Raw binary content of mail parts when not inlined in XML representation */
+    public static final String MAIL_BINARY_CONTENT = MAIL_PREFIX + "binary_content";
+
 }
@@ -89,9 +89,15 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
 
             if (mailMessage.getBody().hasAttachments()) {
                 for (AttachmentPart attachmentPart : mailMessage.getBody().getAttachments()) {
-                    mimeMailMessage.getMimeMessageHelper().addAttachment(attachmentPart.getFileName(),
-                            new ByteArrayResource(attachmentPart.getContent().getBytes(Charset.forName(attachmentPart.getCharsetName()))),
-                            attachmentPart.getContentType());
+                    if (attachmentPart.getBinaryContent() != null) {
+                        mimeMailMessage.getMimeMessageHelper().addAttachment(attachmentPart.getFileName(),
+                                attachmentPart.getBinaryContent().getResource(),
+                                attachmentPart.getContentType());
+                    } else {
+                        mimeMailMessage.getMimeMessageHelper().addAttachment(attachmentPart.getFileName(),
+                                new ByteArrayResource(attachmentPart.getContent().getBytes(Charset.forName(attachmentPart.getCharsetName()))),
+                                attachmentPart.getContentType());
+                    }
                 }
             }
         } catch (MessagingException e) {
@@ -104,7 +110,7 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
         try {
             Map<String, Object> messageHeaders = createMessageHeaders(message);
             MailMessage mailMessage = createMailMessage(messageHeaders);
-            mailMessage.setBody(handlePart(message.getMimeMessage()));
+            mailMessage.setBody(handlePart(message.getMimeMessage(), endpointConfiguration));
 
             return new DefaultMessage(mailMessage, messageHeaders);
         } catch (MessagingException e) {
@@ -152,41 +158,45 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
     /**
      * Process message part. Can be a text, binary or multipart instance.
      * @param part
+     * @param endpointConfiguration
      * @return
      * @throws java.io.IOException
      */
-    protected BodyPart handlePart(MimePart part) throws IOException, MessagingException {
+    protected BodyPart handlePart(MimePart part, MailEndpointConfiguration endpointConfiguration) throws IOException, MessagingException {
         String contentType = parseContentType(part.getContentType());
 
         if (part.isMimeType("multipart/*")) {
-            return handleMultiPart((Multipart) part.getContent());
+            return handleMultiPart((Multipart) part.getContent(), endpointConfiguration);
         } else if (part.isMimeType("text/*")) {
             return handleTextPart(part, contentType);
         } else if (part.isMimeType("image/*")) {
-            return handleImageBinaryPart(part, contentType);
+            return handleImageBinaryPart(part, contentType, endpointConfiguration);
         } else if (part.isMimeType("application/*")) {
-            return handleApplicationContentPart(part, contentType);
+            return handleApplicationContentPart(part, contentType, endpointConfiguration);
         } else {
-            return handleBinaryPart(part, contentType);
+            return handleBinaryPart(part, contentType, endpointConfiguration);
         }
     }
 
     /**
      * Construct multipart body with first part being the body content and further parts being the attachments.
      * @param body
+     * @param endpointConfiguration
      * @return
      * @throws IOException
      */
-    private BodyPart handleMultiPart(Multipart body) throws IOException, MessagingException {
+    private BodyPart handleMultiPart(Multipart body, MailEndpointConfiguration endpointConfiguration) throws IOException, MessagingException {
         BodyPart bodyPart = null;
         for (int i = 0; i < body.getCount(); i++) {
             MimePart entity = (MimePart) body.getBodyPart(i);
 
             if (bodyPart == null) {
-                bodyPart = handlePart(entity);
+                bodyPart = handlePart(entity, endpointConfiguration);
             } else {
-                BodyPart attachment = handlePart(entity);
-                bodyPart.addPart(new AttachmentPart(attachment.getContent(), parseContentType(attachment.getContentType()), entity.getFileName()));
+                BodyPart attachment = handlePart(entity, endpointConfiguration);
+                AttachmentPart attachmentPart = new AttachmentPart(attachment.getContent(), parseContentType(attachment.getContentType()), entity.getFileName());
+                attachmentPart.setBinaryContent(attachment.getBinaryContent());
+                bodyPart.addPart(attachmentPart);
             }
         }
 
@@ -198,14 +208,15 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
      * image or binary body construction.
      * @param applicationData
      * @param contentType
+     * @param endpointConfiguration
      * @return
      * @throws IOException
      */
-    protected BodyPart handleApplicationContentPart(MimePart applicationData, String contentType) throws IOException, MessagingException {
+    protected BodyPart handleApplicationContentPart(MimePart applicationData, String contentType, MailEndpointConfiguration endpointConfiguration) throws IOException, MessagingException {
         if (applicationData.isMimeType("application/pdf")) {
-            return handleImageBinaryPart(applicationData, contentType);
+            return handleImageBinaryPart(applicationData, contentType, endpointConfiguration);
         } else if (applicationData.isMimeType("application/rtf")) {
-            return handleImageBinaryPart(applicationData, contentType);
+            return handleImageBinaryPart(applicationData, contentType, endpointConfiguration);
         } else if (applicationData.isMimeType("application/java")) {
             return handleTextPart(applicationData, contentType);
         } else if (applicationData.isMimeType("application/x-javascript")) {
@@ -217,18 +228,26 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
         } else if (applicationData.isMimeType("application/postscript")) {
             return handleTextPart(applicationData, contentType);
         } else {
-            return handleBinaryPart(applicationData, contentType);
+            return handleBinaryPart(applicationData, contentType, endpointConfiguration);
         }
     }
 
     /**
-     * Construct base64 body part from image data.
+     * Construct base64 body part from image data. When binary content is not inlined the raw content is
+     * added to the body part and only size and digest information go to the XML representation.
      * @param image
      * @param contentType
+     * @param endpointConfiguration
      * @return
      * @throws IOException
      */
-    protected BodyPart handleImageBinaryPart(MimePart image, String contentType) throws IOException, MessagingException {
+    protected BodyPart handleImageBinaryPart(MimePart image, String contentType, MailEndpointConfiguration endpointConfiguration) throws IOException, MessagingException {
+        if (!endpointConfiguration.isInlineBinaryContent()) {
+            BodyPart bodyPart = new BodyPart(null, contentType);
+            bodyPart.setBinaryContent(BinaryContent.fromStream(image.getInputStream(), endpointConfiguration.getSpoolThreshold()));
+            return bodyPart;
+        }
+
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         FileCopyUtils.copy(image.getInputStream(), bos);
         String base64 = Base64.encodeBase64String(bos.toByteArray());
@@ -236,15 +255,23 @@ public class MailMessageConverter implements MessageConverter<MimeMailMessage, M
     }
 
     /**
-     * Construct simple body part from binary data just adding file name as content.
+     * Construct simple body part from binary data just adding file name as content. When binary content is not inlined
+     * the raw content is added to the body part, too.
      * @param mediaPart
      * @param contentType
+     * @param endpointConfiguration
      * @return
      * @throws IOException
      */
-    protected BodyPart handleBinaryPart(MimePart mediaPart, String contentType) throws IOException, MessagingException {
+    protected BodyPart handleBinaryPart(MimePart mediaPart, String contentType, MailEndpointConfiguration endpointConfiguration) throws IOException, MessagingException {
         String contentId = mediaPart.getContentID() != null ? "(" + mediaPart.getContentID() + ")" : "";
-        return new BodyPart(mediaPart.getFileName() + contentId, contentType);
+        BodyPart bodyPart = new BodyPart(mediaPart.getFileName() + contentId, contentType);
+
+        if (!endpointConfiguration.isInlineBinaryContent()) {
+            bodyPart.setBinaryContent(BinaryContent.fromStream(mediaPart.getInputStream(), endpointConfiguration.getSpoolThreshold()));
+        }
+
+        return bodyPart;
     }
 
     /**
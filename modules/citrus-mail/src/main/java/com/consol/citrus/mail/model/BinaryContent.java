@@ -0,0 +1,272 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.mail.model;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.*;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.*;
+import java.security.*;
+
+/**
+ * Binary mail content kept as raw bytes or spooled to a temporary file when exceeding a given size threshold.
+ * Content is read lazily from this holder, only size and digest information are computed up front. Temporary files
+ * are deleted when the content is released, spooled content is not available anymore after that.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class BinaryContent implements Serializable {
+
+    /** Serial */
+    private static final long serialVersionUID = 4812937432118563702L;
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(BinaryContent.class);
+
+    /** Digest algorithm used for content digests */
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** In memory content */
+    private final byte[] data;
+
+    /** Spooled content */
+    private final File file;
+
+    /** Content size in bytes */
+    private final long size;
+
+    /** Hex encoded content digest */
+    private final String digest;
+
+    /** Released state, spooled content has been deleted */
+    private volatile boolean released = false;
+
+    /**
+     * Default constructor using fields.
+     * @param data
+     * @param file
+     * @param size
+     * @param digest
+     */
+    private BinaryContent(byte[] data, File file, long size, String digest) {
+        this.data = data;
+        this.file = file;
+        this.size = size;
+        this.digest = digest;
+    }
+
+    /**
+     * Reads binary content from input stream. Content is held in memory unless spool threshold is exceeded, in that case
+     * content is written to a temporary file.
+     * @param inputStream
+     * @param spoolThreshold
+     * @return
+     * @throws IOException
+     */
+    public static BinaryContent fromStream(InputStream inputStream, long spoolThreshold) throws IOException {
+        MessageDigest messageDigest = createMessageDigest();
+        InputStream in = new DigestInputStream(inputStream, messageDigest);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        OutputStream spool = null;
+        File spoolFile = null;
+
+        try {
+            byte[] chunk = new byte[4096];
+            long size = 0;
+            int bytesRead;
+            while ((bytesRead = in.read(chunk)) != -1) {
+                size += bytesRead;
+
+                if (spool == null && size > spoolThreshold) {
+                    spoolFile = File.createTempFile("citrus-mail-", ".bin");
+                    spool = new BufferedOutputStream(new FileOutputStream(spoolFile));
+                    buffer.writeTo(spool);
+                    buffer = null;
+                }
+
+                if (spool != null) {
+                    spool.write(chunk, 0, bytesRead);
+                } else {
+                    buffer.write(chunk, 0, bytesRead);
+                }
+            }
+
+            String digest = Hex.encodeHexString(messageDigest.digest());
+            if (spool != null) {
+                spool.close();
+                spool = null;
+                BinaryContent content = new BinaryContent(null, spoolFile, size, digest);
+                spoolFile = null;
+                return content;
+            } else {
+                return new BinaryContent(buffer.toByteArray(), null, size, digest);
+            }
+        } finally {
+            in.close();
+
+            if (spool != null) {
+                spool.close();
+            }
+
+            if (spoolFile != null) {
+                // reading content failed
+                deleteFile(spoolFile);
+            }
+        }
+    }
+
+    /**
+     * Creates binary content from byte array.
+     * @param data
+     * @return
+     */
+    public static BinaryContent fromBytes(byte[] data) {
+        return new BinaryContent(data, null, data.length, Hex.encodeHexString(createMessageDigest().digest(data)));
+    }
+
+    /**
+     * Gets new message digest instance.
+     * @return
+     */
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unsupported digest algorithm: " + DIGEST_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Deletes temporary file of spooled content.
+     * @param spoolFile
+     */
+    private static void deleteFile(File spoolFile) {
+        if (spoolFile.exists() && !spoolFile.delete()) {
+            log.warn("Failed to delete binary content spool file: " + spoolFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Releases this content. Spooled content is deleted from file system. Method may be called several times.
+     */
+    public void release() {
+        released = true;
+
+        if (file != null) {
+            deleteFile(file);
+        }
+    }
+
+    /**
+     * Gets resource representation of this content that can be read multiple times until content is released.
+     * @return
+     */
+    public Resource getResource() {
+        assertNotReleased();
+
+        if (file != null) {
+            return new FileSystemResource(file);
+        } else {
+            return new ByteArrayResource(data);
+        }
+    }
+
+    /**
+     * Opens new input stream on content.
+     * @return
+     * @throws IOException
+     */
+    public InputStream getInputStream() throws IOException {
+        return getResource().getInputStream();
+    }
+
+    /**
+     * Gets the content bytes. Spooled content is read from temporary file.
+     * @return
+     * @throws IOException
+     */
+    public byte[] getBytes() throws IOException {
+        assertNotReleased();
+
+        if (file != null) {
+            return FileCopyUtils.copyToByteArray(file);
+        } else {
+            return data;
+        }
+    }
+
+    /**
+     * Gets the content as base64 encoded String.
+     * @return
+     * @throws IOException
+     */
+    public String getBase64() throws IOException {
+        return Base64.encodeBase64String(getBytes());
+    }
+
+    /**
+     * Is content spooled to temporary file.
+     * @return
+     */
+    public boolean isSpooled() {
+        return file != null;
+    }
+
+    /**
+     * Is content released.
+     * @return
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Spooled content is not available after release.
+     */
+    private void assertNotReleased() {
+        if (released && file != null) {
+            throw new IllegalStateException("Spooled binary content has already been released");
+        }
+    }
+
+    /**
+     * Gets the content size in bytes.
+     * @return
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the hex encoded content digest.
+     * @return
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [size: %s][digest: %s]", getClass().getSimpleName().toUpperCase(), size, digest);
+    }
+}
@@ -24,7 +24,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Body part representation holds content as String and optional attachment parts.
+ * Body part representation holds content as String and optional attachment parts. Binary content may be held
+ * separately as raw content, in that case only content size and digest are part of the XML representation.
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -33,8 +34,13 @@ public class BodyPart {
     private String contentType;
 
     private String content;
+    private Long size;
+    private String digest;
     private List<AttachmentPart> attachments;
 
+    /** Raw binary content not marshalled to XML */
+    private transient BinaryContent binaryContent;
+
     /**
      * Default constructor using content and contentType.
      * @param content
@@ -108,6 +114,46 @@ public class BodyPart {
         this.content = content;
     }
 
+    /**
+     * Gets the binary content size in bytes.
+     * @return
+     */
+    public Long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the binary content digest.
+     * @return
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Gets the raw binary content.
+     * @return
+     */
+    public BinaryContent getBinaryContent() {
+        return binaryContent;
+    }
+
+    /**
+     * Sets the raw binary content. Also sets size and digest information.
+     * @param binaryContent
+     */
+    public void setBinaryContent(BinaryContent binaryContent) {
+        this.binaryContent = binaryContent;
+
+        if (binaryContent != null) {
+            this.size = binaryContent.getSize();
+            this.digest = binaryContent.getDigest();
+        } else {
+            this.size = null;
+            this.digest = null;
+        }
+    }
+
     /**
      * Gets the attachent list.
      * @return
@@ -36,6 +36,7 @@ import javax.mail.Session;
 import javax.mail.internet.MimeMessage;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Mail server implementation starts new SMTP server instance and listens for incoming mail messages. Incoming mail messages
@@ -74,9 +75,18 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
     /** Should split multipart messages for each mime part */
     private boolean splitMultipart = false;
 
+    /** Should binary content be added to XML representation as base64 String */
+    private boolean inlineBinaryContent = true;
+
+    /** Binary content larger than this number of bytes is spooled to temporary file */
+    private long spoolThreshold = 1024 * 1024;
+
     /** Smtp server instance */
     private SMTPServer smtpServer;
 
+    /** Spooled binary content handed over to endpoint adapter, released on server shutdown */
+    private final Queue<BinaryContent> spooledContent = new ConcurrentLinkedQueue<BinaryContent>();
+
     @Override
     protected void startup() {
         smtpServer = new SMTPServer(new SimpleMessageListenerAdapter(this));
@@ -87,7 +97,22 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
 
     @Override
     protected void shutdown() {
-        smtpServer.stop();
+        if (smtpServer != null) {
+            smtpServer.stop();
+        }
+
+        releaseSpooledContent();
+    }
+
+    /**
+     * Releases all spooled binary content that has been handed over to the endpoint adapter. Endpoint adapter may pass
+     * mail messages to the test asynchronously, so spooled content is kept as long as the server is running.
+     */
+    private void releaseSpooledContent() {
+        BinaryContent binaryContent;
+        while ((binaryContent = spooledContent.poll()) != null) {
+            binaryContent.release();
+        }
     }
 
     @Override
@@ -122,6 +147,14 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
         try {
             MimeMailMessage mimeMailMessage = new MimeMailMessage(new MimeMessage(getSession(), data));
             Message request = messageConverter.convertInbound(mimeMailMessage, getEndpointConfiguration());
+
+            // test may read binary content after endpoint adapter returned, keep spooled content until shutdown
+            for (BinaryContent binaryContent : collectBinaryContent(((MailMessage) request.getPayload()).getBody(), new ArrayList<BinaryContent>())) {
+                if (binaryContent.isSpooled()) {
+                    spooledContent.add(binaryContent);
+                }
+            }
+
             Message response = invokeEndpointAdapter(request);
 
             if (response != null && response.getPayload() != null) {
@@ -151,7 +184,13 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
         if (splitMultipart) {
             return split(mailMessage.getBody(), request.copyHeaders());
         } else {
-            return getEndpointAdapter().handleMessage(new DefaultMessage(mailMessageMapper.toXML(mailMessage), request.copyHeaders()));
+            Message mailRequest = new DefaultMessage(mailMessageMapper.toXML(mailMessage), request.copyHeaders());
+
+            if (!inlineBinaryContent) {
+                mailRequest.setHeader(CitrusMailMessageHeaders.MAIL_BINARY_CONTENT, collectBinaryContent(mailMessage.getBody(), new ArrayList<BinaryContent>()));
+            }
+
+            return getEndpointAdapter().handleMessage(mailRequest);
         }
     }
 
@@ -165,18 +204,24 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
      */
     private Message split(BodyPart bodyPart, Map<String, Object> messageHeaders) {
         MailMessage mailMessage = createMailMessage(messageHeaders);
-        mailMessage.setBody(new BodyPart(bodyPart.getContent(), bodyPart.getContentType()));
+        BodyPart body = new BodyPart(bodyPart.getContent(), bodyPart.getContentType());
+        body.setBinaryContent(bodyPart.getBinaryContent());
+        mailMessage.setBody(body);
+
+        Message mailRequest = new DefaultMessage(mailMessageMapper.toXML(mailMessage), new HashMap<String, Object>(messageHeaders))
+                .setHeader(CitrusMailMessageHeaders.MAIL_CONTENT_TYPE, bodyPart.getContentType());
 
-        Stack<Message> responseStack = new Stack<Message>();
         if (bodyPart instanceof AttachmentPart) {
-            fillStack(getEndpointAdapter().handleMessage(new DefaultMessage(mailMessageMapper.toXML(mailMessage), messageHeaders)
-                    .setHeader(CitrusMailMessageHeaders.MAIL_CONTENT_TYPE, bodyPart.getContentType())
-                    .setHeader(CitrusMailMessageHeaders.MAIL_FILENAME, ((AttachmentPart) bodyPart).getFileName())), responseStack);
-        } else {
-            fillStack(getEndpointAdapter().handleMessage(new DefaultMessage(mailMessageMapper.toXML(mailMessage), messageHeaders)
-                    .setHeader(CitrusMailMessageHeaders.MAIL_CONTENT_TYPE, bodyPart.getContentType())), responseStack);
+            mailRequest.setHeader(CitrusMailMessageHeaders.MAIL_FILENAME, ((AttachmentPart) bodyPart).getFileName());
+        }
+
+        if (bodyPart.getBinaryContent() != null) {
+            mailRequest.setHeader(CitrusMailMessageHeaders.MAIL_BINARY_CONTENT, Collections.singletonList(bodyPart.getBinaryContent()));
         }
 
+        Stack<Message> responseStack = new Stack<Message>();
+        fillStack(getEndpointAdapter().handleMessage(mailRequest), responseStack);
+
         if (bodyPart.hasAttachments()) {
             for (AttachmentPart attachmentPart : bodyPart.getAttachments()) {
                 fillStack(split(attachmentPart, messageHeaders), responseStack);
@@ -186,6 +231,26 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
         return responseStack.isEmpty() ? null : responseStack.pop();
     }
 
+    /**
+     * Collects raw binary content of body part and all attachments.
+     * @param bodyPart
+     * @param binaryContents
+     * @return
+     */
+    private List<BinaryContent> collectBinaryContent(BodyPart bodyPart, List<BinaryContent> binaryContents) {
+        if (bodyPart.getBinaryContent() != null) {
+            binaryContents.add(bodyPart.getBinaryContent());
+        }
+
+        if (bodyPart.hasAttachments()) {
+            for (AttachmentPart attachmentPart : bodyPart.getAttachments()) {
+                collectBinaryContent(attachmentPart, binaryContents);
+            }
+        }
+
+        return binaryContents;
+    }
+
     private void fillStack(Message message, Stack<Message> responseStack) {
         if (message != null) {
             responseStack.push(message);
@@ -217,6 +282,8 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
         endpointConfiguration.setMessageConverter(messageConverter);
         endpointConfiguration.setMailMessageMapper(mailMessageMapper);
         endpointConfiguration.setJavaMailProperties(javaMailProperties);
+        endpointConfiguration.setInlineBinaryContent(inlineBinaryContent);
+        endpointConfiguration.setSpoolThreshold(spoolThreshold);
 
         return endpointConfiguration;
     }
@@ -343,4 +410,37 @@ public class MailServer extends AbstractServer implements SimpleMessageListener,
     public void setMessageConverter(MailMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Is binary content added to XML representation as base64 String.
+     * @return
+     */
+    public boolean isInlineBinaryContent() {
+        return inlineBinaryContent;
+    }
+
+    /**
+     * Enables/disables binary content as base64 String in XML representation. When disabled only size and digest
+     * information are added and raw content is available in message header.
+     * @param inlineBinaryContent
+     */
+    public void setInlineBinaryContent(boolean inlineBinaryContent) {
+        this.inlineBinaryContent = inlineBinaryContent;
+    }
+
+    /**
+     * Gets the spool threshold.
+     * @return
+     */
+    public long getSpoolThreshold() {
+        return spoolThreshold;
+    }
+
+    /**
+     * Sets the number of bytes binary content may have before it is spooled to temporary file.
+     * @param spoolThreshold
+     */
+    public void setSpoolThreshold(long spoolThreshold) {
+        this.spoolThreshold = spoolThreshold;
+    }
 }
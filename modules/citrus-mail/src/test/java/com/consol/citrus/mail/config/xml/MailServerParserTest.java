@@ -44,6 +44,8 @@ public class MailServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isSplitMultipart());
         Assert.assertTrue(server.isAutoAccept());
+        Assert.assertTrue(server.isInlineBinaryContent());
+        Assert.assertEquals(server.getSpoolThreshold(), 1024 * 1024L);
         Assert.assertEquals(server.getEndpointAdapter().getClass(), ChannelEndpointAdapter.class);
         Assert.assertTrue(server.getJavaMailProperties().isEmpty());
 
@@ -63,6 +65,8 @@ public class MailServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertTrue(server.isSplitMultipart());
         Assert.assertTrue(server.isAutoAccept());
+        Assert.assertFalse(server.isInlineBinaryContent());
+        Assert.assertEquals(server.getSpoolThreshold(), 4096L);
         Assert.assertEquals(server.getEndpointAdapter(), beanDefinitionContext.getBean("endpointAdapter"));
         Assert.assertEquals(server.getJavaMailProperties(), beanDefinitionContext.getBean("mailProperties"));
         Assert.assertEquals(server.getMessageConverter(), beanDefinitionContext.getBean("messageConverter", MessageConverter.class));
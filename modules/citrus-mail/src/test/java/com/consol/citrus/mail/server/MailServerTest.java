@@ -19,6 +19,7 @@ package com.consol.citrus.mail.server;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.mail.message.CitrusMailMessageHeaders;
+import com.consol.citrus.mail.model.BinaryContent;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import org.easymock.EasyMock;
@@ -30,8 +31,11 @@ import org.subethamail.smtp.RejectException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.easymock.EasyMock.*;
 
@@ -177,6 +181,64 @@ public class MailServerTest {
         verify(endpointAdapterMock);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBinaryMessageNotInlined() throws IOException {
+        MailServer mailServer = new MailServer();
+        mailServer.setEndpointAdapter(endpointAdapterMock);
+        mailServer.setInlineBinaryContent(false);
+        mailServer.setSpoolThreshold(1024L);
+
+        final List<BinaryContent> received = new ArrayList<BinaryContent>();
+        final List<File> spoolFiles = new ArrayList<File>();
+
+        reset(endpointAdapterMock);
+
+        expect(endpointAdapterMock.handleMessage(anyObject(Message.class))).andAnswer(new IAnswer() {
+            @Override
+            public Message answer() throws Throwable {
+                Message message = (Message) getCurrentArguments()[0];
+
+                Assert.assertNotNull(message.getPayload());
+                Assert.assertEquals(message.getHeader(CitrusMailMessageHeaders.MAIL_SUBJECT), "This is brand_logo.png");
+                Assert.assertFalse(message.getPayload(String.class).contains("iVBORw0KGgo"));
+                Assert.assertTrue(message.getPayload(String.class).contains("<size>5812</size>"));
+
+                List<BinaryContent> binaryContent = (List<BinaryContent>) message.getHeader(CitrusMailMessageHeaders.MAIL_BINARY_CONTENT);
+                Assert.assertEquals(binaryContent.size(), 1L);
+                Assert.assertTrue(binaryContent.get(0).isSpooled());
+                Assert.assertEquals(binaryContent.get(0).getSize(), 5812L);
+                Assert.assertEquals(binaryContent.get(0).getDigest(), "4400295d8cc29972666d512c8a4634b3e36e0a53e256dd446547adac685bd7f6");
+                Assert.assertEquals(binaryContent.get(0).getBytes().length, 5812L);
+
+                received.addAll(binaryContent);
+                spoolFiles.add(binaryContent.get(0).getResource().getFile());
+                Assert.assertTrue(spoolFiles.get(0).exists());
+
+                return null;
+            }
+        }).once();
+
+        replay(endpointAdapterMock);
+
+        Assert.assertTrue(mailServer.accept("foo@mail.com", "bar@mail.com"));
+        mailServer.deliver("foo@mail.com", "bar@mail.com",
+                new ClassPathResource("binary_mail.txt", MailServer.class).getInputStream());
+
+        verify(endpointAdapterMock);
+
+        // spooled content is still available after delivery as test may receive mail message later
+        Assert.assertFalse(received.get(0).isReleased());
+        Assert.assertTrue(spoolFiles.get(0).exists());
+        Assert.assertEquals(received.get(0).getBytes().length, 5812L);
+        Assert.assertEquals(received.get(0).getDigest(), "4400295d8cc29972666d512c8a4634b3e36e0a53e256dd446547adac685bd7f6");
+
+        // spooled content is released on server shutdown
+        mailServer.stop();
+        Assert.assertTrue(received.get(0).isReleased());
+        Assert.assertFalse(spoolFiles.get(0).exists());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testAutoAcceptDisabled() throws IOException {
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.FileCopyUtils;
 
 import java.io.*;
+import java.util.concurrent.Executor;
 
 /**
  * A command for delegation to a endpoint adapter
@@ -53,26 +54,55 @@ public class SshCommand implements Command, Runnable {
     /** User on which behalf the command is executed **/
     private String user;
 
+    /** Thread safe mapper shared with other commands **/
+    private final XmlMapper xmlMapper;
+
+    /** Executor running this command, new thread is started when not set **/
+    private final Executor executor;
+
+    /** Maximum number of bytes read from standard input **/
+    private final long maxInputSize;
+
     /**
      * Constructor taking a command and the endpoint adapter as arguments
      * @param pCommand command performed
      * @param pEndpointAdapter endpoint adapter
      */
     public SshCommand(String pCommand, EndpointAdapter pEndpointAdapter) {
+        this(pCommand, pEndpointAdapter, new XmlMapper(), null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor using shared xml mapper, executor for command handling and standard input size limit.
+     * @param pCommand command performed
+     * @param pEndpointAdapter endpoint adapter
+     * @param pXmlMapper shared xml mapper
+     * @param pExecutor executor running the command
+     * @param pMaxInputSize maximum number of bytes accepted on standard input
+     */
+    public SshCommand(String pCommand, EndpointAdapter pEndpointAdapter, XmlMapper pXmlMapper, Executor pExecutor, long pMaxInputSize) {
         endpointAdapter = pEndpointAdapter;
         command = pCommand;
+        xmlMapper = pXmlMapper;
+        executor = pExecutor;
+        maxInputSize = pMaxInputSize;
     }
 
     @Override
     public void start(Environment env) throws IOException {
         user = env.getEnv().get(Environment.ENV_USER);
-        new Thread(this, "CitrusSshCommand: " + command).start();
+
+        if (executor != null) {
+            executor.execute(this);
+        } else {
+            new Thread(this, "CitrusSshCommand: " + command).start();
+        }
     }
 
     @Override
     public void run() {
         try {
-            String input = FileUtils.readToString(stdin);
+            String input = readInput(stdin);
             SshRequest req = new SshRequest(command, input);
 
             SshResponse resp = sendToEndpointAdapter(req);
@@ -91,12 +121,11 @@ public class SshCommand implements Command, Runnable {
      * @return
      */
     private SshResponse sendToEndpointAdapter(SshRequest pReq) {
-        XmlMapper mapper = new XmlMapper();
         Message response = endpointAdapter.handleMessage(
-                new DefaultMessage(mapper.toXML(pReq))
+                new DefaultMessage(xmlMapper.toXML(pReq))
                               .setHeader("user", user));
         String msgResp = (String) response.getPayload();
-        return (SshResponse) mapper.fromXML(msgResp);
+        return (SshResponse) xmlMapper.fromXML(msgResp);
     }
 
 
@@ -128,14 +157,44 @@ public class SshCommand implements Command, Runnable {
     // ====================================================================
 
     /**
-     * Copy character sequence to outbput stream.
+     * Reads standard input with default charset settings. Fails when input exceeds maximum input size
+     * instead of buffering arbitrary large content.
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    private String readInput(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            byte[] buffer = new byte[4096];
+            int bytesRead;
+            long total = 0;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                total += bytesRead;
+                if (total > maxInputSize) {
+                    throw new IOException("Command input exceeds maximum size of " + maxInputSize + " bytes");
+                }
+
+                out.write(buffer, 0, bytesRead);
+            }
+        } finally {
+            in.close();
+        }
+
+        return out.toString(FileUtils.getDefaultCharset().name());
+    }
+
+    /**
+     * Copy character sequence to output stream. Content is encoded chunk wise while
+     * writing so no additional byte copy of the whole content is created.
      * @param txt
      * @param stream
      * @throws IOException
      */
     private void copyToStream(String txt, OutputStream stream) throws IOException {
         if (txt != null) {
-            FileCopyUtils.copy(txt.getBytes(), stream);
+            FileCopyUtils.copy(new StringReader(txt), new OutputStreamWriter(stream));
         }
     }
 
@@ -38,6 +38,8 @@ public class SshServerParser extends AbstractServerParser {
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("user"), "user");
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("password"), "password");
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("allowed-key-path"), "allowedKeyPath");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("command-pool-size"), "commandPoolSize");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-input-size"), "maxInputSize");
     }
 
     @Override
@@ -19,14 +19,17 @@ package com.consol.citrus.ssh.server;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.server.AbstractServer;
 import com.consol.citrus.ssh.SshCommand;
+import com.consol.citrus.ssh.XmlMapper;
 import org.apache.sshd.common.KeyPairProvider;
 import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
 import org.apache.sshd.common.keyprovider.ResourceKeyPairProvider;
 import org.apache.sshd.server.Command;
 import org.apache.sshd.server.CommandFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.util.concurrent.*;
 
 /**
  * SSH Server implemented with Apache SSHD (http://mina.apache.org/sshd/).
@@ -72,9 +75,21 @@ public class SshServer extends AbstractServer {
     /** file should be PEM, a serialized {@link java.security.KeyPair}. **/
     private String hostKeyPath;
 
+    /** Number of threads handling commands concurrently **/
+    private int commandPoolSize = 10;
+
+    /** Maximum number of bytes accepted on command standard input **/
+    private long maxInputSize = 10 * 1024 * 1024;
+
     /** SSH server used **/
     private org.apache.sshd.SshServer sshd;
 
+    /** Executor handling incoming commands **/
+    private ExecutorService commandExecutor;
+
+    /** Thread safe mapper shared by all commands **/
+    private final XmlMapper xmlMapper = new XmlMapper();
+
     @Override
     protected void startup() {
         if (!StringUtils.hasText(user)) {
@@ -105,9 +120,10 @@ public class SshServer extends AbstractServer {
         }
 
         // Setup endpoint adapter
+        commandExecutor = Executors.newFixedThreadPool(commandPoolSize, new CustomizableThreadFactory("CitrusSshCommand-"));
         sshd.setCommandFactory(new CommandFactory() {
             public Command createCommand(String command) {
-                return new SshCommand(command, getEndpointAdapter());
+                return new SshCommand(command, getEndpointAdapter(), xmlMapper, commandExecutor, maxInputSize);
             }
         });
 
@@ -124,6 +140,10 @@ public class SshServer extends AbstractServer {
             sshd.stop();
         } catch (InterruptedException e) {
             throw new CitrusRuntimeException("Cannot stop SSHD: " + e,e);
+        } finally {
+            if (commandExecutor != null) {
+                commandExecutor.shutdownNow();
+            }
         }
     }
 
@@ -207,4 +227,36 @@ public class SshServer extends AbstractServer {
         this.hostKeyPath = hostKeyPath;
     }
 
+    /**
+     * Gets the command pool size.
+     * @return
+     */
+    public int getCommandPoolSize() {
+        return commandPoolSize;
+    }
+
+    /**
+     * Sets the number of threads handling commands concurrently.
+     * @param commandPoolSize
+     */
+    public void setCommandPoolSize(int commandPoolSize) {
+        this.commandPoolSize = commandPoolSize;
+    }
+
+    /**
+     * Gets the maximum command input size.
+     * @return
+     */
+    public long getMaxInputSize() {
+        return maxInputSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes accepted on command standard input.
+     * @param maxInputSize
+     */
+    public void setMaxInputSize(long maxInputSize) {
+        this.maxInputSize = maxInputSize;
+    }
+
 }
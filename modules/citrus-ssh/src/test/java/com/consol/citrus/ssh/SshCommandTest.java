@@ -27,6 +27,7 @@ import org.testng.annotations.Test;
 import java.io.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.easymock.EasyMock.*;
 import static org.testng.AssertJUnit.assertEquals;
@@ -90,6 +91,36 @@ public class SshCommandTest {
         verify(env);
     }
 
+    @Test
+    public void startWithExecutor() throws IOException {
+        Executor executor = createMock(Executor.class);
+        SshCommand pooledCmd = new SshCommand(COMMAND, adapter, xmlMapper, executor, Long.MAX_VALUE);
+
+        Environment env = createMock(Environment.class);
+        Map<String,String> map = new HashMap<String,String>();
+        map.put(Environment.ENV_USER,"roland");
+        expect(env.getEnv()).andReturn(map);
+        executor.execute(pooledCmd);
+        expectLastCall().once();
+        replay(env, executor);
+
+        pooledCmd.start(env);
+        verify(env, executor);
+    }
+
+    @Test
+    public void inputTooLarge() throws IOException {
+        SshCommand limitedCmd = new SshCommand(COMMAND, adapter, xmlMapper, null, 5L);
+        limitedCmd.setExitCallback(exitCallback);
+        limitedCmd.setInputStream(new ByteArrayInputStream("Hello world".getBytes()));
+
+        exitCallback.onExit(1, "Command input exceeds maximum size of 5 bytes");
+        replay(adapter, exitCallback);
+
+        limitedCmd.run();
+        verify(adapter, exitCallback);
+    }
+
     @Test
     public void ioException() throws IOException {
         InputStream i = createMock(InputStream.class);
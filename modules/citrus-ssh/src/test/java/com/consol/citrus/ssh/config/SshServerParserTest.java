@@ -44,6 +44,8 @@ public class SshServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(server.getHostKeyPath());
         Assert.assertNull(server.getUser());
         Assert.assertNull(server.getPassword());
+        Assert.assertEquals(server.getCommandPoolSize(), 10);
+        Assert.assertEquals(server.getMaxInputSize(), 10 * 1024 * 1024);
         Assert.assertTrue(server.getEndpointAdapter() instanceof ChannelEndpointAdapter);
         Assert.assertNull(server.getActor());
 
@@ -56,6 +58,8 @@ public class SshServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getHostKeyPath(), "classpath:com/consol/citrus/ssh/citrus.pem");
         Assert.assertEquals(server.getUser(), "foo");
         Assert.assertEquals(server.getPassword(), "bar");
+        Assert.assertEquals(server.getCommandPoolSize(), 50);
+        Assert.assertEquals(server.getMaxInputSize(), 1024);
         Assert.assertTrue(server.getEndpointAdapter() instanceof ChannelEndpointAdapter);
         Assert.assertNull(server.getActor());
 
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.endpoint;
+
+/**
+ * Policy applied when Vert.x message buffer is full and another event bus message arrives.
+ * Event bus handlers must not block the event loop so one of the messages has to be dropped.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public enum OverflowPolicy {
+    /** Keep buffered messages and discard the new message */
+    DROP_NEWEST,
+
+    /** Discard the oldest buffered message in favor of the new message */
+    DROP_OLDEST
+}
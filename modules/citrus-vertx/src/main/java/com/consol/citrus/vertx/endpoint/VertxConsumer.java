@@ -18,11 +18,11 @@ package com.consol.citrus.vertx.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractMessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 
 /**
@@ -37,12 +37,12 @@ public class VertxConsumer extends AbstractMessageConsumer {
     /** Endpoint configuration */
     private final VertxEndpointConfiguration endpointConfiguration;
 
+    /** Long lived event bus subscription buffering incoming messages */
+    private VertxMessageBuffer messageBuffer;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(VertxConsumer.class);
 
-    /** Retry logger */
-    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.MessageRetryLogger");
-
     /**
      * Default constructor using endpoint.
      * @param name
@@ -59,34 +59,20 @@ public class VertxConsumer extends AbstractMessageConsumer {
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
-        VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
-        vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), vertxMessageHandler);
-
-        long timeLeft = timeout;
-        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
-
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(String.format("Waiting for message on Vert.x event bus address '%s' - retrying in %s ms",
-                        endpointConfiguration.getAddress(),
-                        (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft)));
-            }
-
-            try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for message on Vert.x event bus", e);
-            }
-
-            message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
+        org.vertx.java.core.eventbus.Message vertxMessage;
+        try {
+            vertxMessage = getMessageBuffer().poll(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Thread interrupted while waiting for message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'", e);
         }
 
-        if (message == null) {
+        if (vertxMessage == null) {
             throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
         }
 
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessage, endpointConfiguration);
+
         log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
         context.onInboundMessage(message);
@@ -95,29 +81,27 @@ public class VertxConsumer extends AbstractMessageConsumer {
     }
 
     /**
-     * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
-     * until subscription is unregistered automatically.
+     * Gets the message buffer subscribed to the event bus address. Subscription is created on first access
+     * and stays registered until this consumer is destroyed.
+     * @return
      */
-    private class VertxSingleMessageHandler implements Handler<org.vertx.java.core.eventbus.Message> {
-        private org.vertx.java.core.eventbus.Message message;
-
-        @Override
-        public void handle(org.vertx.java.core.eventbus.Message event) {
-            if (message == null) {
-                this.message = event;
-                vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), this);
-            } else {
-                log.warn("Vert.x message handler ignored message on event bus address '" + endpointConfiguration.getAddress() + "'");
-                log.debug("Vert.x message ignored is " + event);
-            }
+    private synchronized VertxMessageBuffer getMessageBuffer() {
+        if (messageBuffer == null) {
+            messageBuffer = new VertxMessageBuffer(vertx, endpointConfiguration.getAddress(),
+                    endpointConfiguration.getQueueCapacity(), endpointConfiguration.getOverflowPolicy());
+            messageBuffer.start();
         }
 
-        /**
-         * Gets the vert.x message received on event bus.
-         * @return
-         */
-        public org.vertx.java.core.eventbus.Message getMessage() {
-            return message;
+        return messageBuffer;
+    }
+
+    /**
+     * Unregisters event bus subscription if any.
+     */
+    public synchronized void destroy() {
+        if (messageBuffer != null) {
+            messageBuffer.stop();
+            messageBuffer = null;
         }
     }
 
@@ -19,17 +19,22 @@ package com.consol.citrus.vertx.endpoint;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.Producer;
+import com.consol.citrus.vertx.factory.ReleasableVertxInstanceFactory;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class VertxEndpoint extends AbstractEndpoint {
+public class VertxEndpoint extends AbstractEndpoint implements DisposableBean {
 
     /** Vert.x instance */
     private VertxInstanceFactory vertxInstanceFactory;
 
+    /** Cached consumer holding the event bus subscription */
+    private VertxConsumer vertxConsumer;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -53,9 +58,24 @@ public class VertxEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Consumer createConsumer() {
-        return new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public synchronized Consumer createConsumer() {
+        if (vertxConsumer == null) {
+            vertxConsumer = new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxConsumer;
+    }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (vertxConsumer != null) {
+            vertxConsumer.destroy();
+        }
+
+        if (vertxInstanceFactory instanceof ReleasableVertxInstanceFactory) {
+            ((ReleasableVertxInstanceFactory) vertxInstanceFactory).release(getEndpointConfiguration());
+        }
     }
 
     @Override
@@ -40,6 +40,12 @@ public class VertxEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500;
 
+    /** Maximum number of event bus messages buffered by consumer */
+    private int queueCapacity = 1000;
+
+    /** Policy when consumer message buffer is full */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
     /** Message converter */
     private VertxMessageConverter messageConverter = new VertxMessageConverter();
 
@@ -138,4 +144,36 @@ public class VertxEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setMessageConverter(VertxMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the consumer message buffer capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the consumer message buffer capacity.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the overflow policy applied when consumer message buffer is full.
+     * @return
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the overflow policy applied when consumer message buffer is full.
+     * @param overflowPolicy
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
 }
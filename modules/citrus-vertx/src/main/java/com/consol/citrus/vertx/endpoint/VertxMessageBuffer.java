@@ -0,0 +1,111 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.endpoint;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.eventbus.Message;
+
+import java.util.concurrent.*;
+
+/**
+ * Long lived subscription on Vert.x event bus address. Handler is registered once and buffers all incoming
+ * event bus messages in a bounded queue so messages published in between receive operations are not lost.
+ * When buffer is full the configured overflow policy decides which message gets dropped as the event loop must not block.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class VertxMessageBuffer implements Handler<Message> {
+
+    /** Vert.x instance */
+    private final Vertx vertx;
+
+    /** Event bus address */
+    private final String address;
+
+    /** Policy when buffer is full */
+    private final OverflowPolicy overflowPolicy;
+
+    /** Buffered event bus messages */
+    private final BlockingQueue<Message> queue;
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(VertxMessageBuffer.class);
+
+    /**
+     * Default constructor using Vert.x instance and buffer settings.
+     * @param vertx
+     * @param address
+     * @param capacity
+     * @param overflowPolicy
+     */
+    public VertxMessageBuffer(Vertx vertx, String address, int capacity, OverflowPolicy overflowPolicy) {
+        this.vertx = vertx;
+        this.address = address;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<Message>(capacity);
+    }
+
+    /**
+     * Registers this buffer as handler on the event bus address.
+     */
+    public void start() {
+        vertx.eventBus().registerHandler(address, this);
+    }
+
+    /**
+     * Unregisters this buffer from event bus address. Messages still buffered are discarded.
+     */
+    public void stop() {
+        vertx.eventBus().unregisterHandler(address, this);
+
+        if (!queue.isEmpty()) {
+            log.warn("Discarding " + queue.size() + " buffered message(s) on Vert.x event bus address '" + address + "'");
+            queue.clear();
+        }
+    }
+
+    @Override
+    public void handle(Message event) {
+        while (!queue.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                Message dropped = queue.poll();
+                if (dropped != null) {
+                    log.warn("Vert.x message buffer full - dropped oldest message on event bus address '" + address + "'");
+                    log.debug("Vert.x message dropped is " + dropped);
+                }
+            } else {
+                log.warn("Vert.x message buffer full - ignored message on event bus address '" + address + "'");
+                log.debug("Vert.x message ignored is " + event);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for next buffered message on event bus address. Returns null when no message arrived within given timeout.
+     * @param timeout
+     * @return
+     * @throws InterruptedException
+     */
+    public Message poll(long timeout) throws InterruptedException {
+        return queue.poll(timeout, TimeUnit.MILLISECONDS);
+    }
+}
@@ -78,4 +78,13 @@ public class VertxSyncEndpoint extends VertxEndpoint {
 
         return vertxSyncMessageProducer;
     }
+
+    @Override
+    public void destroy() throws Exception {
+        if (vertxSyncMessageConsumer != null) {
+            vertxSyncMessageConsumer.destroy();
+        }
+
+        super.destroy();
+    }
 }
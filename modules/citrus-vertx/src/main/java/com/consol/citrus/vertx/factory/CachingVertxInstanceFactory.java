@@ -16,39 +16,187 @@
 
 package com.consol.citrus.vertx.factory;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.vertx.java.core.Vertx;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Vert.x instance factory that caches created instances in memory. Ensures that same cluster host and port is
  * instance is created only once.
  *
+ * Only callers asking for the same instance wait for its startup, other instances are created concurrently. Cache
+ * keeps track of the endpoints using an instance and stops the instance as soon as the last endpoint has released it.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class CachingVertxInstanceFactory extends AbstractVertxInstanceFactory {
+public class CachingVertxInstanceFactory extends AbstractVertxInstanceFactory implements ReleasableVertxInstanceFactory, DisposableBean {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CachingVertxInstanceFactory.class);
 
     /** Cache holds Vert.x instances identified by cluster hostname port combination */
-    private Map<String, Vertx> instanceCache = new HashMap<String, Vertx>();
+    private final ConcurrentMap<String, CachedInstance> instanceCache = new ConcurrentHashMap<String, CachedInstance>();
 
     @Override
-    public synchronized Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
-        String instanceKey;
+    public Vertx newInstance(final VertxEndpointConfiguration endpointConfiguration) {
+        String instanceKey = getInstanceKey(endpointConfiguration);
+
+        while (true) {
+            CachedInstance instance = instanceCache.get(instanceKey);
+
+            if (instance == null) {
+                CachedInstance newInstance = new CachedInstance(new FutureTask<Vertx>(new Callable<Vertx>() {
+                    @Override
+                    public Vertx call() throws Exception {
+                        return createVertx(endpointConfiguration);
+                    }
+                }));
+
+                instance = instanceCache.putIfAbsent(instanceKey, newInstance);
+                if (instance == null) {
+                    instance = newInstance;
+                    instance.startup.run();
+                }
+            }
+
+            if (instance.acquire(endpointConfiguration)) {
+                try {
+                    return instance.startup.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CitrusRuntimeException("Interrupted while waiting for Vert.x instance startup", e);
+                } catch (ExecutionException e) {
+                    instanceCache.remove(instanceKey, instance);
+                    throw new CitrusRuntimeException("Failed to create Vert.x instance", e.getCause());
+                }
+            }
+
+            // instance got stopped concurrently - try again with new instance
+        }
+    }
+
+    @Override
+    public void release(VertxEndpointConfiguration endpointConfiguration) {
+        String instanceKey = getInstanceKey(endpointConfiguration);
+        CachedInstance instance = instanceCache.get(instanceKey);
+
+        if (instance != null && instance.release(endpointConfiguration)) {
+            instanceCache.remove(instanceKey, instance);
+            stop(instanceKey, instance);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Map.Entry<String, CachedInstance> entry : instanceCache.entrySet()) {
+            if (entry.getValue().close()) {
+                stop(entry.getKey(), entry.getValue());
+            }
+        }
+
+        instanceCache.clear();
+    }
+
+    /**
+     * Stops Vert.x instance if it has been started successfully.
+     * @param instanceKey
+     * @param instance
+     */
+    private void stop(String instanceKey, CachedInstance instance) {
+        try {
+            Vertx vertx = instance.startup.get();
+            if (vertx != null) {
+                log.info(String.format("Stopping Vert.x instance '%s'", instanceKey));
+                vertx.stop();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Skip stopping Vert.x instance that failed to start", e.getCause());
+        }
+    }
+
+    /**
+     * Builds cache key from endpoint configuration cluster host and port.
+     * @param endpointConfiguration
+     * @return
+     */
+    private String getInstanceKey(VertxEndpointConfiguration endpointConfiguration) {
         if (endpointConfiguration.getPort() > 0) {
-            instanceKey = endpointConfiguration.getHost() + ":" + endpointConfiguration.getPort();
+            return endpointConfiguration.getHost() + ":" + endpointConfiguration.getPort();
         } else {
-            instanceKey = endpointConfiguration.getHost();
+            return endpointConfiguration.getHost();
         }
+    }
 
-        if (instanceCache.containsKey(instanceKey)) {
-            return instanceCache.get(instanceKey);
-        } else {
-            Vertx vertx = createVertx(endpointConfiguration);
-            instanceCache.put(instanceKey, vertx);
-            return vertx;
+    /**
+     * Cached Vert.x instance startup with set of endpoint configurations using this instance.
+     */
+    private static final class CachedInstance {
+        /** Startup task creating the Vert.x instance once */
+        private final FutureTask<Vertx> startup;
+
+        /** Endpoint configurations using this instance */
+        private final Set<VertxEndpointConfiguration> users = Collections.newSetFromMap(new IdentityHashMap<VertxEndpointConfiguration, Boolean>());
+
+        /** Instance has been released by all users */
+        private boolean closed = false;
+
+        /**
+         * Default constructor using startup task.
+         * @param startup
+         */
+        private CachedInstance(FutureTask<Vertx> startup) {
+            this.startup = startup;
+        }
+
+        /**
+         * Registers endpoint configuration as user of this instance.
+         * @param endpointConfiguration
+         * @return false if instance was already closed
+         */
+        synchronized boolean acquire(VertxEndpointConfiguration endpointConfiguration) {
+            if (closed) {
+                return false;
+            }
+
+            users.add(endpointConfiguration);
+            return true;
+        }
+
+        /**
+         * Removes endpoint configuration from users of this instance.
+         * @param endpointConfiguration
+         * @return true if this was the last user and instance is closed now
+         */
+        synchronized boolean release(VertxEndpointConfiguration endpointConfiguration) {
+            if (closed || !users.remove(endpointConfiguration) || !users.isEmpty()) {
+                return false;
+            }
+
+            closed = true;
+            return true;
+        }
+
+        /**
+         * Closes instance regardless of current users.
+         * @return true if instance was not closed before
+         */
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+
+            closed = true;
+            users.clear();
+            return true;
         }
     }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.factory;
+
+import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
+
+/**
+ * Vert.x instance factory that keeps track of the endpoints using an instance. Endpoints release their instance
+ * on shutdown so factory is able to stop the instance as soon as no other endpoint is using it anymore.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public interface ReleasableVertxInstanceFactory extends VertxInstanceFactory {
+
+    /**
+     * Releases Vert.x instance used by endpoint configuration. Factory may stop the instance when
+     * no other endpoint is using it anymore.
+     * @param endpointConfiguration
+     */
+    void release(VertxEndpointConfiguration endpointConfiguration);
+}
@@ -18,6 +18,7 @@ package com.consol.citrus.vertx.config.xml;
 
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import com.consol.citrus.vertx.endpoint.OverflowPolicy;
 import com.consol.citrus.vertx.endpoint.VertxEndpoint;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -41,6 +42,8 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getVertxInstanceFactory(), beanDefinitionContext.getBean("vertxInstanceFactory"));
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed1");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 1000);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getOverflowPolicy(), OverflowPolicy.DROP_NEWEST);
 
         // 2nd message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint2");
@@ -56,6 +59,8 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         vertxEndpoint = endpoints.get("vertxEndpoint3");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed3");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().isPubSubDomain(), true);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 10);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getOverflowPolicy(), OverflowPolicy.DROP_OLDEST);
 
         // 4th message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint4");
@@ -16,21 +16,30 @@
 
 package com.consol.citrus.vertx.endpoint;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.vertx.factory.ReleasableVertxInstanceFactory;
 import com.consol.citrus.vertx.factory.SingleVertxInstanceFactory;
+import com.consol.citrus.vertx.factory.VertxInstanceFactory;
 import com.consol.citrus.vertx.message.CitrusVertxMessageHeaders;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
-import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -99,7 +108,7 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
     }
 
     @Test
-    public void testVertxEndpointConsumer() {
+    public void testVertxEndpointConsumer() throws Exception {
         String eventBusAddress = "news-feed";
         VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
         endpointConfiguration.setAddress(eventBusAddress);
@@ -114,16 +123,16 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         expect(messageMock.replyAddress()).andReturn("replyAddress").once();
 
         expect(vertx.eventBus()).andReturn(eventBus).times(2);
-        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+        final Capture<VertxMessageBuffer> handler = new Capture<VertxMessageBuffer>();
+        expect(eventBus.registerHandler(eq(eventBusAddress), capture(handler))).andAnswer(new IAnswer<EventBus>() {
             @Override
             public EventBus answer() throws Throwable {
-                Handler handler = (Handler) getCurrentArguments()[1];
-                handler.handle(messageMock);
+                handler.getValue().handle(messageMock);
                 return eventBus;
             }
         }).once();
 
-        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(Handler.class))).andReturn(eventBus).once();
+        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(VertxMessageBuffer.class))).andReturn(eventBus).once();
 
         replay(vertx, eventBus, messageMock);
 
@@ -132,9 +141,146 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_ADDRESS), eventBusAddress);
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_REPLY_ADDRESS), "replyAddress");
 
+        vertxEndpoint.destroy();
+
         verify(vertx, eventBus, messageMock);
     }
 
+    @Test
+    public void testVertxEndpointConsumerBuffersMessages() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(2);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final org.vertx.java.core.eventbus.Message first = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        final org.vertx.java.core.eventbus.Message second = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        final org.vertx.java.core.eventbus.Message third = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+
+        reset(vertx, eventBus);
+
+        expect(first.body()).andReturn("First").once();
+        expect(first.address()).andReturn(eventBusAddress).once();
+        expect(first.replyAddress()).andReturn(null).once();
+        expect(second.body()).andReturn("Second").once();
+        expect(second.address()).andReturn(eventBusAddress).once();
+        expect(second.replyAddress()).andReturn(null).once();
+
+        expect(vertx.eventBus()).andReturn(eventBus).times(2);
+        final Capture<VertxMessageBuffer> handler = new Capture<VertxMessageBuffer>();
+        expect(eventBus.registerHandler(eq(eventBusAddress), capture(handler))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                handler.getValue().handle(first);
+                handler.getValue().handle(second);
+                handler.getValue().handle(third);
+                return eventBus;
+            }
+        }).once();
+
+        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(VertxMessageBuffer.class))).andReturn(eventBus).once();
+
+        replay(vertx, eventBus, first, second, third);
+
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 1000L).getPayload(), "First");
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 1000L).getPayload(), "Second");
+
+        try {
+            vertxEndpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing action timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains(eventBusAddress));
+        }
+
+        vertxEndpoint.destroy();
+
+        verify(vertx, eventBus, first, second, third);
+    }
+
+    @Test
+    public void testVertxEndpointConcurrentConsumerCreation() throws Exception {
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress("news-feed");
+
+        final AtomicInteger instances = new AtomicInteger();
+        final VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(new VertxInstanceFactory() {
+            @Override
+            public Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
+                instances.incrementAndGet();
+                return vertx;
+            }
+        });
+
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Consumer>> consumers = new ArrayList<Future<Consumer>>();
+            for (int i = 0; i < 10; i++) {
+                consumers.add(executor.submit(new Callable<Consumer>() {
+                    @Override
+                    public Consumer call() throws Exception {
+                        start.await();
+                        return vertxEndpoint.createConsumer();
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Consumer> consumer : consumers) {
+                Assert.assertSame(consumer.get(5, TimeUnit.SECONDS), vertxEndpoint.createConsumer());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(instances.get(), 1);
+    }
+
+    @Test
+    public void testVertxEndpointReleasesInstance() throws Exception {
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress("news-feed");
+
+        ReleasableVertxInstanceFactory releasableFactory = EasyMock.createMock(ReleasableVertxInstanceFactory.class);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(releasableFactory);
+
+        reset(releasableFactory);
+
+        expect(releasableFactory.newInstance(endpointConfiguration)).andReturn(vertx).once();
+        releasableFactory.release(endpointConfiguration);
+        expectLastCall().once();
+
+        replay(releasableFactory);
+
+        vertxEndpoint.createConsumer();
+        vertxEndpoint.destroy();
+
+        verify(releasableFactory);
+    }
+
+    @Test
+    public void testVertxMessageBufferDropOldest() throws Exception {
+        org.vertx.java.core.eventbus.Message first = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        org.vertx.java.core.eventbus.Message second = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        org.vertx.java.core.eventbus.Message third = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+
+        VertxMessageBuffer messageBuffer = new VertxMessageBuffer(vertx, "news-feed", 2, OverflowPolicy.DROP_OLDEST);
+        messageBuffer.handle(first);
+        messageBuffer.handle(second);
+        messageBuffer.handle(third);
+
+        Assert.assertEquals(messageBuffer.poll(100L), second);
+        Assert.assertEquals(messageBuffer.poll(100L), third);
+        Assert.assertNull(messageBuffer.poll(100L));
+    }
+
     @Test
     public void testVertxEndpointWithOutboundMessageListeners() {
         String eventBusAddress = "news-feed";
@@ -91,7 +91,7 @@ public class VertxSyncEndpointTest extends AbstractTestNGUnitTest {
     }
 
     @Test
-    public void testVertxSyncEndpointConsumer() {
+    public void testVertxSyncEndpointConsumer() throws Exception {
         String eventBusAddress = "news-feed";
         VertxSyncEndpointConfiguration endpointConfiguration = new VertxSyncEndpointConfiguration();
         endpointConfiguration.setAddress(eventBusAddress);
@@ -129,6 +129,7 @@ public class VertxSyncEndpointTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_REPLY_ADDRESS), "replyAddress");
 
         vertxEndpoint.createProducer().send(replyMessage, context);
+        vertxEndpoint.destroy();
 
         verify(vertx, eventBus, messageMock);
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.vertx.factory;
+
+import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
+import org.easymock.EasyMock;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertx.java.core.Vertx;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.easymock.EasyMock.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class CachingVertxInstanceFactoryTest {
+
+    @Test
+    public void testInstanceCreatedOnce() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch startup = new CountDownLatch(1);
+        final Vertx vertx = EasyMock.createMock(Vertx.class);
+
+        final CachingVertxInstanceFactory instanceFactory = new CachingVertxInstanceFactory() {
+            @Override
+            protected Vertx createVertx(VertxEndpointConfiguration endpointConfiguration) {
+                created.incrementAndGet();
+                try {
+                    startup.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return vertx;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<?>[] results = new Future<?>[5];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = executor.submit(new Callable<Vertx>() {
+                    @Override
+                    public Vertx call() throws Exception {
+                        return instanceFactory.newInstance(new VertxEndpointConfiguration());
+                    }
+                });
+            }
+
+            startup.countDown();
+
+            for (Future<?> result : results) {
+                Assert.assertSame(result.get(10, TimeUnit.SECONDS), vertx);
+            }
+
+            Assert.assertEquals(created.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnrelatedInstanceNotBlocked() throws Exception {
+        final CountDownLatch slowStartup = new CountDownLatch(1);
+        final Vertx slowVertx = EasyMock.createMock(Vertx.class);
+        final Vertx vertx = EasyMock.createMock(Vertx.class);
+
+        final CachingVertxInstanceFactory instanceFactory = new CachingVertxInstanceFactory() {
+            @Override
+            protected Vertx createVertx(VertxEndpointConfiguration endpointConfiguration) {
+                if (endpointConfiguration.getPort() == 1111) {
+                    try {
+                        slowStartup.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return slowVertx;
+                }
+
+                return vertx;
+            }
+        };
+
+        final VertxEndpointConfiguration slowConfiguration = new VertxEndpointConfiguration();
+        slowConfiguration.setPort(1111);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Vertx> slowResult = executor.submit(new Callable<Vertx>() {
+                @Override
+                public Vertx call() throws Exception {
+                    return instanceFactory.newInstance(slowConfiguration);
+                }
+            });
+
+            VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+            endpointConfiguration.setPort(2222);
+            Assert.assertSame(instanceFactory.newInstance(endpointConfiguration), vertx);
+            Assert.assertFalse(slowResult.isDone());
+
+            slowStartup.countDown();
+            Assert.assertSame(slowResult.get(10, TimeUnit.SECONDS), slowVertx);
+        } finally {
+            slowStartup.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReleaseLastReference() throws Exception {
+        final Vertx vertx = EasyMock.createMock(Vertx.class);
+        final Vertx restartedVertx = EasyMock.createMock(Vertx.class);
+        final Vertx[] instances = new Vertx[] { vertx, restartedVertx };
+        final AtomicInteger created = new AtomicInteger();
+
+        CachingVertxInstanceFactory instanceFactory = new CachingVertxInstanceFactory() {
+            @Override
+            protected Vertx createVertx(VertxEndpointConfiguration endpointConfiguration) {
+                return instances[created.getAndIncrement()];
+            }
+        };
+
+        VertxEndpointConfiguration firstEndpoint = new VertxEndpointConfiguration();
+        VertxEndpointConfiguration secondEndpoint = new VertxEndpointConfiguration();
+
+        reset(vertx, restartedVertx);
+
+        vertx.stop();
+        expectLastCall().once();
+
+        restartedVertx.stop();
+        expectLastCall().once();
+
+        replay(vertx, restartedVertx);
+
+        Assert.assertSame(instanceFactory.newInstance(firstEndpoint), vertx);
+        Assert.assertSame(instanceFactory.newInstance(firstEndpoint), vertx);
+        Assert.assertSame(instanceFactory.newInstance(secondEndpoint), vertx);
+
+        instanceFactory.release(firstEndpoint);
+        instanceFactory.release(firstEndpoint);
+        instanceFactory.release(secondEndpoint);
+
+        Assert.assertSame(instanceFactory.newInstance(firstEndpoint), restartedVertx);
+        Assert.assertEquals(created.get(), 2);
+
+        instanceFactory.destroy();
+
+        verify(vertx, restartedVertx);
+    }
+}
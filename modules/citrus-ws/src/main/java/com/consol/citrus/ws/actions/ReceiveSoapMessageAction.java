@@ -72,7 +72,9 @@ public class ReceiveSoapMessageAction extends ReceiveMessageAction {
                     attachment.setContentType(context.replaceDynamicContentInString(attachment.getContentType()));
                 }
 
-                if (StringUtils.hasText(attachment.getContent())) {
+                if (attachment.getContentResourcePath() != null && !attachment.isTextContentType()) {
+                    attachment.setContentResource(FileUtils.getFileResource(attachment.getContentResourcePath(), context));
+                } else if (StringUtils.hasText(attachment.getContent())) {
                     attachment.setContent(context.replaceDynamicContentInString(attachment.getContent()));
                 } else if (attachment.getContentResourcePath() != null) {
                     attachment.setContent(context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(attachment.getContentResourcePath(), context))));
@@ -39,15 +39,21 @@ public class SendSoapMessageAction extends SendMessageAction {
     /** SOAP attachment */
     private List<SoapAttachment> attachments = new ArrayList<SoapAttachment>();
 
+    /** Send attachments as MTOM/XOP package */
+    private boolean mtomEnabled = false;
+
     @Override
     protected SoapMessage createMessage(TestContext context, String messageType) {
         Message message = super.createMessage(context, getMessageType());
 
         final SoapMessage soapMessage = new SoapMessage(message);
+        soapMessage.setMtomEnabled(mtomEnabled);
 
         try {
             for (SoapAttachment attachment : attachments) {
-                if (StringUtils.hasText(attachment.getContent())) {
+                if (attachment.getContentResourcePath() != null && !attachment.isTextContentType()) {
+                    attachment.setContentResource(FileUtils.getFileResource(attachment.getContentResourcePath(), context));
+                } else if (StringUtils.hasText(attachment.getContent())) {
                     attachment.setContent(context.replaceDynamicContentInString(attachment.getContent()));
                 } else if (attachment.getContentResourcePath() != null) {
                     attachment.setContent(context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(attachment.getContentResourcePath(), context))));
@@ -78,4 +84,20 @@ public class SendSoapMessageAction extends SendMessageAction {
     public void setAttachments(List<SoapAttachment> attachments) {
         this.attachments = attachments;
     }
+
+    /**
+     * Gets the MTOM enabled flag.
+     * @return
+     */
+    public boolean isMtomEnabled() {
+        return mtomEnabled;
+    }
+
+    /**
+     * Enables MTOM/XOP packaging of attachments.
+     * @param mtomEnabled
+     */
+    public void setMtomEnabled(boolean mtomEnabled) {
+        this.mtomEnabled = mtomEnabled;
+    }
 }
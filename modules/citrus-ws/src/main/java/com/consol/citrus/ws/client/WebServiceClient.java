@@ -106,7 +106,7 @@ public class WebServiceClient extends AbstractEndpoint implements Producer, Repl
         log.info("Sending SOAP message to endpoint: '" + endpointUri + "'");
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to send is:\n" + soapMessage.toString());
+            log.debug("Message to send is:\n{}", MessagePreview.of(soapMessage));
         }
 
         if (!(soapMessage.getPayload() instanceof String)) {
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.ws.config.xml;
 
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 import com.consol.citrus.config.xml.SendMessageActionParser;
 import com.consol.citrus.ws.actions.SendSoapMessageAction;
 import com.consol.citrus.ws.message.SoapAttachment;
@@ -46,6 +47,8 @@ public class SendSoapMessageActionParser extends SendMessageActionParser {
 
         builder.addPropertyValue("attachments", attachments);
 
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("mtom-enabled"), "mtomEnabled");
+
         return builder;
     }
 
@@ -16,9 +16,9 @@
 
 package com.consol.citrus.ws.interceptor;
 
+import com.consol.citrus.message.MessagePreview;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
-import com.consol.citrus.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -95,11 +95,15 @@ public abstract class LoggingInterceptorSupport extends TransformerObjectSupport
      * @throws TransformerException
      */
     protected void logSoapMessage(String logMessage, SoapMessage soapMessage, boolean incoming) throws TransformerException {
+        if (!isLoggingEnabled()) {
+            return;
+        }
+
         Transformer transformer = createIndentingTransformer();
         StringWriter writer = new StringWriter();
         
         transformer.transform(soapMessage.getEnvelope().getSource(), new StreamResult(writer));
-        logMessage(logMessage, XMLUtils.prettyPrint(writer.toString()), incoming);
+        logMessage(logMessage, writer.toString(), incoming);
     }
     
     /**
@@ -111,6 +115,10 @@ public abstract class LoggingInterceptorSupport extends TransformerObjectSupport
      * @param incoming
      */
     protected void logWebServiceMessage(String logMessage, WebServiceMessage message, boolean incoming) {
+        if (!isLoggingEnabled()) {
+            return;
+        }
+
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         
         try {
@@ -122,14 +130,32 @@ public abstract class LoggingInterceptorSupport extends TransformerObjectSupport
     }
     
     /**
-     * Performs the final logger call with dynamic message.
+     * Checks if message content is processed at all. This is the case when message listeners
+     * are present or info log level is enabled.
+     * @return
+     */
+    protected boolean isLoggingEnabled() {
+        return hasMessageListeners() || log.isInfoEnabled();
+    }
+
+    /**
+     * Checks if message listeners are present.
+     * @return
+     */
+    private boolean hasMessageListeners() {
+        return messageListener != null && !messageListener.isEmpty();
+    }
+
+    /**
+     * Performs the final logger call with dynamic message. Message content is pretty printed only
+     * when actually written to the log, message listeners receive the raw message content.
      *
      * @param logMessage a custom log message entry.
      * @param message the message content.
      * @param incoming
      */
     protected void logMessage(String logMessage, String message, boolean incoming) {
-        if (messageListener != null) {
+        if (hasMessageListeners()) {
             log.info(logMessage);
 
             if (incoming) {
@@ -138,7 +164,7 @@ public abstract class LoggingInterceptorSupport extends TransformerObjectSupport
                 messageListener.onOutboundMessage(new RawMessage(message), null);
             }
         } else {
-            log.info(logMessage + ":" + System.getProperty("line.separator") + message);
+            log.info("{}:{}{}", logMessage, System.getProperty("line.separator"), MessagePreview.prettyPrinted(message));
         }
     }
     
@@ -18,7 +18,8 @@ package com.consol.citrus.ws.message;
 
 import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
-import com.consol.citrus.util.FileUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.ws.mime.Attachment;
 
 import javax.activation.DataHandler;
@@ -27,7 +28,9 @@ import java.io.*;
 import java.nio.charset.Charset;
 
 /**
- * Citrus SOAP attachment implementation.
+ * Citrus SOAP attachment implementation. Content body is either held as string, as raw byte array or
+ * is streamed lazily from a data handler, e.g. a file resource. Binary content is never converted to string unless
+ * explicitly asked for so large attachments are not copied around over and over again.
  * 
  * @author Christoph Deppisch
  */
@@ -39,6 +42,18 @@ public class SoapAttachment implements Attachment, Serializable {
     /** Content body as string */
     private String content;
 
+    /** Content body as raw bytes */
+    private byte[] contentBytes;
+
+    /** Content body lazily streamed from data handler */
+    private transient DataHandler dataHandler;
+
+    /** Encoded bytes of string content body, computed once on demand */
+    private transient byte[] encodedContent;
+
+    /** Decoded string of binary content body, computed once on demand */
+    private transient String decodedContent;
+
     /** Content body as file resource path  */
     private String contentResourcePath;
 
@@ -67,15 +82,15 @@ public class SoapAttachment implements Attachment, Serializable {
         soapAttachment.setContentId(attachment.getContentId());
         soapAttachment.setContentType(attachment.getContentType());
 
+        soapAttachment.setCharsetName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING,
+                Charset.defaultCharset().displayName()));
+
         try {
-            soapAttachment.setContent(FileUtils.readToString(attachment.getInputStream()).trim());
+            soapAttachment.setContentBytes(FileCopyUtils.copyToByteArray(attachment.getInputStream()));
         } catch (IOException e) {
             throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
         }
 
-        soapAttachment.setCharsetName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING,
-                Charset.defaultCharset().displayName()));
-
         return soapAttachment;
     }
     
@@ -105,6 +120,10 @@ public class SoapAttachment implements Attachment, Serializable {
      * @see org.springframework.ws.mime.Attachment#getDataHandler()
      */
     public DataHandler getDataHandler() {
+        if (dataHandler != null) {
+            return dataHandler;
+        }
+
         return new DataHandler(new DataSource() {
             public OutputStream getOutputStream() throws IOException {
                 throw new UnsupportedOperationException();
@@ -115,7 +134,7 @@ public class SoapAttachment implements Attachment, Serializable {
             }
             
             public InputStream getInputStream() throws IOException {
-                return new ByteArrayInputStream(content.getBytes(charsetName));
+                return new ByteArrayInputStream(getContentBytes());
             }
             
             public String getContentType() {
@@ -128,31 +147,57 @@ public class SoapAttachment implements Attachment, Serializable {
      * @see org.springframework.ws.mime.Attachment#getInputStream()
      */
     public InputStream getInputStream() throws IOException {
-        return new ByteArrayInputStream(content.getBytes(charsetName));
+        if (dataHandler != null) {
+            return dataHandler.getInputStream();
+        }
+
+        return new ByteArrayInputStream(getContentBytes());
     }
 
     /**
      * @see org.springframework.ws.mime.Attachment#getSize()
      */
     public long getSize() {
-        try {
-            return content.getBytes(charsetName).length;
-        } catch (UnsupportedEncodingException e) {
-            throw new CitrusRuntimeException(e);
+        if (dataHandler != null) {
+            return -1;
         }
+
+        byte[] bytes = getContentBytes();
+        return bytes != null ? bytes.length : 0;
     }
 
     @Override
     public String toString() {
-        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), contentId, contentType, content);
+        if (isBinary() && !isTextContentType()) {
+            return String.format("%s [contentId: %s, contentType: %s, content: <binary%s>]", getClass().getSimpleName().toUpperCase(), contentId, contentType,
+                    contentBytes != null ? " " + contentBytes.length + " bytes" : "");
+        }
+
+        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), contentId, contentType, getContent());
     }
 
     /**
-     * Get the content body.
+     * Get the content body. Binary content is decoded only once using the attachment charset.
      * @return the content
      */
     public String getContent() {
-        return content;
+        if (content != null) {
+            return content;
+        }
+
+        if (decodedContent == null) {
+            try {
+                if (contentBytes != null) {
+                    decodedContent = new String(contentBytes, charsetName);
+                } else if (dataHandler != null) {
+                    decodedContent = new String(FileCopyUtils.copyToByteArray(dataHandler.getInputStream()), charsetName);
+                }
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+            }
+        }
+
+        return decodedContent;
     }
 
     /**
@@ -161,6 +206,107 @@ public class SoapAttachment implements Attachment, Serializable {
      */
     public void setContent(String content) {
         this.content = content;
+        this.contentBytes = null;
+        this.dataHandler = null;
+        this.encodedContent = null;
+        this.decodedContent = null;
+    }
+
+    /**
+     * Gets the raw content bytes. String content is encoded only once using the attachment charset. Streamed content
+     * is read completely into memory.
+     * @return the content bytes or null if no content is set
+     */
+    public byte[] getContentBytes() {
+        if (contentBytes != null) {
+            return contentBytes;
+        }
+
+        try {
+            if (content != null) {
+                if (encodedContent == null) {
+                    encodedContent = content.getBytes(charsetName);
+                }
+
+                return encodedContent;
+            } else if (dataHandler != null) {
+                return FileCopyUtils.copyToByteArray(dataHandler.getInputStream());
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Sets the raw content bytes.
+     * @param contentBytes
+     */
+    public void setContentBytes(byte[] contentBytes) {
+        this.contentBytes = contentBytes;
+        this.content = null;
+        this.dataHandler = null;
+        this.encodedContent = null;
+        this.decodedContent = null;
+    }
+
+    /**
+     * Sets data handler streaming the content body on demand.
+     * @param dataHandler
+     */
+    public void setDataHandler(DataHandler dataHandler) {
+        this.dataHandler = dataHandler;
+        this.content = null;
+        this.contentBytes = null;
+        this.encodedContent = null;
+        this.decodedContent = null;
+    }
+
+    /**
+     * Sets file resource as content body. Resource is not loaded into memory but streamed each time
+     * the content is accessed.
+     * @param resource
+     */
+    public void setContentResource(final Resource resource) {
+        setDataHandler(new DataHandler(new DataSource() {
+            public OutputStream getOutputStream() throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            public String getName() {
+                return contentId;
+            }
+
+            public InputStream getInputStream() throws IOException {
+                return resource.getInputStream();
+            }
+
+            public String getContentType() {
+                return contentType;
+            }
+        }));
+    }
+
+    /**
+     * Checks whether content body is binary data (raw bytes or streamed content) rather than string content.
+     * @return
+     */
+    public boolean isBinary() {
+        return content == null && (contentBytes != null || dataHandler != null);
+    }
+
+    /**
+     * Checks whether the content type of this attachment denotes textual content such as plain text, XML or JSON.
+     * @return
+     */
+    public boolean isTextContentType() {
+        if (contentType == null) {
+            return true;
+        }
+
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("xml") || type.contains("json") || type.contains("javascript");
     }
 
     /**
@@ -193,6 +339,8 @@ public class SoapAttachment implements Attachment, Serializable {
      */
     public void setCharsetName(String charsetName) {
         this.charsetName = charsetName;
+        this.encodedContent = null;
+        this.decodedContent = null;
     }
 
     /**
@@ -36,6 +36,9 @@ public class SoapMessage extends DefaultMessage {
     /** Optional list of SOAP attachments */
     private List<SoapAttachment> attachments = new ArrayList<SoapAttachment>();
 
+    /** Send attachments as MTOM/XOP package */
+    private boolean mtomEnabled = false;
+
     /**
      * Constructs copy of given message.
      * @param message
@@ -99,6 +102,23 @@ public class SoapMessage extends DefaultMessage {
         return this;
     }
 
+    /**
+     * Enables or disables MTOM/XOP packaging of attachments.
+     * @param mtomEnabled
+     */
+    public SoapMessage setMtomEnabled(boolean mtomEnabled) {
+        this.mtomEnabled = mtomEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the MTOM enabled flag.
+     * @return
+     */
+    public boolean isMtomEnabled() {
+        return mtomEnabled;
+    }
+
     @Override
     public String toString() {
         return String.format(super.toString() + "[attachments: %s]", attachments);
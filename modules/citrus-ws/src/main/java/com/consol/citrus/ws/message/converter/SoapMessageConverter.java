@@ -42,15 +42,19 @@ import org.springframework.ws.transport.http.HttpServletConnection;
 import org.springframework.xml.namespace.QNameUtils;
 import org.springframework.xml.transform.StringResult;
 import org.springframework.xml.transform.StringSource;
+import org.w3c.dom.Node;
 
 import javax.xml.soap.MimeHeader;
 import javax.xml.soap.MimeHeaders;
 import javax.xml.transform.*;
+import javax.xml.transform.dom.DOMSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Default converter implementation for SOAP messages. By default strips away the SOAP envelope and constructs internal message representation
@@ -64,9 +68,33 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(SoapResponseMessageCallback.class);
     
+    /** XOP include namespace */
+    private static final String XOP_NAMESPACE = "http://www.w3.org/2004/08/xop/include";
+
     /** Should keep soap envelope when creating internal message */
     private boolean keepSoapEnvelope = false;
 
+    /** Transformer factory shared by all conversions of this converter */
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    /** Per thread identity transformer used for SOAP body and header payloads */
+    private final ThreadLocal<Transformer> transformer = new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+            return createTransformer();
+        }
+    };
+
+    /** Per thread identity transformer omitting XML declaration used for SOAP header data */
+    private final ThreadLocal<Transformer> headerDataTransformer = new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+            Transformer headerTransformer = createTransformer();
+            headerTransformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            return headerTransformer;
+        }
+    };
+
     @Override
     public WebServiceMessage convertOutbound(Message internalMessage, WebServiceEndpointConfiguration endpointConfiguration) {
         WebServiceMessage message = endpointConfiguration.getMessageFactory().createWebServiceMessage();
@@ -85,12 +113,12 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
             soapMessage = new SoapMessage(message);
         }
 
-        // Copy payload into soap-body:
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        boolean mtom = soapMessage.isMtomEnabled() && !soapMessage.getAttachments().isEmpty();
 
+        // Copy payload into soap-body:
         try {
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.transform(new StringSource(soapMessage.getPayload().toString()), soapRequest.getSoapBody().getPayloadResult());
+            Object payload = mtom ? resolveXopIncludes(soapMessage.getPayload(String.class), soapMessage.getAttachments()) : soapMessage.getPayload();
+            transformer.get().transform(getPayloadSource(payload), soapRequest.getSoapBody().getPayloadResult());
         } catch (TransformerException e) {
             throw new CitrusRuntimeException("Failed to write SOAP body payload", e);
         }
@@ -122,10 +150,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
         for (String headerData : soapMessage.getHeaderData()) {
             try {
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-                transformer.transform(new StringSource(headerData),
-                        soapRequest.getSoapHeader().getResult());
+                headerDataTransformer.get().transform(new StringSource(headerData), soapRequest.getSoapHeader().getResult());
             } catch (TransformerException e) {
                 throw new CitrusRuntimeException("Failed to write SOAP header content", e);
             }
@@ -136,12 +161,54 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
                 log.debug(String.format("Adding attachment to SOAP message: '%s' ('%s')", attachment.getContentId(), attachment.getContentType()));
             }
 
-            soapRequest.addAttachment(attachment.getContentId(), new InputStreamSource() {
-                public InputStream getInputStream() throws IOException {
-                    return attachment.getInputStream();
-                }
-            }, attachment.getContentType());
+            if (mtom) {
+                // data handler streams attachment content when the XOP package is written
+                soapRequest.addAttachment(attachment.getContentId(), attachment.getDataHandler());
+            } else {
+                soapRequest.addAttachment(attachment.getContentId(), new InputStreamSource() {
+                    public InputStream getInputStream() throws IOException {
+                        return attachment.getInputStream();
+                    }
+                }, attachment.getContentType());
+            }
+        }
+
+        if (mtom) {
+            if (log.isDebugEnabled()) {
+                log.debug("Converting SOAP message to MTOM/XOP package");
+            }
+
+            soapRequest.convertToXopPackage();
+        }
+    }
+
+    /**
+     * Replaces attachment references in payload with XOP include elements. Element content of the form
+     * <code>cid:contentId</code> referencing an attachment of this message is replaced with an
+     * <code>xop:Include</code> element pointing to the attachment MIME part. Payloads that already contain
+     * XOP include elements are left untouched.
+     * @param payload
+     * @param attachments
+     * @return
+     */
+    protected String resolveXopIncludes(String payload, List<SoapAttachment> attachments) {
+        String result = payload;
+
+        for (SoapAttachment attachment : attachments) {
+            if (!StringUtils.hasText(attachment.getContentId())) {
+                continue;
+            }
+
+            String contentId = attachment.getContentId();
+            if (contentId.startsWith("<") && contentId.endsWith(">")) {
+                contentId = contentId.substring(1, contentId.length() - 1);
+            }
+
+            result = result.replaceAll(">\\s*cid:" + Pattern.quote(contentId) + "\\s*<",
+                    Matcher.quoteReplacement("><xop:Include xmlns:xop=\"" + XOP_NAMESPACE + "\" href=\"cid:" + contentId + "\"/><"));
         }
+
+        return result;
     }
 
     @Override
@@ -157,9 +224,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
             if (keepSoapEnvelope) {
                 webServiceMessage.writeTo(payloadResult.getOutputStream());
             } else if (webServiceMessage.getPayloadSource() != null) {
-                TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.transform(webServiceMessage.getPayloadSource(), payloadResult);
+                transformer.get().transform(webServiceMessage.getPayloadSource(), payloadResult);
             }
 
             SoapMessage message = new SoapMessage(payloadResult.toString());
@@ -250,9 +315,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
                 if (soapHeader.getSource() != null) {
                     StringResult headerData = new StringResult();
-                    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                    Transformer transformer = transformerFactory.newTransformer();
-                    transformer.transform(soapHeader.getSource(), headerData);
+                    transformer.get().transform(soapHeader.getSource(), headerData);
 
                     message.addHeaderData(headerData.toString());
                 }
@@ -275,6 +338,38 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
         }
     }
 
+    /**
+     * Gets transformation source for message payload. DOM nodes and sources are used directly so
+     * these payloads are not serialized to a String and parsed again before being written to the SOAP body.
+     *
+     * @param payload
+     * @return
+     */
+    protected Source getPayloadSource(Object payload) {
+        if (payload instanceof Source) {
+            return (Source) payload;
+        } else if (payload instanceof Node) {
+            return new DOMSource((Node) payload);
+        } else {
+            return new StringSource(payload.toString());
+        }
+    }
+
+    /**
+     * Creates new identity transformer with shared transformer factory. Transformer factory
+     * is not guaranteed to be thread safe so access is synchronized.
+     * @return
+     */
+    private Transformer createTransformer() {
+        synchronized (transformerFactory) {
+            try {
+                return transformerFactory.newTransformer();
+            } catch (TransformerConfigurationException e) {
+                throw new CitrusRuntimeException("Failed to create identity transformer", e);
+            }
+        }
+    }
+
     /**
      * Adds a HTTP message header to the SOAP message.
      *
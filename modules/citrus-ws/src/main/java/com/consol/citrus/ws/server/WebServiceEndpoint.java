@@ -85,7 +85,9 @@ public class WebServiceEndpoint implements MessageEndpoint {
         
         Message requestMessage = endpointConfiguration.getMessageConverter().convertInbound(messageContext.getRequest(), messageContext, endpointConfiguration);
         
-        log.info("Received SOAP request:\n" + requestMessage.toString());
+        if (log.isInfoEnabled()) {
+            log.info("Received SOAP request:\n{}", MessagePreview.of(requestMessage));
+        }
         
         //delegate request processing to endpoint adapter
         Message replyMessage = endpointAdapter.handleMessage(requestMessage);
@@ -95,7 +97,9 @@ public class WebServiceEndpoint implements MessageEndpoint {
         }
         
         if (replyMessage != null && replyMessage.getPayload() != null) {
-            log.info("Sending SOAP response:\n" + replyMessage.toString());
+            if (log.isInfoEnabled()) {
+                log.info("Sending SOAP response:\n{}", MessagePreview.of(replyMessage));
+            }
             
             SoapMessage response = (SoapMessage) messageContext.getResponse();
             
@@ -21,12 +21,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ws.message.SoapAttachment;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Simple implementation of a {@link AbstractSoapAttachmentValidator}. 
  * 
- * Attachment content body is validated through simple string equals assertion.
+ * Attachment content body is validated through simple string equals assertion. Binary control attachments
+ * (raw bytes or streamed resources) are compared chunk by chunk on the raw content streams instead.
  *  
  * @author Christoph Deppisch
  */
@@ -38,43 +43,54 @@ public class SimpleSoapAttachmentValidator extends AbstractSoapAttachmentValidat
      * Logger
      */
     private static Logger log = LoggerFactory.getLogger(SimpleSoapAttachmentValidator.class);
+
+    /** Chunk size used when comparing binary content streams */
+    private static final int CHUNK_SIZE = 8192;
     
     @Override
     protected void validateAttachmentContent(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
+        if (controlAttachment.isBinary()) {
+            validateBinaryContent(receivedAttachment, controlAttachment);
+            return;
+        }
+
+        String receivedContent = receivedAttachment.getContent();
+        String controlContent = controlAttachment.getContent();
+
         if (log.isDebugEnabled()) {
             log.debug("Validating SOAP attachment content ...");
-            log.debug("Received attachment content: " + StringUtils.trimWhitespace(receivedAttachment.getContent()));
-            log.debug("Control attachment content: " + StringUtils.trimWhitespace(controlAttachment.getContent()));
+            log.debug("Received attachment content: " + StringUtils.trimWhitespace(receivedContent));
+            log.debug("Control attachment content: " + StringUtils.trimWhitespace(controlContent));
         }
         
-        if (receivedAttachment.getContent() != null) {
-            Assert.isTrue(controlAttachment.getContent() != null, 
+        if (receivedContent != null) {
+            Assert.isTrue(controlContent != null, 
                     "Values not equal for attachment content '"
                         + controlAttachment.getContentId() + "', expected '"
                         + null + "' but was '"
-                        + receivedAttachment.getContent().trim() + "'");
+                        + receivedContent.trim() + "'");
 
         	String trimmedControlAttachment;
         	String trimmedReceivedAttachment;
             
             if (ignoreAllWhitespaces) {
-            	trimmedControlAttachment = StringUtils.trimAllWhitespace(controlAttachment.getContent());
-            	trimmedReceivedAttachment = StringUtils.trimAllWhitespace(receivedAttachment.getContent());
+            	trimmedControlAttachment = StringUtils.trimAllWhitespace(controlContent);
+            	trimmedReceivedAttachment = StringUtils.trimAllWhitespace(receivedContent);
             } else {
-            	trimmedControlAttachment = StringUtils.trimWhitespace(controlAttachment.getContent());
-            	trimmedReceivedAttachment = StringUtils.trimWhitespace(receivedAttachment.getContent());
+            	trimmedControlAttachment = StringUtils.trimWhitespace(controlContent);
+            	trimmedReceivedAttachment = StringUtils.trimWhitespace(receivedContent);
             }
             
             Assert.isTrue(trimmedReceivedAttachment.equals(trimmedControlAttachment),
                     "Values not equal for attachment content '"
                         + controlAttachment.getContentId() + "', expected '"
-                        + controlAttachment.getContent().trim() + "' but was '"
-                        + receivedAttachment.getContent().trim() + "'");
+                        + controlContent.trim() + "' but was '"
+                        + receivedContent.trim() + "'");
         } else {
-            Assert.isTrue(controlAttachment.getContent() == null || controlAttachment.getContent().trim().length() == 0, 
+            Assert.isTrue(controlContent == null || controlContent.trim().length() == 0, 
                     "Values not equal for attachment content '"
                         + controlAttachment.getContentId() + "', expected '"
-                        + controlAttachment.getContent().trim() + "' but was '"
+                        + controlContent.trim() + "' but was '"
                         + null + "'");
         }
         
@@ -83,6 +99,93 @@ public class SimpleSoapAttachmentValidator extends AbstractSoapAttachmentValidat
         }
     }
 
+    /**
+     * Compares received and control attachment content streams chunk by chunk without
+     * converting content to string.
+     * @param receivedAttachment
+     * @param controlAttachment
+     */
+    private void validateBinaryContent(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating binary SOAP attachment content ...");
+        }
+
+        InputStream received = null;
+        InputStream control = null;
+        try {
+            received = receivedAttachment.getInputStream();
+            control = controlAttachment.getInputStream();
+
+            byte[] receivedChunk = new byte[CHUNK_SIZE];
+            byte[] controlChunk = new byte[CHUNK_SIZE];
+            long position = 0;
+            while (true) {
+                int receivedLength = readChunk(received, receivedChunk);
+                int controlLength = readChunk(control, controlChunk);
+
+                for (int i = 0; i < Math.min(receivedLength, controlLength); i++) {
+                    Assert.isTrue(receivedChunk[i] == controlChunk[i],
+                            "Values not equal for binary attachment content '"
+                                + controlAttachment.getContentId() + "', content differs at byte position " + (position + i));
+                }
+
+                Assert.isTrue(receivedLength == controlLength,
+                        "Values not equal for binary attachment content '"
+                            + controlAttachment.getContentId() + "', content length differs at byte position "
+                            + (position + Math.min(receivedLength, controlLength)));
+
+                if (receivedLength < CHUNK_SIZE) {
+                    break;
+                }
+
+                position += receivedLength;
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+        } finally {
+            close(received);
+            close(control);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating binary attachment content: OK");
+        }
+    }
+
+    /**
+     * Reads next chunk from stream filling the buffer completely unless end of stream is reached.
+     * @param stream
+     * @param buffer
+     * @return number of bytes read
+     * @throws IOException
+     */
+    private int readChunk(InputStream stream, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = stream.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+
+        return length;
+    }
+
+    /**
+     * Closes stream quietly.
+     * @param stream
+     */
+    private void close(InputStream stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                log.warn("Failed to close attachment content stream", e);
+            }
+        }
+    }
+
 	public boolean isIgnoreAllWhitespaces() {
 		return ignoreAllWhitespaces;
 	}
@@ -50,26 +50,26 @@ public class XmlSoapAttachmentValidator extends AbstractSoapAttachmentValidator
 
 	@Override
 	protected void validateAttachmentContent(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
+	    String receivedContent = receivedAttachment.getContent();
+	    String controlContent = controlAttachment.getContent();
+
 	    if (log.isDebugEnabled()) {
             log.debug("Validating SOAP attachment content ...");
-            log.debug("Received attachment content: " + StringUtils.trimWhitespace(receivedAttachment.getContent()));
-            log.debug("Control attachment content: " + StringUtils.trimWhitespace(controlAttachment.getContent()));
+            log.debug("Received attachment content: " + StringUtils.trimWhitespace(receivedContent));
+            log.debug("Control attachment content: " + StringUtils.trimWhitespace(controlContent));
         }
 	    
-	    if (receivedAttachment.getContent() != null) {
-	        String controlContent = controlAttachment.getContent();
-	        String receivedContent = receivedAttachment.getContent();
-	        
+	    if (receivedContent != null) {
 	        Message controlMessage = new DefaultMessage(controlContent);
 	        validationContext.setControlMessage(controlMessage);
 
 	        Message receivedMessage = new DefaultMessage(receivedContent);
 	        validator.validateMessage(receivedMessage, null, validationContext);
 	    } else {
-            Assert.isTrue(controlAttachment.getContent() == null || controlAttachment.getContent().trim().length() == 0, 
+            Assert.isTrue(controlContent == null || controlContent.trim().length() == 0, 
                     "Values not equal for attachment content '"
                         + controlAttachment.getContentId() + "', expected '"
-                        + controlAttachment.getContent().trim() + "' but was '"
+                        + controlContent.trim() + "' but was '"
                         + null + "'");
         }
 	}
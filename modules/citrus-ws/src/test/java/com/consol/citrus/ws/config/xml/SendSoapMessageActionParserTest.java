@@ -35,6 +35,7 @@ public class SendSoapMessageActionParserTest extends AbstractActionParserTest<Se
         // 1st action
         SendSoapMessageAction action = getNextTestActionFromTest();
         Assert.assertFalse(action.isForkMode());
+        Assert.assertFalse(action.isMtomEnabled());
         Assert.assertEquals(action.getAttachments().size(), 1L);
         Assert.assertEquals(action.getAttachments().get(0).getContent().trim(), "This is an attachment!");
         Assert.assertNull(action.getAttachments().get(0).getContentResourcePath());
@@ -54,6 +55,7 @@ public class SendSoapMessageActionParserTest extends AbstractActionParserTest<Se
         // 3rd action
         action = getNextTestActionFromTest();
         Assert.assertFalse(action.isForkMode());
+        Assert.assertTrue(action.isMtomEnabled());
         Assert.assertEquals(action.getAttachments().size(), 2L);
         Assert.assertEquals(action.getAttachments().get(0).getContent().trim(), "This is an attachment!");
         Assert.assertNull(action.getAttachments().get(0).getContentResourcePath());
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.ws.interceptor;
+
+import com.consol.citrus.report.MessageListeners;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.easymock.EasyMock;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.SoapMessage;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import static org.easymock.EasyMock.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoggingEndpointInterceptorTest {
+
+    private MessageContext messageContext = EasyMock.createMock(MessageContext.class);
+    private SoapMessage soapMessage = EasyMock.createMock(SoapMessage.class);
+    private WebServiceMessage webServiceMessage = EasyMock.createMock(WebServiceMessage.class);
+
+    private Logger logger = Logger.getLogger(LoggingEndpointInterceptor.class);
+    private Level level;
+
+    @BeforeMethod
+    public void disableInfoLogging() {
+        level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterMethod
+    public void restoreLogging() {
+        logger.setLevel(level);
+    }
+
+    @Test
+    public void testNoSerializationWithoutListeners() throws Exception {
+        LoggingEndpointInterceptor interceptor = new LoggingEndpointInterceptor();
+        interceptor.setMessageListener(new MessageListeners());
+
+        reset(messageContext, soapMessage, webServiceMessage);
+        expect(messageContext.getRequest()).andReturn(soapMessage).anyTimes();
+        expect(messageContext.hasResponse()).andReturn(true).anyTimes();
+        expect(messageContext.getResponse()).andReturn(webServiceMessage).anyTimes();
+        // neither getEnvelope() nor writeTo() are expected so any serialization attempt fails this test
+        replay(messageContext, soapMessage, webServiceMessage);
+
+        Assert.assertTrue(interceptor.handleRequest(messageContext, null));
+        Assert.assertTrue(interceptor.handleResponse(messageContext, null));
+
+        verify(messageContext, soapMessage, webServiceMessage);
+    }
+}
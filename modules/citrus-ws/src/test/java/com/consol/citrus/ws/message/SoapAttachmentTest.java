@@ -0,0 +1,108 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.ws.message;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class SoapAttachmentTest {
+
+    @Test
+    public void testStringContent() throws IOException {
+        SoapAttachment attachment = new SoapAttachment("This is a test!");
+
+        Assert.assertFalse(attachment.isBinary());
+        Assert.assertEquals(attachment.getSize(), 15L);
+        Assert.assertSame(attachment.getContentBytes(), attachment.getContentBytes());
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(attachment.getInputStream()), "This is a test!".getBytes("UTF-8"));
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(attachment.getDataHandler().getInputStream()), "This is a test!".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testByteContent() throws IOException {
+        byte[] content = new byte[] { 0, -1, 42, 10 };
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentType("application/octet-stream");
+        attachment.setContentBytes(content);
+
+        Assert.assertTrue(attachment.isBinary());
+        Assert.assertFalse(attachment.isTextContentType());
+        Assert.assertEquals(attachment.getSize(), 4L);
+        Assert.assertSame(attachment.getContentBytes(), content);
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(attachment.getInputStream()), content);
+        Assert.assertTrue(attachment.toString().endsWith("content: <binary 4 bytes>]"));
+
+        attachment.setContent("Text");
+        Assert.assertFalse(attachment.isBinary());
+        Assert.assertEquals(attachment.getContentBytes(), "Text".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testDecodedTextContent() throws IOException {
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentId("text");
+        attachment.setContentType("text/plain");
+        attachment.setContentBytes("Hello Citrus!".getBytes("UTF-8"));
+
+        Assert.assertTrue(attachment.isBinary());
+        Assert.assertEquals(attachment.getContent(), "Hello Citrus!");
+        Assert.assertSame(attachment.getContent(), attachment.getContent());
+        Assert.assertTrue(attachment.toString().endsWith("content: Hello Citrus!]"));
+
+        attachment.setContentBytes("Changed".getBytes("UTF-8"));
+        Assert.assertEquals(attachment.getContent(), "Changed");
+    }
+
+    @Test
+    public void testResourceContent() throws IOException {
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentId("img");
+        attachment.setContentType("image/png");
+        attachment.setContentResource(new ByteArrayResource("Hello".getBytes("UTF-8")));
+
+        Assert.assertTrue(attachment.isBinary());
+        Assert.assertEquals(attachment.getSize(), -1L);
+        Assert.assertEquals(attachment.getDataHandler().getContentType(), "image/png");
+        Assert.assertEquals(attachment.getDataHandler().getName(), "img");
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(attachment.getInputStream()), "Hello".getBytes("UTF-8"));
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(attachment.getInputStream()), "Hello".getBytes("UTF-8"));
+        Assert.assertEquals(attachment.getContent(), "Hello");
+    }
+
+    @Test
+    public void testTextContentType() {
+        SoapAttachment attachment = new SoapAttachment();
+        Assert.assertTrue(attachment.isTextContentType());
+
+        attachment.setContentType("application/xml");
+        Assert.assertTrue(attachment.isTextContentType());
+
+        attachment.setContentType("application/json");
+        Assert.assertTrue(attachment.isTextContentType());
+
+        attachment.setContentType("application/pdf");
+        Assert.assertFalse(attachment.isTextContentType());
+    }
+}
@@ -25,6 +25,7 @@ import com.consol.citrus.ws.message.SoapMessageHeaders;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.ws.mime.Attachment;
 import org.springframework.ws.soap.*;
 import org.springframework.ws.soap.saaj.SaajSoapMessage;
@@ -34,7 +35,11 @@ import org.springframework.xml.transform.StringSource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import org.w3c.dom.Document;
+
+import javax.activation.DataHandler;
 import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.soap.*;
 import javax.xml.transform.TransformerException;
 import java.io.*;
@@ -106,6 +111,34 @@ public class SoapMessageConverterTest {
         verify(soapRequest, soapBody);
     }
 
+    @Test
+    public void testOutboundSoapBodyDomPayload() throws Exception {
+        Document payload = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(requestPayload.getBytes()));
+        Message testMessage = new DefaultMessage(payload);
+
+        SoapMessageConverter soapMessageConverter = new SoapMessageConverter();
+
+        StringResult soapBodyResult = new StringResult();
+        StringResult secondSoapBodyResult = new StringResult();
+
+        reset(soapRequest, soapBody);
+
+        expect(soapRequest.getSoapBody()).andReturn(soapBody).times(2);
+        expect(soapBody.getPayloadResult()).andReturn(soapBodyResult).once();
+        expect(soapBody.getPayloadResult()).andReturn(secondSoapBodyResult).once();
+
+        replay(soapRequest, soapBody);
+
+        soapMessageConverter.convertOutbound(soapRequest, testMessage, new WebServiceEndpointConfiguration());
+        soapMessageConverter.convertOutbound(soapRequest, new DefaultMessage(requestPayload), new WebServiceEndpointConfiguration());
+
+        Assert.assertEquals(soapBodyResult.toString(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + requestPayload);
+        Assert.assertEquals(secondSoapBodyResult.toString(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + requestPayload);
+
+        verify(soapRequest, soapBody);
+    }
+
     @Test
     public void testOutboundSoapAction() throws TransformerException, IOException {
         Message testMessage = new DefaultMessage(requestPayload)
@@ -359,6 +392,47 @@ public class SoapMessageConverterTest {
         verify(soapRequest, soapBody);
     }
 
+    @Test
+    public void testOutboundSoapAttachmentMtom() throws TransformerException, IOException {
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentId("attContentId");
+        attachment.setContentBytes(new byte[] { 1, 2, 3 });
+        attachment.setContentType("application/octet-stream");
+
+        SoapMessage testMessage = new SoapMessage("<TestRequest><Image>cid:attContentId</Image><Text>cid:other</Text></TestRequest>");
+        testMessage.addAttachment(attachment);
+        testMessage.setMtomEnabled(true);
+
+        SoapMessageConverter soapMessageConverter = new SoapMessageConverter();
+
+        StringResult payloadResult = new StringResult();
+
+        reset(soapRequest, soapBody);
+
+        expect(soapRequest.getSoapBody()).andReturn(soapBody).once();
+        expect(soapBody.getPayloadResult()).andReturn(payloadResult).once();
+
+        expect(soapRequest.addAttachment(eq(attachment.getContentId()), (DataHandler)anyObject())).andAnswer(new IAnswer<Attachment>() {
+            public Attachment answer() throws Throwable {
+                DataHandler dataHandler = (DataHandler)EasyMock.getCurrentArguments()[1];
+                Assert.assertEquals(dataHandler.getContentType(), "application/octet-stream");
+                Assert.assertEquals(FileCopyUtils.copyToByteArray(dataHandler.getInputStream()), new byte[] { 1, 2, 3 });
+                return null;
+            }
+        }).once();
+
+        expect(soapRequest.convertToXopPackage()).andReturn(true).once();
+
+        replay(soapRequest, soapBody);
+
+        soapMessageConverter.convertOutbound(soapRequest, testMessage, new WebServiceEndpointConfiguration());
+
+        Assert.assertTrue(payloadResult.toString().contains("<Image><xop:Include xmlns:xop=\"http://www.w3.org/2004/08/xop/include\" href=\"cid:attContentId\"/></Image>"), payloadResult.toString());
+        Assert.assertTrue(payloadResult.toString().contains("<Text>cid:other</Text>"), payloadResult.toString());
+
+        verify(soapRequest, soapBody);
+    }
+
     @Test
     public void testInboundSoapBody() throws TransformerException, IOException {
         SoapMessageConverter soapMessageConverter = new SoapMessageConverter();
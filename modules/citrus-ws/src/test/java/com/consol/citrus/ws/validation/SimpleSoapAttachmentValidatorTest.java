@@ -22,7 +22,9 @@ import com.consol.citrus.ws.message.SoapMessage;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Random;
 
 /**
  * @author Christoph Deppisch
@@ -117,4 +119,73 @@ public class SimpleSoapAttachmentValidatorTest {
         SimpleSoapAttachmentValidator validator = new SimpleSoapAttachmentValidator();
         validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
     }
+
+    @Test
+    public void testBinaryValidation() throws IOException {
+        byte[] content = new byte[20000];
+        new Random(1L).nextBytes(content);
+
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContentBytes(content);
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentBytes(Arrays.copyOf(content, content.length));
+
+        SimpleSoapAttachmentValidator validator = new SimpleSoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBinaryValidationWrongContent() throws IOException {
+        byte[] content = new byte[20000];
+        new Random(1L).nextBytes(content);
+
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContentBytes(content);
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        byte[] controlContent = Arrays.copyOf(content, content.length);
+        controlContent[10000]++;
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentBytes(controlContent);
+
+        SimpleSoapAttachmentValidator validator = new SimpleSoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBinaryValidationWrongLength() throws IOException {
+        byte[] content = new byte[20000];
+        new Random(1L).nextBytes(content);
+
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContentBytes(content);
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentBytes(Arrays.copyOf(content, 16384));
+
+        SimpleSoapAttachmentValidator validator = new SimpleSoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
 }